@@ -10,12 +10,15 @@ import java.util.*;
  */
 public class CypherContext {
 
-    private final Map<Object, NodeBuilder> visitedObjects = new HashMap<>();
+    // the objects being saved are told apart by identity, whatever their equals and hashCode do
+    private final Map<Object, NodeBuilder> visitedObjects = new IdentityHashMap<>();
 
     private final Map<String, Object> createdObjects = new HashMap<>();
     private final Collection<MappedRelationship> registeredRelationships = new HashSet<>();
+    private final Map<Long, Set<String>> deregisteredRelationships = new LinkedHashMap<>();
 
-    private final Collection<Object> log = new HashSet<>();
+    private final Collection<Object> log = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    private final Set<Long> updatedNodes = new HashSet<>();
 
     private List<ParameterisedStatement> statements;
 
@@ -67,13 +70,43 @@ public class CypherContext {
         return log;
     }
 
+    /**
+     * Records that the properties of the given existing node are about to be updated.
+     *
+     * @param id the id of the node
+     */
+    public void logUpdatedNode(Long id) {
+        updatedNodes.add(id);
+    }
+
+    /**
+     * @return the ids of the existing nodes whose properties are updated
+     */
+    public Set<Long> updatedNodes() {
+        return updatedNodes;
+    }
+
+    /**
+     * Records that the relationships of the given type leaving the given node are about to be registered again, so that
+     * those of them that aren't are known to be obsolete.
+     *
+     * @param src the id of the start node
+     * @param relationshipType the type of the relationships
+     */
     public void deregisterRelationships(Long src, String relationshipType) {
-        Iterator<MappedRelationship> iterator = registeredRelationships.iterator();
-        while (iterator.hasNext()) {
-           MappedRelationship mappedRelationship = iterator.next();
-           if (mappedRelationship.getStartNodeId() == src && mappedRelationship.getRelationshipType().equals(relationshipType)) {
-                iterator.remove();
-            }
+        Set<String> relationshipTypes = deregisteredRelationships.get(src);
+        if (relationshipTypes == null) {
+            relationshipTypes = new LinkedHashSet<>();
+            deregisteredRelationships.put(src, relationshipTypes);
         }
+        relationshipTypes.add(relationshipType);
+    }
+
+    /**
+     * @return the types of the relationships deregistered so far, by the id of their start node, in the order they were
+     *         deregistered
+     */
+    public Map<Long, Set<String>> deregisteredRelationships() {
+        return deregisteredRelationships;
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package org.neo4j.ogm.cypher.compiler;
 
+import org.neo4j.ogm.entityaccess.EntityMapper;
+import org.neo4j.ogm.entityaccess.EntityMappers;
 import org.neo4j.ogm.entityaccess.ObjectAccessStrategy;
 import org.neo4j.ogm.entityaccess.PropertyReader;
 import org.neo4j.ogm.metadata.info.ClassInfo;
@@ -18,6 +20,10 @@ class ExistingNodeBuilder extends NodeBuilder {
 
     @Override
     public NodeBuilder mapProperties(Object toPersist, ClassInfo classInfo, ObjectAccessStrategy objectAccessStrategy) {
+        EntityMapper<Object> entityMapper = EntityMappers.forClass(toPersist.getClass());
+        if (entityMapper != null && entityMapper.readProperties(toPersist, props, true)) {
+            return this;
+        }
         for (PropertyReader propertyReader : objectAccessStrategy.getPropertyReaders(classInfo)) {
             Object value = propertyReader.read(toPersist);
             addProperty(propertyReader.propertyName(), value);
@@ -42,6 +42,17 @@ public abstract class NodeBuilder implements CypherEmitter {
 
     public abstract NodeBuilder mapProperties(Object toPersist, ClassInfo classInfo, ObjectAccessStrategy objectAccessStrategy);
 
+    /**
+     * Drops the mapped properties other than the given ones, so that only those are written to the node.
+     *
+     * @param propertyNames The names of the properties to keep
+     * @return This {@link NodeBuilder}
+     */
+    public NodeBuilder retainProperties(Set<String> propertyNames) {
+        this.props.keySet().retainAll(propertyNames);
+        return this;
+    }
+
     @Override
     public String toString() {
         return this.labels + "(" + this.props + ')';
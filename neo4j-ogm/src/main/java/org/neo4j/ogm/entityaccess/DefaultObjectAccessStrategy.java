@@ -10,7 +10,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation of {@link ObjectAccessStrategy} that looks up information from {@link ClassInfo} in the following order.
@@ -23,11 +26,30 @@ import java.util.List;
  * The rationale is simply that we want annotations, whether on fields or on methods, to always take precedence, and we want to
  * use methods in preference to field access, because in many cases hydrating an object means more than just assigning values to
  * fields.
+ *
+ * The accessors found for a class are remembered, so each property name, relationship type or parameter type is only
+ * looked up once. A strategy can be shared by any number of sessions.
  */
 public class DefaultObjectAccessStrategy implements ObjectAccessStrategy {
 
     private final Logger logger = LoggerFactory.getLogger(DefaultObjectAccessStrategy.class);
 
+    /** Stands for an accessor that was looked for but doesn't exist. */
+    private static final Object NONE = new Object();
+
+    private final ConcurrentMap<ClassInfo, AccessPlan> plans = new ConcurrentHashMap<>();
+
+    /** The accessors of a single class, resolved on first use. */
+    private static class AccessPlan {
+        final ConcurrentMap<String, Object> propertyWriters = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Object> propertyReaders = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, ConcurrentMap<Class<?>, Object>> relationalWriters = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Object> relationalReaders = new ConcurrentHashMap<>();
+        final ConcurrentMap<Class<?>, Object> iterableWriters = new ConcurrentHashMap<>();
+        volatile Collection<PropertyReader> allPropertyReaders;
+        volatile Collection<RelationalReader> allRelationalReaders;
+    }
+
     /** Used internally to hide differences in object construction from strategy algorithm. */
     private static interface AccessorFactory<T> {
         T makeMethodAccessor(MethodInfo methodInfo);
@@ -35,7 +57,16 @@ public class DefaultObjectAccessStrategy implements ObjectAccessStrategy {
     }
 
     @Override
-    public ObjectAccess getPropertyWriter(final ClassInfo classInfo, String propertyName) {
+    public ObjectAccess getPropertyWriter(ClassInfo classInfo, String propertyName) {
+        ConcurrentMap<String, Object> writers = plan(classInfo).propertyWriters;
+        Object writer = writers.get(propertyName);
+        if (writer == null) {
+            writer = rememberAccessor(writers, propertyName, resolvePropertyWriter(classInfo, propertyName));
+        }
+        return planned(writer);
+    }
+
+    private ObjectAccess resolvePropertyWriter(final ClassInfo classInfo, String propertyName) {
         MethodInfo setterInfo = classInfo.propertySetter(propertyName);
         return determinePropertyAccessor(classInfo, propertyName, setterInfo, new AccessorFactory<ObjectAccess>() {
             @Override
@@ -51,7 +82,16 @@ public class DefaultObjectAccessStrategy implements ObjectAccessStrategy {
     }
 
     @Override
-    public PropertyReader getPropertyReader(final ClassInfo classInfo, String propertyName) {
+    public PropertyReader getPropertyReader(ClassInfo classInfo, String propertyName) {
+        ConcurrentMap<String, Object> readers = plan(classInfo).propertyReaders;
+        Object reader = readers.get(propertyName);
+        if (reader == null) {
+            reader = rememberAccessor(readers, propertyName, resolvePropertyReader(classInfo, propertyName));
+        }
+        return planned(reader);
+    }
+
+    private PropertyReader resolvePropertyReader(final ClassInfo classInfo, String propertyName) {
         MethodInfo getterInfo = classInfo.propertyGetter(propertyName);
         return determinePropertyAccessor(classInfo, propertyName, getterInfo, new AccessorFactory<PropertyReader>() {
             @Override
@@ -88,6 +128,20 @@ public class DefaultObjectAccessStrategy implements ObjectAccessStrategy {
 
     @Override
     public ObjectAccess getRelationalWriter(ClassInfo classInfo, String relationshipType, Object parameter) {
+        // the writer depends on the type of the parameter only
+        ConcurrentMap<String, ConcurrentMap<Class<?>, Object>> writersByType = plan(classInfo).relationalWriters;
+        ConcurrentMap<Class<?>, Object> writers = writersByType.get(relationshipType);
+        if (writers == null) {
+            writers = remember(writersByType, relationshipType, new ConcurrentHashMap<Class<?>, Object>());
+        }
+        Object writer = writers.get(parameter.getClass());
+        if (writer == null) {
+            writer = rememberAccessor(writers, parameter.getClass(), resolveRelationalWriter(classInfo, relationshipType, parameter));
+        }
+        return planned(writer);
+    }
+
+    private ObjectAccess resolveRelationalWriter(ClassInfo classInfo, String relationshipType, Object parameter) {
 
         // 1st, try to find a method annotated with the relationship type.
         MethodInfo methodInfo = classInfo.relationshipSetter(relationshipType);
@@ -136,6 +190,15 @@ public class DefaultObjectAccessStrategy implements ObjectAccessStrategy {
 
     @Override
     public RelationalReader getRelationalReader(ClassInfo classInfo, String relationshipType) {
+        ConcurrentMap<String, Object> readers = plan(classInfo).relationalReaders;
+        Object reader = readers.get(relationshipType);
+        if (reader == null) {
+            reader = rememberAccessor(readers, relationshipType, resolveRelationalReader(classInfo, relationshipType));
+        }
+        return planned(reader);
+    }
+
+    private RelationalReader resolveRelationalReader(ClassInfo classInfo, String relationshipType) {
         // 1st, try to find a method annotated with the relationship type.
         MethodInfo methodInfo = classInfo.relationshipGetter(relationshipType);
         if (methodInfo != null && !methodInfo.getAnnotations().isEmpty()) {
@@ -164,6 +227,15 @@ public class DefaultObjectAccessStrategy implements ObjectAccessStrategy {
 
     @Override
     public Collection<PropertyReader> getPropertyReaders(ClassInfo classInfo) {
+        AccessPlan plan = plan(classInfo);
+        Collection<PropertyReader> readers = plan.allPropertyReaders;
+        if (readers == null) {
+            plan.allPropertyReaders = readers = Collections.unmodifiableCollection(resolvePropertyReaders(classInfo));
+        }
+        return readers;
+    }
+
+    private Collection<PropertyReader> resolvePropertyReaders(ClassInfo classInfo) {
         // do we care about "implicit" fields?  i.e., setX/getX with no matching X field
 
         Collection<PropertyReader> readers = new ArrayList<>();
@@ -182,6 +254,15 @@ public class DefaultObjectAccessStrategy implements ObjectAccessStrategy {
 
     @Override
     public Collection<RelationalReader> getRelationalReaders(ClassInfo classInfo) {
+        AccessPlan plan = plan(classInfo);
+        Collection<RelationalReader> readers = plan.allRelationalReaders;
+        if (readers == null) {
+            plan.allRelationalReaders = readers = Collections.unmodifiableCollection(resolveRelationalReaders(classInfo));
+        }
+        return readers;
+    }
+
+    private Collection<RelationalReader> resolveRelationalReaders(ClassInfo classInfo) {
         Collection<RelationalReader> readers = new ArrayList<>();
         for (FieldInfo fieldInfo : classInfo.relationshipFields()) {
             MethodInfo getterInfo = classInfo.methodsInfo().get(inferGetterName(fieldInfo));
@@ -205,6 +286,15 @@ public class DefaultObjectAccessStrategy implements ObjectAccessStrategy {
 
     @Override
     public ObjectAccess getIterableWriter(ClassInfo classInfo, Class<?> parameterType) {
+        ConcurrentMap<Class<?>, Object> writers = plan(classInfo).iterableWriters;
+        Object writer = writers.get(parameterType);
+        if (writer == null) {
+            writer = rememberAccessor(writers, parameterType, resolveIterableWriter(classInfo, parameterType));
+        }
+        return planned(writer);
+    }
+
+    private ObjectAccess resolveIterableWriter(ClassInfo classInfo, Class<?> parameterType) {
         MethodInfo methodInfo = getIterableMethodInfo(classInfo, parameterType);
         if (methodInfo != null) {
             return new MethodAccess(classInfo, methodInfo);
@@ -221,6 +311,29 @@ public class DefaultObjectAccessStrategy implements ObjectAccessStrategy {
         return new FieldReader(classInfo, classInfo.identityField());
     }
 
+    private AccessPlan plan(ClassInfo classInfo) {
+        AccessPlan plan = plans.get(classInfo);
+        if (plan == null) {
+            plan = remember(plans, classInfo, new AccessPlan());
+        }
+        return plan;
+    }
+
+    // returns whatever is cached under the key, which may have been put there by another thread in the meantime
+    private static <K, V> V remember(ConcurrentMap<K, V> cache, K key, V value) {
+        V previous = cache.putIfAbsent(key, value);
+        return previous != null ? previous : value;
+    }
+
+    private static <K> Object rememberAccessor(ConcurrentMap<K, Object> cache, K key, Object accessor) {
+        return remember(cache, key, accessor != null ? accessor : NONE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T planned(Object accessor) {
+        return accessor == NONE ? null : (T) accessor;
+    }
+
     private MethodInfo getIterableMethodInfo(ClassInfo classInfo, Class<?> parameterType) {
         List<MethodInfo> methodInfos = classInfo.findIterableSetters(parameterType);
         if (methodInfos.size() == 1) {
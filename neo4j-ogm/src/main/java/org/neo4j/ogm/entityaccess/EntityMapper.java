@@ -0,0 +1,43 @@
+package org.neo4j.ogm.entityaccess;
+
+import java.util.Map;
+
+/**
+ * Reads and writes the simple properties of one entity class with plain Java calls instead of reflection.
+ *
+ * Implementations are generated at compile time by {@link org.neo4j.ogm.metadata.info.EntityMapperProcessor} as
+ * <code>&lt;Entity&gt;_OgmMapper</code> in the package of the entity, and are found at runtime by {@link EntityMappers}.
+ * A mapper only handles what it can do exactly as the {@link DefaultObjectAccessStrategy} would; everything else is
+ * reported as not handled, so that the caller can fall back to the strategy.
+ *
+ * @param <T> the entity class
+ */
+public interface EntityMapper<T> {
+
+    /**
+     * Suffix appended to the binary name of an entity class to give the name of its mapper.
+     */
+    String SUFFIX = "_OgmMapper";
+
+    /**
+     * Writes a property read from the graph to the given entity.
+     *
+     * @param instance the entity to hydrate
+     * @param propertyName the name of the property on the node
+     * @param value the value of the property
+     * @return <code>true</code> if the property was written, <code>false</code> if it must be written some other way
+     */
+    boolean writeProperty(T instance, String propertyName, Object value);
+
+    /**
+     * Puts the property values of the given entity into the given map, keyed by the name of the node property.
+     *
+     * @param instance the entity to dehydrate
+     * @param properties the map to fill
+     * @param includeNulls whether properties whose value is <code>null</code> are put into the map
+     * @return <code>true</code> if every property was read, <code>false</code> if none were because they must be read
+     *         some other way
+     */
+    boolean readProperties(T instance, Map<String, Object> properties, boolean includeNulls);
+
+}
@@ -0,0 +1,63 @@
+package org.neo4j.ogm.entityaccess;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Finds the generated {@link EntityMapper} of an entity class, if it has one.
+ *
+ * The lookup is done once per class; classes without a mapper are remembered as such.
+ */
+public final class EntityMappers {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityMappers.class);
+
+    private static final EntityMapper<Object> NONE = new EntityMapper<Object>() {
+        @Override
+        public boolean writeProperty(Object instance, String propertyName, Object value) {
+            return false;
+        }
+
+        @Override
+        public boolean readProperties(Object instance, Map<String, Object> properties, boolean includeNulls) {
+            return false;
+        }
+    };
+
+    private static final ClassValue<EntityMapper<Object>> mappers = new ClassValue<EntityMapper<Object>>() {
+        @Override
+        protected EntityMapper<Object> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private EntityMappers() {
+    }
+
+    /**
+     * @param type the entity class
+     * @return the generated mapper of the given class, or <code>null</code> if it doesn't have one
+     */
+    public static EntityMapper<Object> forClass(Class<?> type) {
+        EntityMapper<Object> entityMapper = mappers.get(type);
+        return entityMapper == NONE ? null : entityMapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EntityMapper<Object> load(Class<?> type) {
+        try {
+            Class<?> mapperClass = Class.forName(type.getName() + EntityMapper.SUFFIX, true, type.getClassLoader());
+            if (EntityMapper.class.isAssignableFrom(mapperClass)) {
+                logger.debug("Using generated mapper {}", mapperClass.getName());
+                return (EntityMapper<Object>) mapperClass.newInstance();
+            }
+        } catch (ClassNotFoundException e) {
+            // not generated, which is the usual case
+        } catch (InstantiationException | IllegalAccessException | LinkageError e) {
+            logger.warn("Unable to use the generated mapper of {}: {}", type.getName(), e.toString());
+        }
+        return NONE;
+    }
+}
@@ -1,26 +1,35 @@
 package org.neo4j.ogm.entityaccess;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.FieldInfo;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
 
 public class FieldAccess extends ObjectAccess {
 
     private final FieldInfo fieldInfo;
     private final ClassInfo classInfo;
+    private final PropertyConverter converter;
+
+    // resolved on first write
+    private volatile MethodHandle setter; // written last, so that the other resolved fields are visible with it
+    private MethodHandle getter;
+    private Class<?> iterableType;
 
     public FieldAccess(ClassInfo classInfo, FieldInfo fieldInfo) {
         this.classInfo = classInfo;
         this.fieldInfo = fieldInfo;
+        this.converter = classInfo.converter(fieldInfo);
     }
 
     public static void write(Field field, Object instance, Object value) {
         try {
             if (Iterable.class.isAssignableFrom(field.getType()) || field.getType().isArray()) {
-                value = merge(field.getType(),  (Iterable<?>) value, (Iterable<?>) read(field, instance));
+                value = merge(field.getType(), value, read(field, instance));
             }
-            field.setAccessible(true);
+            makeAccessible(field);
             field.set(instance, value);
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -29,16 +38,46 @@ public class FieldAccess extends ObjectAccess {
 
     public static Object read(Field field, Object instance) {
         try {
-            field.setAccessible(true);
+            makeAccessible(field);
             return field.get(instance);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    // fields resolved through ClassInfo are already accessible
+    private static void makeAccessible(Field field) {
+        if (!field.isAccessible()) {
+            field.setAccessible(true);
+        }
+    }
+
     @Override
     public void write(Object instance, Object value) {
-        FieldAccess.write(classInfo.getField(fieldInfo), instance, value);
+        write(instance, value, new MergeState());
+    }
+
+    @Override
+    public void write(Object instance, Object value, MergeState state) {
+        if (setter == null) {
+            Class<?> type = classInfo.getField(fieldInfo).getType();
+            if (Iterable.class.isAssignableFrom(type) || type.isArray()) {
+                iterableType = type;
+                getter = classInfo.getFieldGetter(fieldInfo);
+            }
+            setter = classInfo.getFieldSetter(fieldInfo);
+        }
+        if (converter != null) {
+            value = converter.toEntityAttribute(value);
+        }
+        try {
+            if (iterableType != null) {
+                value = merge(iterableType, value, (Object) getter.invokeExact(instance), state);
+            }
+            setter.invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
     }
 
     @Override
@@ -1,21 +1,36 @@
 package org.neo4j.ogm.entityaccess;
 
+import java.lang.invoke.MethodHandle;
+
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.FieldInfo;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
 
 public class FieldReader implements RelationalReader {
 
     private final ClassInfo classInfo;
     private final FieldInfo fieldInfo;
+    private final PropertyConverter converter;
+    private volatile MethodHandle getter;
 
     FieldReader(ClassInfo classInfo, FieldInfo fieldInfo) {
         this.classInfo = classInfo;
         this.fieldInfo = fieldInfo;
+        this.converter = classInfo.converter(fieldInfo);
     }
 
     @Override
     public Object read(Object instance) {
-        return FieldAccess.read(classInfo.getField(fieldInfo), instance);
+        if (getter == null) {
+            getter = classInfo.getFieldGetter(fieldInfo);
+        }
+        Object value;
+        try {
+            value = (Object) getter.invokeExact(instance);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+        return converter != null ? converter.toGraphProperty(value) : value;
     }
 
     @Override
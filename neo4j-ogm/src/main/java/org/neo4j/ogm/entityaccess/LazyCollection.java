@@ -0,0 +1,16 @@
+package org.neo4j.ogm.entityaccess;
+
+/**
+ * A collection of related objects that haven't been loaded yet, and are loaded when the collection is first used.
+ *
+ * Until it is loaded, such a collection stands for relationships the session knows nothing about, so it is neither
+ * merged into nor saved, lest it be loaded as a side effect.
+ */
+public interface LazyCollection {
+
+    /**
+     * @return <code>true</code> if the related objects have been loaded
+     */
+    boolean isLoaded();
+
+}
@@ -0,0 +1,57 @@
+package org.neo4j.ogm.entityaccess;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * The objects merged into one collection or array of an object over the writes of a single load.
+ *
+ * Entities are told apart by identity, since a session holds a single instance of each of them, and values of the
+ * <code>java.*</code> types such as strings and numbers by equality. The state is only reused while the collection
+ * written last is still the current one, so a collection replaced in between is looked through again.
+ */
+public final class MergeState {
+
+    private Object target;
+    private Set<Object> entities;
+    private Set<Object> values;
+
+    /**
+     * @param target a collection or array
+     * @return <code>true</code> if the given collection or array is the one the last merge wrote, so that its
+     *         contents are known
+     */
+    boolean isMergedInto(Object target) {
+        return target != null && target == this.target;
+    }
+
+    void mergedInto(Object target) {
+        this.target = target;
+    }
+
+    void reset() {
+        target = null;
+        entities = null;
+        values = null;
+    }
+
+    /**
+     * @param object an object to merge
+     * @return <code>true</code> if the object hasn't been merged yet
+     */
+    boolean add(Object object) {
+        if (object == null || !object.getClass().getName().startsWith("java.")) {
+            if (entities == null) {
+                entities = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+            }
+            return entities.add(object);
+        }
+        if (values == null) {
+            values = new HashSet<>();
+        }
+        return values.add(object);
+    }
+
+}
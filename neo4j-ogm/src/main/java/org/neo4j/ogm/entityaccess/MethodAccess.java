@@ -1,36 +1,28 @@
 package org.neo4j.ogm.entityaccess;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 
 import org.neo4j.ogm.metadata.ClassUtils;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.MethodInfo;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
 
 public class MethodAccess extends ObjectAccess {
 
     private final ClassInfo classInfo;
     private final MethodInfo setterMethodInfo;
+    private final PropertyConverter converter;
+
+    // resolved on first write
+    private volatile MethodHandle setter; // written last, so that the other resolved fields are visible with it
+    private MethodHandle getter;
+    private Class<?> iterableType;
 
     MethodAccess(ClassInfo enclosingClassInfo, MethodInfo methodInfo) {
         this.classInfo = enclosingClassInfo;
         this.setterMethodInfo = methodInfo;
-    }
-
-    private static void write(Method method, Object instance, Object value) {
-        try {
-            Class<?> parameterType = method.getParameterTypes()[0];
-
-            // TODO: this needs to move elsewhere because read won't work with this method, and there may be no getter!
-            if (Iterable.class.isAssignableFrom(parameterType) || parameterType.isArray()) {
-                String getterName = method.getName().replace("set", "get");
-                Method getter = instance.getClass().getDeclaredMethod(getterName);
-                value = merge(method.getParameterTypes()[0], (Iterable<?>) value, (Iterable<?>) read(getter, instance));
-            }
-
-            method.invoke(instance, value);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        this.converter = enclosingClassInfo.converter(methodInfo);
     }
 
     public static Object read(Method method, Object instance) {
@@ -43,7 +35,39 @@ public class MethodAccess extends ObjectAccess {
 
     @Override
     public void write(Object instance, Object value) {
-        MethodAccess.write(classInfo.getMethod(setterMethodInfo, ClassUtils.getType(setterMethodInfo.getDescriptor())), instance, value);
+        write(instance, value, new MergeState());
+    }
+
+    @Override
+    public void write(Object instance, Object value, MergeState state) {
+        if (setter == null) {
+            resolve();
+        }
+        if (converter != null) {
+            value = converter.toEntityAttribute(value);
+        }
+        try {
+            if (iterableType != null) {
+                Object hydrated = getter != null ? (Object) getter.invokeExact(instance) : null;
+                value = merge(iterableType, value, hydrated, state);
+            }
+            setter.invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    private void resolve() {
+        Class<?> parameterType = ClassUtils.getType(setterMethodInfo.getDescriptor());
+        if (Iterable.class.isAssignableFrom(parameterType) || parameterType.isArray()) {
+            iterableType = parameterType;
+            // merging needs the current value, but there may be no getter
+            MethodInfo getterMethodInfo = classInfo.methodsInfo().get(setterMethodInfo.getName().replace("set", "get"));
+            if (getterMethodInfo != null && getterMethodInfo.getDescriptor().startsWith("()")) {
+                getter = classInfo.getMethodHandle(getterMethodInfo);
+            }
+        }
+        setter = classInfo.getMethodHandle(setterMethodInfo, parameterType);
     }
 
     @Override
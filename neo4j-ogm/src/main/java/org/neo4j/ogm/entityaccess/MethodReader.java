@@ -1,21 +1,36 @@
 package org.neo4j.ogm.entityaccess;
 
+import java.lang.invoke.MethodHandle;
+
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.MethodInfo;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
 
 public class MethodReader implements RelationalReader {
 
     private final ClassInfo classInfo;
     private final MethodInfo methodInfo;
+    private final PropertyConverter converter;
+    private volatile MethodHandle getter;
 
     MethodReader(ClassInfo classInfo, MethodInfo methodInfo) {
         this.classInfo = classInfo;
         this.methodInfo = methodInfo;
+        this.converter = classInfo.converter(methodInfo);
     }
 
     @Override
     public Object read(Object instance) {
-        return MethodAccess.read(classInfo.getMethod(methodInfo), instance);
+        if (getter == null) {
+            getter = classInfo.getMethodHandle(methodInfo);
+        }
+        Object value;
+        try {
+            value = (Object) getter.invokeExact(instance);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+        return converter != null ? converter.toGraphProperty(value) : value;
     }
 
     @Override
@@ -3,52 +3,74 @@ package org.neo4j.ogm.entityaccess;
 import java.lang.reflect.Array;
 import java.util.*;
 
+import org.neo4j.ogm.typeconversion.PropertyConverters;
+
 public abstract class ObjectAccess implements PropertyWriter, RelationalWriter {
 
     /**
      * Merges the contents of <em>collection</em> with <em>hydrated</em> ensuring no duplicates and returns the result as an
      * instance of the given parameter type.
      *
+     * @see #merge(Class, Object, Object, MergeState)
+     */
+    @SuppressWarnings("rawtypes")
+    static Object merge(Class parameterType, Object collection, Object hydrated) {
+        return merge(parameterType, collection, hydrated, new MergeState());
+    }
+
+    /**
+     * Merges the contents of <em>collection</em> with <em>hydrated</em> ensuring no duplicates and returns the result as an
+     * instance of the given parameter type.
+     *
+     * Where <em>hydrated</em> is a collection of the given parameter type, the new objects are appended to it in place.
+     * Otherwise the result holds the objects of <em>hydrated</em> followed by the new objects, in order. Entities are
+     * told apart by identity, since a session holds a single instance of each of them, and values of the
+     * <code>java.*</code> types such as strings and numbers by equality. A set also keeps out the objects that are
+     * equal to one it already holds.
+     *
+     * The given state remembers the objects merged so far, so that over the writes of a load the existing contents are
+     * only looked through once rather than on every write.
+     *
+     * Primitive arrays can only hold property values, so they are replaced by the given values rather than merged.
+     *
      * @param parameterType The type of Iterable or array to return
      * @param collection The objects to merge into a collection of the given parameter type, which may not necessarily be of a
-     *        type assignable from <em>parameterType</em> already
-     * @param hydrated The Iterable to merge into, which may be <code>null</code> if a new collection needs creating
+     *        type assignable from <em>parameterType</em> already; either an Iterable or an array
+     * @param hydrated The Iterable or array to merge into, which may be <code>null</code> if a new collection needs creating
+     * @param state The objects merged into <em>hydrated</em> by the earlier writes of the same load
      * @return The result of the merge, as an instance of the specified parameter type
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    static Object merge(Class parameterType, Iterable<?> collection, Iterable<?> hydrated) {
+    static Object merge(Class parameterType, Object collection, Object hydrated, MergeState state) {
 
-        if (parameterType.isArray()) {
-            Class type = parameterType.getComponentType();
-            List<Object> objects = new ArrayList<>(union(collection, hydrated));
+        if (hydrated instanceof LazyCollection && !((LazyCollection) hydrated).isLoaded()) {
+            hydrated = null; // replaced rather than loaded
+        }
 
-            Object array = Array.newInstance(type, objects.size());
-            for (int i = 0; i < objects.size(); i++) {
-                Array.set(array, i, objects.get(i));
+        if (parameterType.isArray()) {
+            Class<?> type = parameterType.getComponentType();
+            if (type.isPrimitive()) {
+                return parameterType.isInstance(collection) ? collection : PropertyConverters.toPrimitiveArray(type, toCollection(collection));
             }
-            return array;
+            return mergeArray(type, toCollection(collection), hydrated, state);
         }
 
         // we don't know how to make the requested parameter type, so let's just try to work with what we've got
         if (hydrated != null && parameterType.isAssignableFrom(hydrated.getClass())) {
             if (Collection.class.isAssignableFrom(hydrated.getClass())) {
-                Collection col = (Collection) hydrated;
-                for (Object object : collection) {
-                    if (!col.contains(object)) {
-                        col.add(object);
-                    }
-                }
+                appendAbsent((Collection) hydrated, toCollection(collection), state);
                 return hydrated;
             }
         }
 
         // hydrated is unusable at this point so we can just set the other collection if it's compatible
         if (parameterType.isAssignableFrom(collection.getClass())) {
+            state.reset(); // not looked through, since it may be a lazy collection that isn't loaded yet
             return collection;
         }
 
         // create the desired type of collection and use it for the merge
-        Collection newCollection = createCollection(parameterType, collection, hydrated);
+        Collection newCollection = createCollection(parameterType, toCollection(collection), hydrated != null ? toCollection(hydrated) : null, state);
         if (newCollection != null) {
             return newCollection;
         }
@@ -56,30 +78,85 @@ public abstract class ObjectAccess implements PropertyWriter, RelationalWriter {
         throw new RuntimeException("Unsupported: " + parameterType.getName());
     }
 
-    private static Collection<?> createCollection(Class<?> parameterType, Iterable<?> collection, Iterable<?> hydrated) {
+    private static Collection<?> createCollection(Class<?> parameterType, Collection<?> collection, Collection<?> hydrated, MergeState state) {
+        int size = collection.size() + (hydrated != null ? hydrated.size() : 0);
+        Collection<Object> newCollection;
         if (Vector.class.isAssignableFrom(parameterType)) {
-            return new Vector<>(union(collection, hydrated));
+            newCollection = new Vector<>(size);
+        } else if (List.class.isAssignableFrom(parameterType)) {
+            newCollection = new ArrayList<>(size);
+        } else if (Set.class.isAssignableFrom(parameterType)) {
+            newCollection = new HashSet<>(Math.max(size * 4 / 3 + 1, 16));
+        } else {
+            return null;
+        }
+        state.reset();
+        state.mergedInto(newCollection);
+        if (hydrated != null) {
+            appendAbsent(newCollection, hydrated, state);
         }
-        if (List.class.isAssignableFrom(parameterType)) {
-            return new ArrayList<>(union(collection, hydrated));
+        appendAbsent(newCollection, collection, state);
+        return newCollection;
+    }
+
+    private static Object[] mergeArray(Class<?> type, Collection<?> collection, Object hydrated, MergeState state) {
+        List<Object> merged = new ArrayList<>();
+        if (hydrated != null && state.isMergedInto(hydrated)) {
+            merged.addAll(toCollection(hydrated));
+        } else {
+            state.reset();
+            if (hydrated != null) {
+                for (Object object : toCollection(hydrated)) {
+                    if (state.add(object)) {
+                        merged.add(object);
+                    }
+                }
+            }
         }
-        if (Set.class.isAssignableFrom(parameterType)) {
-            return union(collection, hydrated);
+        for (Object object : collection) {
+            if (state.add(object)) {
+                merged.add(object);
+            }
         }
-        return null;
+        Object[] array = merged.toArray((Object[]) Array.newInstance(type, merged.size()));
+        state.mergedInto(array);
+        return array;
     }
 
-    private static Set<Object> union(Iterable<?> collection, Iterable<?> hydrated) {
-        Set<Object> set = new HashSet<>();
+    // the contents of the target are only looked through if the state doesn't know them from the previous merge
+    private static void appendAbsent(Collection<Object> target, Collection<?> collection, MergeState state) {
+        if (!state.isMergedInto(target)) {
+            state.reset();
+            for (Object object : target) {
+                state.add(object);
+            }
+        }
         for (Object object : collection) {
-            set.add(object);
+            if (state.add(object)) {
+                target.add(object);
+            }
         }
-        if (hydrated != null) {
-            for (Object object : hydrated) {
-                set.add(object);
+        state.mergedInto(target);
+    }
+
+    private static Collection<?> toCollection(Object iterableOrArray) {
+        if (iterableOrArray instanceof Collection) {
+            return (Collection<?>) iterableOrArray;
+        }
+        if (iterableOrArray instanceof Object[]) {
+            return Arrays.asList((Object[]) iterableOrArray);
+        }
+        List<Object> list = new ArrayList<>();
+        if (iterableOrArray.getClass().isArray()) {
+            for (int i = 0, length = Array.getLength(iterableOrArray); i < length; i++) {
+                list.add(Array.get(iterableOrArray, i));
+            }
+        } else {
+            for (Object object : (Iterable<?>) iterableOrArray) {
+                list.add(object);
             }
         }
-        return set;
+        return list;
     }
 
 }
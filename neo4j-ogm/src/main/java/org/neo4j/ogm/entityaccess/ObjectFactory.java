@@ -6,12 +6,11 @@ import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 
-import java.util.*;
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
 
 public class ObjectFactory {
 
-    private final Map<String, String> taxaLeafClass = new HashMap<>();
-
     private final MetaData metadata;
 
     public ObjectFactory(MetaData metadata) {
@@ -32,30 +31,33 @@ public class ObjectFactory {
             throw new MappingException("Cannot map to a class with no taxa by which to determine the class name.");
         }
 
-        String fqn = resolve(taxa);
+        ClassInfo classInfo = metadata.resolve(taxa);
+        if (classInfo == null) {
+            throw new MappingException("Could not resolve a single base class from " + Arrays.toString(taxa));
+        }
 
+        MethodHandle constructor;
         try {
-            @SuppressWarnings("unchecked")
-            Class<T> className = (Class<T>) Class.forName(fqn);
-            return className.newInstance();
-        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
-            throw new MappingException("Unable to instantiate class: " + fqn, e);
+            constructor = classInfo.getConstructor();
+        } catch (RuntimeException e) {
+            throw new MappingException("Unable to instantiate class: " + classInfo.name(), e);
         }
-    }
-
-    private String resolve(String... taxa) {
-
-        String fqn = taxaLeafClass.get(Arrays.toString(taxa));
-
-        if (fqn == null) {
-            ClassInfo classInfo = metadata.resolve(taxa);
-            if (classInfo != null) {
-                taxaLeafClass.put(Arrays.toString(taxa), fqn=classInfo.name());
-            } else {
-                throw new MappingException("Could not resolve a single base class from " + taxa);
+        if (constructor == null) {
+            if (!metadata.isConstructorBypass()) {
+                throw new MappingException("Unable to instantiate class: " + classInfo.name() + ", it has no public no-arg constructor");
             }
+            constructor = classInfo.getAllocator();
+        }
+
+        try {
+            @SuppressWarnings("unchecked")
+            T instance = (T) (Object) constructor.invokeExact();
+            return instance;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new MappingException("Unable to instantiate class: " + classInfo.name(), t);
         }
-        return fqn;
     }
 
-}
\ No newline at end of file
+}
@@ -8,4 +8,14 @@ public interface RelationalWriter extends PropertyWriter {
 
     String relationshipType();
 
+    /**
+     * Writes the given objects into the collection or array of the given instance, as one of several writes into it
+     * during a load. Objects already merged into it by the earlier writes, as the given state tells, are left out.
+     *
+     * @param instance the object to write to
+     * @param value the objects to merge, as an Iterable or array
+     * @param state the state of the merges into this collection of this instance, kept for the whole load
+     */
+    void write(Object instance, Object value, MergeState state);
+
 }
@@ -0,0 +1,67 @@
+package org.neo4j.ogm.mapper;
+
+/**
+ * How long a {@link MappingContext} holds on to the entities it has mapped.
+ *
+ * An entity the context lets go of is evicted along with what the context remembers about it: its memo hash and the
+ * relationships registered from and to it. Should an evicted entity be saved again, the session treats it as it would
+ * any entity it didn't load, as after {@link MappingContext#clear()}. The entities of a response are all held until
+ * it has been mapped, whatever the retention.
+ */
+public final class EntityRetention {
+
+    enum Kind {
+        STRONG, WEAK, SOFT, LRU
+    }
+
+    /**
+     * Entities are held until the context is cleared, which is the default.
+     */
+    public static final EntityRetention STRONG = new EntityRetention(Kind.STRONG, 0);
+
+    /**
+     * Entities are held for as long as the application holds them.
+     */
+    public static final EntityRetention WEAK = new EntityRetention(Kind.WEAK, 0);
+
+    /**
+     * Entities are held until the garbage collector needs the memory, if the application doesn't hold them.
+     */
+    public static final EntityRetention SOFT = new EntityRetention(Kind.SOFT, 0);
+
+    private final Kind kind;
+    private final int maxEntities;
+
+    private EntityRetention(Kind kind, int maxEntities) {
+        this.kind = kind;
+        this.maxEntities = maxEntities;
+    }
+
+    /**
+     * Entities are held up to the given number, beyond which the least recently mapped or looked up are evicted,
+     * whether or not the application still holds them.
+     *
+     * @param maxEntities the maximum number of entities to hold
+     * @return the retention policy
+     */
+    public static EntityRetention lru(int maxEntities) {
+        if (maxEntities < 1) {
+            throw new IllegalArgumentException("maxEntities must be positive: " + maxEntities);
+        }
+        return new EntityRetention(Kind.LRU, maxEntities);
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    int maxEntities() {
+        return maxEntities;
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.LRU ? "LRU(" + maxEntities + ")" : kind.name();
+    }
+
+}
@@ -5,7 +5,10 @@ import org.neo4j.ogm.model.NodeModel;
 import org.neo4j.ogm.model.Property;
 import org.neo4j.ogm.model.RelationshipModel;
 import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
+import org.neo4j.ogm.entityaccess.EntityMapper;
+import org.neo4j.ogm.entityaccess.EntityMappers;
 import org.neo4j.ogm.entityaccess.FieldAccess;
+import org.neo4j.ogm.entityaccess.MergeState;
 import org.neo4j.ogm.entityaccess.ObjectAccessStrategy;
 import org.neo4j.ogm.entityaccess.ObjectFactory;
 import org.neo4j.ogm.entityaccess.PropertyWriter;
@@ -18,75 +21,175 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Maps the nodes and relationships of graph models to objects.
+ *
+ * Given a pool to hydrate them on, the nodes of a large graph model are mapped by several tasks at once, and so are
+ * its relationships: first into the objects they start at, with each object written to by one task only, and then
+ * into the objects they end at. The setters of the mapped classes mustn't change other objects for this to be safe.
+ *
+ * A mapper is meant for the graph models of a single response, which may come in several batches: it remembers what
+ * it has merged into each collection so far, so that a collection filled over many batches is looked through once.
+ */
 public class GraphObjectMapper implements GraphToObjectMapper<GraphModel> {
 
+    // the number of nodes or relationships from which they are mapped in parallel, given a pool
+    public static final int PARALLEL_THRESHOLD = 1024;
+
     private final Logger logger = LoggerFactory.getLogger(GraphObjectMapper.class);
 
     private final MappingContext mappingContext;
     private final ObjectFactory objectFactory;
     private final MetaData metadata;
     private final ObjectAccessStrategy objectAccessStrategy;
+    private final ForkJoinPool hydrationPool;
+    private boolean refreshingLoadedObjects = true;
+
+    // the source and target classes that couldn't be mapped one to many, so that each miss is only logged once
+    private final Set<List<Class<?>>> unmappedIterables = Collections.newSetFromMap(new ConcurrentHashMap<List<Class<?>>, Boolean>());
+
+    // the merges into the collections of each object during this load; tasks mapping in parallel never share an object
+    private final Map<Object, Map<RelationalWriter, MergeState>> merges =
+            Collections.synchronizedMap(new IdentityHashMap<Object, Map<RelationalWriter, MergeState>>());
 
     public GraphObjectMapper(MetaData metaData, MappingContext mappingContext) {
+        this(metaData, mappingContext, new DefaultObjectAccessStrategy());
+    }
+
+    public GraphObjectMapper(MetaData metaData, MappingContext mappingContext, ObjectAccessStrategy objectAccessStrategy) {
+        this(metaData, mappingContext, objectAccessStrategy, null);
+    }
+
+    /**
+     * @param hydrationPool the pool to map large graph models on, or <code>null</code> to map them on the calling
+     *        thread only
+     */
+    public GraphObjectMapper(MetaData metaData, MappingContext mappingContext, ObjectAccessStrategy objectAccessStrategy, ForkJoinPool hydrationPool) {
         this.metadata = metaData;
         this.objectFactory = new ObjectFactory(metadata);
         this.mappingContext = mappingContext;
-        this.objectAccessStrategy = new DefaultObjectAccessStrategy();
+        this.objectAccessStrategy = objectAccessStrategy;
+        this.hydrationPool = hydrationPool;
     }
 
+    /**
+     * Sets whether the properties of the objects that were already in the mapping context are written from their
+     * nodes, and remembered as saved, which is the default. When they aren't, such objects are only wired to the
+     * others, e.g. to load their neighbours without losing the changes made to them since they were loaded.
+     *
+     * @param refreshingLoadedObjects whether to write the properties of objects already loaded
+     */
+    public void setRefreshingLoadedObjects(boolean refreshingLoadedObjects) {
+        this.refreshingLoadedObjects = refreshingLoadedObjects;
+    }
+
+    /**
+     * @return the objects of the given type mapped from the nodes of the given graph model, rather than all those
+     *         of the session
+     */
     @Override
     public <T> Set<T> load(Class<T> type, GraphModel graphModel) {
-        map(type, graphModel);
+        mappingContext.beginLoad(); // the objects of the graph model must stay there until they are all wired
         try {
-            Set<T> set = new HashSet<>();
-            for (Object o : mappingContext.getAll(type)) {
-                set.add(type.cast(o));
-            }
-            return set;
+            Set<T> loaded = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+            mapNodes(graphModel, type, loaded);
+            mapRelationships(graphModel);
+            return loaded;
         } catch (Exception e) {
             throw new MappingException("Error mapping GraphModel to instance of " + type.getName(), e);
+        } finally {
+            mappingContext.endLoad();
         }
     }
 
-    private <T> void map(Class<T> type, GraphModel graphModel) {
-        try {
-            mapNodes(graphModel);
-            mapRelationships(graphModel);
-        } catch (Exception e) {
-            throw new MappingException("Error mapping GraphModel to instance of " + type.getName(), e);
+    private <T> void mapNodes(GraphModel graphModel, Class<T> type, Set<T> loaded) {
+        NodeModel[] nodes = graphModel.getNodes();
+        if (!parallel(nodes.length)) {
+            for (NodeModel node : nodes) {
+                collect(mapNode(node), type, loaded);
+            }
+            return;
         }
+
+        // a node may come more than once, but its object must be written to by one task only
+        final NodeModel[] distinct = distinct(nodes);
+        final Object[] mapped = new Object[distinct.length];
+        List<RecursiveAction> tasks = new ArrayList<>();
+        int chunk = (distinct.length + tasks() - 1) / tasks();
+        for (int from = 0; from < distinct.length; from += chunk) {
+            final int start = from;
+            final int end = Math.min(from + chunk, distinct.length);
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    for (int i = start; i < end; i++) {
+                        mapped[i] = mapNode(distinct[i]);
+                    }
+                }
+            });
+        }
+        invokeAll(tasks);
+
+        for (Object object : mapped) {
+            collect(object, type, loaded);
+        }
+    }
+
+    private static <T> void collect(Object object, Class<T> type, Set<T> loaded) {
+        if (object.getClass() == type) {
+            loaded.add(type.cast(object));
+        }
+    }
+
+    private Object mapNode(NodeModel node) {
+        Object object = mappingContext.get(node.getId());
+        if (object == null) {
+            object = mappingContext.register(objectFactory.newObject(node), node.getId());
+        } else if (!refreshingLoadedObjects) {
+            return object;
+        }
+        setIdentity(object, node.getId());
+        setProperties(node, object);
+        mappingContext.remember(object);
+        return object;
     }
 
-    private void mapNodes(GraphModel graphModel) {
-        for (NodeModel node : graphModel.getNodes()) {
-            Object object = mappingContext.get(node.getId());
-            if (object == null) {
-                object = mappingContext.register(objectFactory.newObject(node), node.getId());
+    private static NodeModel[] distinct(NodeModel[] nodes) {
+        Set<Long> ids = new HashSet<>(nodes.length * 2);
+        List<NodeModel> distinct = new ArrayList<>(nodes.length);
+        for (NodeModel node : nodes) {
+            if (ids.add(node.getId())) {
+                distinct.add(node);
             }
-            setIdentity(object, node.getId());
-            setProperties(node, object);
-            mappingContext.remember(object);
         }
+        return distinct.toArray(new NodeModel[distinct.size()]);
     }
 
     private void setIdentity(Object instance, Long id) {
-        ClassInfo classInfo = metadata.classInfo(instance.getClass().getName());
+        ClassInfo classInfo = metadata.classInfo(instance.getClass());
         FieldInfo fieldInfo = classInfo.identityField();
         FieldAccess.write(classInfo.getField(fieldInfo), instance, id);
     }
 
     private Long getIdentity(Object instance) {
-        ClassInfo classInfo = metadata.classInfo(instance.getClass().getName());
+        ClassInfo classInfo = metadata.classInfo(instance.getClass());
         FieldInfo fieldInfo = classInfo.identityField();
         return (Long) FieldAccess.read(classInfo.getField(fieldInfo), instance);
     }
 
     private void setProperties(NodeModel nodeModel, Object instance) {
         // cache this.
-        ClassInfo classInfo = metadata.classInfo(instance.getClass().getName());
+        ClassInfo classInfo = metadata.classInfo(instance.getClass());
+        EntityMapper<Object> entityMapper = EntityMappers.forClass(instance.getClass());
         for (Property property : nodeModel.getPropertyList()) {
-            writeProperty(classInfo, instance, property);
+            if (entityMapper == null || !entityMapper.writeProperty(instance, property.getKey().toString(), property.getValue())) {
+                writeProperty(classInfo, instance, property);
+            }
         }
     }
 
@@ -102,7 +205,7 @@ public class GraphObjectMapper implements GraphToObjectMapper<GraphModel> {
     private boolean mapOneToOne(Object source, Object parameter, RelationshipModel edge) {
 
         String edgeLabel = edge.getType();
-        ClassInfo sourceInfo = metadata.classInfo(source.getClass().getName());
+        ClassInfo sourceInfo = metadata.classInfo(source.getClass());
 
         RelationalWriter objectAccess = objectAccessStrategy.getRelationalWriter(sourceInfo, edgeLabel, parameter);
         if (objectAccess != null) {
@@ -116,72 +219,158 @@ public class GraphObjectMapper implements GraphToObjectMapper<GraphModel> {
     }
 
     private void mapRelationships(GraphModel graphModel) {
+        RelationshipModel[] edges = graphModel.getRelationships();
+        if (!parallel(edges.length)) {
+            mapEdges(Arrays.asList(edges), true);
+            return;
+        }
+
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (final List<RelationshipModel> bucket : partition(edges, true)) {
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    mapEdges(bucket, false);
+                }
+            });
+        }
+        invokeAll(tasks);
+
+        tasks.clear();
+        for (final List<RelationshipModel> bucket : partition(edges, false)) {
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    for (RelationshipModel edge : bucket) {
+                        mapOneToOne(mappingContext.get(edge.getEndNode()), mappingContext.get(edge.getStartNode()), edge);
+                    }
+                }
+            });
+        }
+        invokeAll(tasks);
+    }
 
-        final Set<RelationshipModel> oneToMany = new HashSet<>();
+    /**
+     * Wires the related objects in a single pass over the given edges, also trying the inverse mappings if asked to.
+     * An edge either goes into a field or setter taking a single object, or is grouped with the other edges that go
+     * into the same collection of its start object, and each such collection is then written once, with all of its
+     * objects.
+     */
+    private void mapEdges(List<RelationshipModel> edges, boolean inverse) {
 
-        for (RelationshipModel edge : graphModel.getRelationships()) {
+        Map<Object, Map<RelationalWriter, OneToMany>> oneToMany = new IdentityHashMap<>();
+
+        for (RelationshipModel edge : edges) {
             Object source = mappingContext.get(edge.getStartNode());
             Object target = mappingContext.get(edge.getEndNode());
             if (!mapOneToOne(source, target, edge)) {
-                oneToMany.add(edge);
+                groupOneToMany(oneToMany, source, target, edge);
+            }
+            if (inverse) {
+                mapOneToOne(target, source, edge);  // try the inverse mapping
+            }
+        }
+
+        for (Map.Entry<Object, Map<RelationalWriter, OneToMany>> bySource : oneToMany.entrySet()) {
+            for (Map.Entry<RelationalWriter, OneToMany> byWriter : bySource.getValue().entrySet()) {
+                mapOneToMany(bySource.getKey(), byWriter.getKey(), byWriter.getValue());
             }
-            mapOneToOne(target, source, edge);  // try the inverse mapping
         }
-        mapOneToMany(oneToMany);
     }
 
-    public Set<Object> get(Class<?> clazz) {
-        return mappingContext.getAll(clazz);
+    // buckets the edges by the node they start at, or end at, so that the edges of each node are in the same bucket
+    private List<List<RelationshipModel>> partition(RelationshipModel[] edges, boolean byStartNode) {
+        List<List<RelationshipModel>> buckets = new ArrayList<>(tasks());
+        for (int i = 0; i < tasks(); i++) {
+            buckets.add(new ArrayList<RelationshipModel>(edges.length / tasks() + 1));
+        }
+        for (RelationshipModel edge : edges) {
+            long id = byStartNode ? edge.getStartNode() : edge.getEndNode();
+            int hash = (int) (id ^ (id >>> 32));
+            buckets.get((hash & Integer.MAX_VALUE) % buckets.size()).add(edge);
+        }
+        return buckets;
     }
 
-    // FIXME: this code is buggy. it is setting the same collection multiple times!
-    private void mapOneToMany(Set<RelationshipModel> oneToManyRelationships) {
+    private boolean parallel(int size) {
+        return hydrationPool != null && size >= PARALLEL_THRESHOLD;
+    }
 
-        Map<Object, Map<Class<?>, Set<Object>>> typeRelationships = new HashMap<>();
+    // a few tasks per thread, so that the threads are kept busy when some tasks take longer than others
+    private int tasks() {
+        return hydrationPool.getParallelism() * 4;
+    }
 
-        // first, build the full set of related objects of each type for each source object in the relationship
-        for (RelationshipModel edge : oneToManyRelationships) {
+    private void invokeAll(final List<RecursiveAction> tasks) {
+        hydrationPool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+    }
 
-            Object instance = mappingContext.get(edge.getStartNode());
-            Object parameter = mappingContext.get(edge.getEndNode());
+    public Set<Object> get(Class<?> clazz) {
+        return mappingContext.getAll(clazz);
+    }
 
-            Map<Class<?>, Set<Object>> handled = typeRelationships.get(instance);
-            if (handled == null) {
-                typeRelationships.put(instance, handled=new HashMap<>());
-            }
-            Class<?> type = parameter.getClass();
-            Set<Object> objects = handled.get(type);
-            if (objects == null) {
-                handled.put(type, objects=new HashSet<>());
+    private void groupOneToMany(Map<Object, Map<RelationalWriter, OneToMany>> oneToMany, Object source, Object target, RelationshipModel edge) {
+        ClassInfo classInfo = metadata.classInfo(source.getClass());
+        RelationalWriter objectAccess = objectAccessStrategy.getIterableWriter(classInfo, target.getClass());
+        if (objectAccess == null) {
+            if (unmappedIterables.add(Arrays.<Class<?>>asList(source.getClass(), target.getClass()))) {
+                logger.warn("Unable to map iterable of type: {} onto property of {}", target.getClass(), classInfo.name());
             }
-            objects.add(parameter);
+            return;
         }
 
-        // then set the entire collection at the same time.
-        for (Object instance : typeRelationships.keySet()) {
-            Map<Class<?>, Set<Object>> handled = typeRelationships.get(instance);
-            for (Class<?> type : handled.keySet()) {
-                Collection<?> objects = handled.get(type);
-                mapOneToMany(instance, type, objects, oneToManyRelationships);
-            }
+        Map<RelationalWriter, OneToMany> byWriter = oneToMany.get(source);
+        if (byWriter == null) {
+            oneToMany.put(source, byWriter = new HashMap<>());
+        }
+        OneToMany group = byWriter.get(objectAccess);
+        if (group == null) {
+            byWriter.put(objectAccess, group = new OneToMany());
         }
+        group.add(target, edge);
     }
 
-    private boolean mapOneToMany(Object instance, Class<?> type, Collection<?> objects, Set<RelationshipModel> edges) {
-        ClassInfo classInfo = metadata.classInfo(instance.getClass().getName());
+    private void mapOneToMany(Object instance, RelationalWriter objectAccess, OneToMany group) {
+        objectAccess.write(instance, group.objects, mergeState(instance, objectAccess));
+        String relType = objectAccess.relationshipType();
+        for (RelationshipModel edge : group.edges) {
+            mappingContext.remember(new MappedRelationship(edge.getStartNode(), relType, edge.getEndNode()));
+        }
+    }
 
-        RelationalWriter objectAccess = objectAccessStrategy.getIterableWriter(classInfo, type);
-        if (objectAccess != null) {
-            objectAccess.write(instance, objects);
-            String relType = objectAccess.relationshipType();
-            for (RelationshipModel edge : edges) {
-                mappingContext.remember(new MappedRelationship(edge.getStartNode(), relType, edge.getEndNode()));
-            }
-            return true;
+    private MergeState mergeState(Object instance, RelationalWriter objectAccess) {
+        Map<RelationalWriter, MergeState> byWriter = merges.get(instance);
+        if (byWriter == null) {
+            merges.put(instance, byWriter = new HashMap<>());
+        }
+        MergeState state = byWriter.get(objectAccess);
+        if (state == null) {
+            byWriter.put(objectAccess, state = new MergeState());
         }
+        return state;
+    }
 
-        logger.warn("Unable to map iterable of type: {} onto property of {}", type, classInfo.name());
-        return false;
+    /**
+     * The objects to write into one collection of an object, in the order of the edges they were found through, and
+     * those edges.
+     */
+    private static final class OneToMany {
+
+        final List<Object> objects = new ArrayList<>();
+        final List<RelationshipModel> edges = new ArrayList<>();
+        private final Set<Object> added = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+        void add(Object object, RelationshipModel edge) {
+            if (added.add(object)) {
+                objects.add(object);
+            }
+            edges.add(edge);
+        }
     }
 
     // this is temporary - will be replaced by work Adam is doing.
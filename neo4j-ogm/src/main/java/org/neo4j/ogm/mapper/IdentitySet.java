@@ -0,0 +1,224 @@
+package org.neo4j.ogm.mapper;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent set that tells its elements apart by identity, holding each of them in a slot of an array rather than
+ * in an entry object.
+ *
+ * Like {@link LongObjectMap}, the set is split into segments of open-addressing tables, whose writes lock the
+ * segment of their element only and whose reads don't lock at all. Iterators are weakly consistent: they never throw
+ * {@link java.util.ConcurrentModificationException}, and they may or may not see elements added after they were
+ * created. Null elements aren't allowed.
+ *
+ * @param <E> the type of the elements
+ */
+public final class IdentitySet<E> extends AbstractSet<E> {
+
+    private static final int SEGMENTS = 16; // a power of two
+    private static final int INITIAL_CAPACITY = 8; // per segment, a power of two
+
+    private static final Object REMOVED = new Object();
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public IdentitySet() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @Override
+    public boolean add(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        int hash = hash(element);
+        return segments[hash >>> 28].add(element, hash);
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (object == null) {
+            return false;
+        }
+        int hash = hash(object);
+        return segments[hash >>> 28].contains(object, hash);
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (object == null) {
+            return false;
+        }
+        int hash = hash(object);
+        return segments[hash >>> 28].remove(object, hash);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private int segment = -1;
+            private AtomicReferenceArray<Object> elements;
+            private int index;
+            private Object next;
+            private Object last;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (elements == null || index == elements.length()) {
+                        if (++segment == SEGMENTS) {
+                            return false;
+                        }
+                        elements = segments[segment].elements;
+                        index = 0;
+                    } else {
+                        Object element = elements.get(index++);
+                        if (element != REMOVED) {
+                            next = element;
+                        }
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = null;
+                return (E) last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                IdentitySet.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private static int hash(Object object) {
+        int hash = System.identityHashCode(object);
+        return hash ^ (hash >>> 16) ^ (hash << 16); // the segment is chosen by the high bits and the slot by the low bits
+    }
+
+    private static final class Segment {
+
+        private volatile AtomicReferenceArray<Object> elements = new AtomicReferenceArray<>(INITIAL_CAPACITY); // null for an empty slot
+        private volatile int size;
+        private int used; // slots holding either an element or the marker of a removed one
+
+        boolean contains(Object object, int hash) {
+            AtomicReferenceArray<Object> elements = this.elements;
+            int mask = elements.length() - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Object element = elements.get(i);
+                if (element == null) {
+                    return false;
+                }
+                if (element == object) {
+                    return true;
+                }
+            }
+        }
+
+        synchronized boolean add(Object object, int hash) {
+            AtomicReferenceArray<Object> elements = this.elements;
+            int mask = elements.length() - 1;
+            int removed = -1;
+            int i = hash & mask;
+            for (Object element; (element = elements.get(i)) != null; i = (i + 1) & mask) {
+                if (element == object) {
+                    return false;
+                }
+                if (element == REMOVED && removed < 0) {
+                    removed = i;
+                }
+            }
+            if (removed >= 0) {
+                elements.set(removed, object);
+            } else {
+                elements.set(i, object);
+                used++;
+            }
+            size++;
+            if (used > elements.length() - (elements.length() >>> 2)) {
+                rebuild(elements);
+            }
+            return true;
+        }
+
+        synchronized boolean remove(Object object, int hash) {
+            AtomicReferenceArray<Object> elements = this.elements;
+            int mask = elements.length() - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Object element = elements.get(i);
+                if (element == null) {
+                    return false;
+                }
+                if (element == object) {
+                    elements.set(i, REMOVED);
+                    size--;
+                    return true;
+                }
+            }
+        }
+
+        synchronized void clear() {
+            elements = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+            size = 0;
+            used = 0;
+        }
+
+        // copies the elements into a new table that is at most half full, leaving the markers of removed ones behind
+        private void rebuild(AtomicReferenceArray<Object> elements) {
+            int capacity = INITIAL_CAPACITY;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+            AtomicReferenceArray<Object> rebuilt = new AtomicReferenceArray<>(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < elements.length(); i++) {
+                Object element = elements.get(i);
+                if (element != null && element != REMOVED) {
+                    int j = hash(element) & mask;
+                    while (rebuilt.get(j) != null) {
+                        j = (j + 1) & mask;
+                    }
+                    rebuilt.lazySet(j, element);
+                }
+            }
+            used = size;
+            this.elements = rebuilt; // publishes the new table and its contents
+        }
+    }
+
+}
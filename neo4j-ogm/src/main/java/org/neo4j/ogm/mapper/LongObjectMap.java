@@ -0,0 +1,212 @@
+package org.neo4j.ogm.mapper;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent map from primitive <code>long</code> keys to objects, which holds each entry in a slot of two arrays
+ * rather than in an entry object with a boxed key.
+ *
+ * The map is split into segments, each an open-addressing table with linear probing. Writes lock the segment of their
+ * key only, and reads don't lock at all. Removed entries leave a marker in their slot until the table is next rebuilt,
+ * so that a slot never holds more than one key for the lifetime of a table, which is what makes the unlocked reads
+ * safe. Null values aren't allowed.
+ *
+ * @param <V> the type of the values
+ */
+public final class LongObjectMap<V> {
+
+    private static final int SEGMENTS = 16; // a power of two
+    private static final int INITIAL_CAPACITY = 16; // per segment, a power of two
+
+    private static final Object REMOVED = new Object();
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public LongObjectMap() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * @param key the key
+     * @return the value mapped to the given key, or <code>null</code> if there isn't one
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int hash = hash(key);
+        return (V) segments[hash >>> 28].get(key, hash);
+    }
+
+    /**
+     * Maps the given key to the given value, unless it is already mapped.
+     *
+     * @param key the key
+     * @param value the value, which mustn't be <code>null</code>
+     * @return the value the key was already mapped to, or <code>null</code> if the given value was put
+     */
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        int hash = hash(key);
+        return (V) segments[hash >>> 28].putIfAbsent(key, hash, value);
+    }
+
+    /**
+     * @param key the key
+     * @return the value the key was mapped to, or <code>null</code> if it wasn't mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int hash = hash(key);
+        return (V) segments[hash >>> 28].remove(key, hash, null);
+    }
+
+    /**
+     * Removes the entry of the given key, if it maps to the given value.
+     *
+     * @param key the key
+     * @param value the value the key must map to
+     * @return <code>true</code> if the entry was removed
+     */
+    public boolean remove(long key, Object value) {
+        int hash = hash(key);
+        return segments[hash >>> 28].remove(key, hash, value) != null;
+    }
+
+    /**
+     * @return the number of entries, which may already be out of date if the map is being changed
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    // the finaliser of MurmurHash3, so that both the segment and the slot depend on every bit of the key
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private static final class Table {
+
+        final long[] keys;
+        final AtomicReferenceArray<Object> values; // a slot is empty while its value is null
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    private static final class Segment {
+
+        private volatile Table table = new Table(INITIAL_CAPACITY);
+        private volatile int size;
+        private int used; // slots holding either a value or the marker of a removed one
+
+        // the key of a slot is written before its value, so a value read here comes with its key
+        Object get(long key, int hash) {
+            Table table = this.table;
+            int mask = table.keys.length - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Object value = table.values.get(i);
+                if (value == null) {
+                    return null;
+                }
+                if (table.keys[i] == key && value != REMOVED) {
+                    return value;
+                }
+            }
+        }
+
+        synchronized Object putIfAbsent(long key, int hash, Object value) {
+            Table table = this.table;
+            int mask = table.keys.length - 1;
+            int i = hash & mask;
+            for (Object current; (current = table.values.get(i)) != null; i = (i + 1) & mask) {
+                if (table.keys[i] == key) {
+                    if (current != REMOVED) {
+                        return current;
+                    }
+                    // the slot already belongs to this key
+                    table.values.set(i, value);
+                    size++;
+                    return null;
+                }
+            }
+            table.keys[i] = key;
+            table.values.set(i, value);
+            size++;
+            if (++used > table.keys.length - (table.keys.length >>> 2)) {
+                rebuild(table);
+            }
+            return null;
+        }
+
+        // removes the entry of the given key, if it maps to the given value or if that is null
+        synchronized Object remove(long key, int hash, Object expected) {
+            Table table = this.table;
+            int mask = table.keys.length - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Object value = table.values.get(i);
+                if (value == null) {
+                    return null;
+                }
+                if (table.keys[i] == key) {
+                    if (value == REMOVED || (expected != null && value != expected)) {
+                        return null;
+                    }
+                    table.values.set(i, REMOVED);
+                    size--;
+                    return value;
+                }
+            }
+        }
+
+        synchronized void clear() {
+            table = new Table(INITIAL_CAPACITY);
+            size = 0;
+            used = 0;
+        }
+
+        // copies the entries into a new table that is at most half full, leaving the markers of removed entries behind
+        private void rebuild(Table table) {
+            int capacity = INITIAL_CAPACITY;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+            Table rebuilt = new Table(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < table.keys.length; i++) {
+                Object value = table.values.get(i);
+                if (value != null && value != REMOVED) {
+                    int j = hash(table.keys[i]) & mask;
+                    while (rebuilt.values.get(j) != null) {
+                        j = (j + 1) & mask;
+                    }
+                    rebuilt.keys[j] = table.keys[i];
+                    rebuilt.values.lazySet(j, value);
+                }
+            }
+            used = size;
+            this.table = rebuilt; // publishes the new table and its contents
+        }
+    }
+
+}
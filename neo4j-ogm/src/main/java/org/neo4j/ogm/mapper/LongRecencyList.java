@@ -0,0 +1,162 @@
+package org.neo4j.ogm.mapper;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Primitive <code>long</code> keys in the order they were last used, from the least to the most recently used.
+ *
+ * Each key is an entry in parallel arrays of keys and of links to the previous and next entries, and an
+ * open-addressing table indexes the entries by key, so that using a key moves it to the end of the list in constant
+ * time without boxing it or allocating an entry object.
+ *
+ * Like {@link RelationshipRegistry}, the list is not thread-safe.
+ */
+public final class LongRecencyList {
+
+    private static final int INITIAL_CAPACITY = 16; // a power of two
+    private static final int NONE = -1;
+
+    // the entries; a free entry is chained to the next free one through its next link
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] previous = new int[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int entries; // the number of entries ever used
+    private int freeEntry = NONE;
+    private int eldest = NONE;
+    private int youngest = NONE;
+    private int size;
+
+    // the index, whose slots hold an entry + 1, or 0 when empty
+    private int[] byKey = new int[INITIAL_CAPACITY * 2];
+
+    /**
+     * Makes the given key the most recently used, adding it if it isn't in the list yet.
+     *
+     * @param key the key
+     */
+    public void use(long key) {
+        int slot = find(key);
+        int entry = byKey[slot] - 1;
+        if (entry == NONE) {
+            entry = allocate();
+            keys[entry] = key;
+            byKey[slot] = entry + 1;
+            size++;
+        } else if (entry == youngest) {
+            return;
+        } else {
+            unlink(entry);
+        }
+        previous[entry] = youngest;
+        next[entry] = NONE;
+        if (youngest == NONE) {
+            eldest = entry;
+        } else {
+            next[youngest] = entry;
+        }
+        youngest = entry;
+        if (size * 2 > byKey.length) {
+            rebuildIndex(byKey.length * 2); // from the list, which the entry must be part of by now
+        }
+    }
+
+    /**
+     * Removes the least recently used key.
+     *
+     * @return the key
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long removeEldest() {
+        if (eldest == NONE) {
+            throw new NoSuchElementException();
+        }
+        int entry = eldest;
+        long key = keys[entry];
+        deleteSlot(find(key));
+        unlink(entry);
+        next[entry] = freeEntry;
+        freeEntry = entry;
+        size--;
+        return key;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(byKey, 0);
+        entries = 0;
+        freeEntry = NONE;
+        eldest = NONE;
+        youngest = NONE;
+        size = 0;
+    }
+
+    private int allocate() {
+        if (freeEntry != NONE) {
+            int entry = freeEntry;
+            freeEntry = next[entry];
+            return entry;
+        }
+        if (entries == keys.length) {
+            int capacity = entries * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return entries++;
+    }
+
+    private void unlink(int entry) {
+        if (previous[entry] == NONE) {
+            eldest = next[entry];
+        } else {
+            next[previous[entry]] = next[entry];
+        }
+        if (next[entry] == NONE) {
+            youngest = previous[entry];
+        } else {
+            previous[next[entry]] = previous[entry];
+        }
+    }
+
+    // the slot holding the given key, or else the empty slot where it belongs
+    private int find(long key) {
+        int mask = byKey.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int entry = byKey[i] - 1;
+            if (entry < 0 || keys[entry] == key) {
+                return i;
+            }
+        }
+    }
+
+    // empties the given slot, moving back the slots after it that would otherwise no longer be found
+    private void deleteSlot(int slot) {
+        int mask = byKey.length - 1;
+        int i = slot;
+        for (int j = (i + 1) & mask; byKey[j] != 0; j = (j + 1) & mask) {
+            int home = hash(keys[byKey[j] - 1]) & mask;
+            if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+                byKey[i] = byKey[j];
+                i = j;
+            }
+        }
+        byKey[i] = 0;
+    }
+
+    private void rebuildIndex(int capacity) {
+        byKey = new int[capacity];
+        for (int entry = eldest; entry != NONE; entry = next[entry]) {
+            byKey[find(keys[entry])] = entry + 1;
+        }
+    }
+
+    private static int hash(long key) {
+        key *= 0x9e3779b97f4a7c15L;
+        return (int) (key ^ (key >>> 32));
+    }
+
+}
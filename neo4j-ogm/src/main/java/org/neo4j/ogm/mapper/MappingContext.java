@@ -2,47 +2,126 @@ package org.neo4j.ogm.mapper;
 
 import org.neo4j.ogm.metadata.MetaData;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The MappingContext maintains a map of all the objects created during the hydration
  * of an object map (domain hierarchy). The MappingContext lifetime is concurrent
  * with a session lifetime.
+ *
+ * How long the objects are held is up to the {@link EntityRetention} of the context, except while they are being
+ * loaded: see {@link #beginLoad()}.
+ *
+ * Objects and relationships may be registered by several threads at once, as they are when a large graph is
+ * hydrated in parallel.
  */
 public class MappingContext {
 
 
-    private final ConcurrentMap<Long, Object> objectMap = new ConcurrentHashMap<>();
+    // node ids aren't boxed, and objects of each type are held in arrays rather than in entry objects
+    // the values are the objects themselves, or references to them if they are held weakly or softly
+    private final LongObjectMap<Object> objectMap = new LongObjectMap<>();
     private final ConcurrentMap<Class<?>, Set<Object>> typeMap = new ConcurrentHashMap<>();
 
     // using these two objects we maintain synchronisation state with the database
-    private final List<MappedRelationship> mappedRelationships = new ArrayList<>();
-    private final ObjectMemo objectMemo = new ObjectMemo();
+    private final RelationshipRegistry mappedRelationships = new RelationshipRegistry(); // guarded by itself
+    private final ObjectMemo objectMemo;
 
     private final MetaData metaData;
+    private final EntityRetention retention;
+
+    private final ReferenceQueue<Object> collected; // only when objects are held weakly or softly
+    private final LongRecencyList recentlyUsed; // only when the number of objects is bounded
+
+    // the objects registered or looked up while loads are in progress, only when objects are held weakly or softly
+    private final Set<Object> held = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+    private final AtomicInteger loads = new AtomicInteger();
 
     public MappingContext(MetaData metaData) {
+        this(metaData, EntityRetention.STRONG);
+    }
+
+    public MappingContext(MetaData metaData, EntityRetention retention) {
         this.metaData = metaData;
+        this.retention = retention;
+        boolean referenced = retention.kind() == EntityRetention.Kind.WEAK || retention.kind() == EntityRetention.Kind.SOFT;
+        this.objectMemo = new ObjectMemo(referenced);
+        this.collected = referenced ? new ReferenceQueue<>() : null;
+        this.recentlyUsed = retention.kind() == EntityRetention.Kind.LRU ? new LongRecencyList() : null;
+    }
+
+    public EntityRetention retention() {
+        return retention;
+    }
+
+    /**
+     * Starts loading objects into the context. Until the load ends, the objects registered or looked up are held
+     * strongly and none is evicted for being least recently used, so that the objects of a response are all there
+     * to be wired to each other, however many it has. Loads may be nested.
+     */
+    public void beginLoad() {
+        loads.incrementAndGet();
+    }
+
+    /**
+     * Ends a load started by {@link #beginLoad()}. Once the last load in progress has ended, the objects it held go
+     * back to the retention of the context, and those beyond the bound of an LRU retention are evicted.
+     */
+    public void endLoad() {
+        if (loads.decrementAndGet() == 0) {
+            held.clear();
+            if (recentlyUsed != null) {
+                evictLeastRecentlyUsed();
+            }
+        }
     }
 
     public Object get(Long id) {
-        return objectMap.get(id);
+        expungeCollected();
+        Object object = dereference(objectMap.get(id));
+        if (object != null) {
+            used(id, object);
+        }
+        return object;
     }
 
     public Object register(Object object, Long id) {
-        objectMap.putIfAbsent(id, object);
-        getAll(object.getClass()).add(object = objectMap.get(id));
+        expungeCollected();
+        Object handle = handle(object, id);
+        for (Object registered; (registered = objectMap.putIfAbsent(id, handle)) != null; ) {
+            Object current = dereference(registered);
+            if (current != null) {
+                used(id, current);
+                return current;
+            }
+            if (evict(id, registered, null)) { // collected but not enqueued yet
+                forgetRelationships(Collections.singleton(id));
+            }
+        }
+        handles(object.getClass()).add(handle);
+        used(id, object);
         return object;
     }
 
     public Set<Object> getAll(Class<?> type) {
+        expungeCollected();
+        Set<Object> handles = handles(type);
+        return collected == null ? handles : new ReferencedObjects(handles);
+    }
+
+    private Set<Object> handles(Class<?> type) {
 
         Set<Object> objectList = typeMap.get(type);
 
         if (objectList == null) {
-            typeMap.putIfAbsent(type, Collections.synchronizedSet(new HashSet<>()));
+            typeMap.putIfAbsent(type, new IdentitySet<>());
             objectList = typeMap.get(type);
         }
 
@@ -51,27 +130,328 @@ public class MappingContext {
     }
 
     public void remember(Object object) {
-        objectMemo.remember(object, metaData.classInfo(object.getClass().getName()));
+        objectMemo.remember(object, metaData.classInfo(object.getClass()));
     }
 
     public boolean isDirty(Object toPersist) {
-        return !objectMemo.remembered(toPersist, metaData.classInfo(toPersist.getClass().getName()));
+        return !objectMemo.remembered(toPersist, metaData.classInfo(toPersist.getClass()));
+    }
+
+    /**
+     * @param toPersist the object about to be saved
+     * @return the names of the properties of the object that have changed since it was loaded or last saved, or
+     *         <code>null</code> if the session doesn't know how they were, in which case they all need saving
+     */
+    public Set<String> changedProperties(Object toPersist) {
+        return objectMemo.changedProperties(toPersist, metaData.classInfo(toPersist.getClass()));
     }
 
     public boolean isRegisteredRelationship(MappedRelationship relationship) {
-        return mappedRelationships.contains(relationship);
+        synchronized (mappedRelationships) {
+            return mappedRelationships.contains(relationship);
+        }
     }
 
+    /**
+     * @param startNodeId the id of the start node
+     * @param relationshipType the type of the relationships
+     * @return a copy of the registered relationships of the given type that leave the given node
+     */
+    public List<MappedRelationship> relationshipsFrom(long startNodeId, String relationshipType) {
+        synchronized (mappedRelationships) {
+            return mappedRelationships.relationshipsFrom(startNodeId, relationshipType);
+        }
+    }
+
+    /**
+     * @return a copy of the registered relationships
+     */
     public List<MappedRelationship> mappedRelationships() {
-        return mappedRelationships;
+        synchronized (mappedRelationships) {
+            return new ArrayList<>(mappedRelationships);
+        }
+    }
+
+    public void clearRelationships() {
+        synchronized (mappedRelationships) {
+            mappedRelationships.clear();
+        }
     }
 
     public void remember(MappedRelationship relationship) {
-        mappedRelationships.add(relationship);
+        synchronized (mappedRelationships) {
+            mappedRelationships.add(relationship);
+        }
     }
 
     public void clear() {
+        objectMap.clear();
+        typeMap.clear();
         objectMemo.clear();
-        mappedRelationships.clear();
+        clearRelationships();
+        if (recentlyUsed != null) {
+            synchronized (recentlyUsed) {
+                recentlyUsed.clear();
+            }
+        }
+        held.clear();
+        if (collected != null) {
+            while (collected.poll() != null) {
+                // the references are gone with the map
+            }
+        }
+    }
+
+    private Object handle(Object object, long id) {
+        Reference<Object> reference;
+        switch (retention.kind()) {
+            case WEAK:
+                reference = new WeakObjectReference(object, id, collected);
+                break;
+            case SOFT:
+                reference = new SoftObjectReference(object, id, collected);
+                break;
+            default:
+                return object;
+        }
+        referenced(reference);
+        return reference;
+    }
+
+    /**
+     * Called as the context starts holding an object weakly or softly through the given reference, which is
+     * enqueued once the object has been collected. Does nothing, but lets a subclass see the references, e.g. to
+     * clear them as the garbage collector would.
+     *
+     * @param reference the reference to the object
+     */
+    protected void referenced(Reference<Object> reference) {
+    }
+
+    private static Object dereference(Object handle) {
+        return handle instanceof ObjectReference ? ((ObjectReference) handle).get() : handle;
+    }
+
+    // holds the object strongly if it's being loaded, and marks it as the most recently used
+    private void used(long id, Object object) {
+        if (collected != null && loads.get() > 0) {
+            held.add(object);
+        }
+        if (recentlyUsed != null) {
+            synchronized (recentlyUsed) {
+                recentlyUsed.use(id);
+            }
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    // evicts the least recently used objects if there are too many, unless objects are being loaded
+    private void evictLeastRecentlyUsed() {
+        long[] leastRecentlyUsed;
+        synchronized (recentlyUsed) {
+            if (loads.get() > 0 || recentlyUsed.size() <= retention.maxEntities()) {
+                return;
+            }
+            leastRecentlyUsed = new long[recentlyUsed.size() - retention.maxEntities()];
+            for (int i = 0; i < leastRecentlyUsed.length; i++) {
+                leastRecentlyUsed[i] = recentlyUsed.removeEldest();
+            }
+        }
+        Set<Long> evicted = new HashSet<>();
+        for (long id : leastRecentlyUsed) {
+            Object object = objectMap.get(id);
+            if (object != null && evict(id, object, object)) {
+                evicted.add(id);
+            }
+        }
+        forgetRelationships(evicted);
+    }
+
+    private void expungeCollected() {
+        if (collected == null) {
+            return;
+        }
+        Set<Long> evicted = null;
+        for (Reference<?> reference; (reference = collected.poll()) != null; ) {
+            long id = ((ObjectReference) reference).id();
+            if (evict(id, reference, null)) {
+                if (evicted == null) {
+                    evicted = new HashSet<>();
+                }
+                evicted.add(id);
+            }
+        }
+        if (evicted != null) {
+            forgetRelationships(evicted);
+        }
+    }
+
+    /**
+     * Forgets the object of the given id, unless it has been registered again since. The relationships registered
+     * from and to it are left to {@link #forgetRelationships(Set)}, so that those of many objects are forgotten at once.
+     *
+     * @param handle what the object map held for the object
+     * @param object the object, or <code>null</code> if it has been collected, in which case the memo has already
+     *        forgotten it
+     * @return <code>true</code> if the object was evicted
+     */
+    private boolean evict(long id, Object handle, Object object) {
+        if (!objectMap.remove(id, handle)) {
+            return false;
+        }
+        Set<Object> handles = typeMap.get(handle instanceof ObjectReference ? ((ObjectReference) handle).type() : handle.getClass());
+        if (handles != null) {
+            handles.remove(handle);
+        }
+        if (object != null) {
+            objectMemo.forget(object);
+        }
+        return true;
+    }
+
+    // forgets the relationships registered from and to the evicted objects of the given ids
+    private void forgetRelationships(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        synchronized (mappedRelationships) {
+            for (Long id : ids) {
+                mappedRelationships.removeRelationshipsFrom(id);
+            }
+            mappedRelationships.removeRelationshipsTo(ids);
+        }
+    }
+
+    /**
+     * A weak or soft reference to a mapped object, which remembers what is needed to evict the object once it has
+     * been collected.
+     */
+    private interface ObjectReference {
+
+        long id();
+
+        Class<?> type();
+
+        Object get();
+    }
+
+    private static final class WeakObjectReference extends WeakReference<Object> implements ObjectReference {
+
+        private final long id;
+        private final Class<?> type;
+
+        WeakObjectReference(Object object, long id, ReferenceQueue<Object> queue) {
+            super(object, queue);
+            this.id = id;
+            this.type = object.getClass();
+        }
+
+        @Override
+        public long id() {
+            return id;
+        }
+
+        @Override
+        public Class<?> type() {
+            return type;
+        }
+    }
+
+    private static final class SoftObjectReference extends SoftReference<Object> implements ObjectReference {
+
+        private final long id;
+        private final Class<?> type;
+
+        SoftObjectReference(Object object, long id, ReferenceQueue<Object> queue) {
+            super(object, queue);
+            this.id = id;
+            this.type = object.getClass();
+        }
+
+        @Override
+        public long id() {
+            return id;
+        }
+
+        @Override
+        public Class<?> type() {
+            return type;
+        }
+    }
+
+    /**
+     * The objects of one type, seen through the references to them. Until the references of collected objects have
+     * been expunged, the size of the set counts them too.
+     */
+    private static final class ReferencedObjects extends AbstractSet<Object> {
+
+        private final Set<Object> handles;
+
+        ReferencedObjects(Set<Object> handles) {
+            this.handles = handles;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            final Iterator<Object> iterator = handles.iterator();
+            return new Iterator<Object>() {
+
+                private Object next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && iterator.hasNext()) {
+                        next = dereference(iterator.next());
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Object next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Object object = next;
+                    next = null;
+                    return object;
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            for (Object handle : handles) {
+                if (dereference(handle) == object) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove(Object object) {
+            for (Iterator<Object> iterator = handles.iterator(); iterator.hasNext(); ) {
+                if (dereference(iterator.next()) == object) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return handles.size();
+        }
+
+        @Override
+        public void clear() {
+            handles.clear();
+        }
     }
 }
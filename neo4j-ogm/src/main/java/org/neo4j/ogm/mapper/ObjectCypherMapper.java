@@ -6,12 +6,16 @@ import org.neo4j.ogm.cypher.compiler.NodeBuilder;
 import org.neo4j.ogm.cypher.compiler.SingleStatementBuilder;
 import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
 import org.neo4j.ogm.entityaccess.ObjectAccessStrategy;
+import org.neo4j.ogm.entityaccess.LazyCollection;
 import org.neo4j.ogm.entityaccess.RelationalReader;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Implementation of {@link ObjectToCypherMapper} that is driven by an instance of {@link MetaData}.
  */
@@ -30,9 +34,20 @@ public class ObjectCypherMapper implements ObjectToCypherMapper {
      * @param mappingContext The {@link MappingContext} for the current session
      */
     public ObjectCypherMapper(MetaData metaData, MappingContext mappingContext) {
+        this(metaData, mappingContext, new DefaultObjectAccessStrategy());
+    }
+
+    /**
+     * Constructs a new {@link ObjectCypherMapper} that uses the given {@link MetaData} and {@link ObjectAccessStrategy}.
+     *
+     * @param metaData The {@link MetaData} containing the mapping information
+     * @param mappingContext The {@link MappingContext} for the current session
+     * @param objectAccessStrategy The {@link ObjectAccessStrategy} used to read the objects to persist
+     */
+    public ObjectCypherMapper(MetaData metaData, MappingContext mappingContext, ObjectAccessStrategy objectAccessStrategy) {
         this.metaData = metaData;
         this.mappingContext = mappingContext;
-        this.objectAccessStrategy = new DefaultObjectAccessStrategy();
+        this.objectAccessStrategy = objectAccessStrategy;
     }
 
 
@@ -46,9 +61,6 @@ public class ObjectCypherMapper implements ObjectToCypherMapper {
         CypherCompiler cypherBuilder = new SingleStatementBuilder();
         CypherContext context = new CypherContext();
 
-        // add all the relationships we know about:
-        context.registeredRelationships().addAll(mappingContext.mappedRelationships());
-
         deepMap(cypherBuilder, toPersist, context, horizon);
         deleteObsoleteRelationships(cypherBuilder, context);
         context.setStatements(cypherBuilder.getStatements());
@@ -62,13 +74,18 @@ public class ObjectCypherMapper implements ObjectToCypherMapper {
         return mapToCypher(toPersist, -1);
     }
 
+    // only the relationships of the nodes and types that were mapped again can have become obsolete
     private void deleteObsoleteRelationships(CypherCompiler cypherBuilder, CypherContext context) {
 
-        for (MappedRelationship rel : mappingContext.mappedRelationships()) {
-            logger.debug("delete-check relationship: (${})-[:{}]->(${})", rel.getStartNodeId(), rel.getRelationshipType(), rel.getEndNodeId());
-            if (!context.isRegisteredRelationship(rel)) {
-                logger.debug("not found! deleting: (${})-[:{}]->(${})", rel.getStartNodeId(), rel.getRelationshipType(), rel.getEndNodeId());
-                cypherBuilder.unrelate("$" + rel.getStartNodeId(), rel.getRelationshipType(), "$" + rel.getEndNodeId());
+        for (Map.Entry<Long, Set<String>> deregistered : context.deregisteredRelationships().entrySet()) {
+            for (String relationshipType : deregistered.getValue()) {
+                for (MappedRelationship rel : mappingContext.relationshipsFrom(deregistered.getKey(), relationshipType)) {
+                    logger.debug("delete-check relationship: (${})-[:{}]->(${})", rel.getStartNodeId(), rel.getRelationshipType(), rel.getEndNodeId());
+                    if (!context.isRegisteredRelationship(rel)) {
+                        logger.debug("not found! deleting: (${})-[:{}]->(${})", rel.getStartNodeId(), rel.getRelationshipType(), rel.getEndNodeId());
+                        cypherBuilder.unrelate("$" + rel.getStartNodeId(), rel.getRelationshipType(), "$" + rel.getEndNodeId());
+                    }
+                }
             }
         }
     }
@@ -87,13 +104,21 @@ public class ObjectCypherMapper implements ObjectToCypherMapper {
             return context.retrieveNodeBuilderForObject(toPersist);
         }
 
-        ClassInfo classInfo = metaData.classInfo(toPersist.getClass().getName());
+        ClassInfo classInfo = metaData.classInfo(toPersist.getClass());
         NodeBuilder nodeBuilder = getNodeBuilder(cypherBuilder, toPersist, context);
 
-        // don't give Neo4j more work to do than it needs
-        if (mappingContext.isDirty(toPersist)) {
+        // don't give Neo4j more work to do than it needs: only the properties that have changed are set
+        Set<String> changedProperties = mappingContext.changedProperties(toPersist);
+        if (changedProperties == null || !changedProperties.isEmpty()) {
             context.log(toPersist);
+            Object id = objectAccessStrategy.getIdentityPropertyReader(classInfo).read(toPersist);
+            if (id != null) {
+                context.logUpdatedNode(Long.valueOf(id.toString()));
+            }
             nodeBuilder.mapProperties(toPersist, classInfo, objectAccessStrategy);
+            if (changedProperties != null) {
+                nodeBuilder.retainProperties(changedProperties);
+            }
         }
 
         if (horizon != 0) {
@@ -112,7 +137,7 @@ public class ObjectCypherMapper implements ObjectToCypherMapper {
      */
     private NodeBuilder getNodeBuilder(CypherCompiler cypherBuilder, Object toPersist, CypherContext context) {
 
-        ClassInfo classInfo = metaData.classInfo(toPersist.getClass().getName());
+        ClassInfo classInfo = metaData.classInfo(toPersist.getClass());
         Object id = objectAccessStrategy.getIdentityPropertyReader(classInfo).read(toPersist);
 
         if (id == null) {
@@ -132,12 +157,15 @@ public class ObjectCypherMapper implements ObjectToCypherMapper {
 
         logger.debug("looking for related objects of: {}", toPersist);
 
-        ClassInfo classInfo = metaData.classInfo(toPersist.getClass().getName());
+        ClassInfo classInfo = metaData.classInfo(toPersist.getClass());
         Long sourceIdentity = (Long) objectAccessStrategy.getIdentityPropertyReader(classInfo).read(toPersist);
 
         for (RelationalReader objectAccessor : objectAccessStrategy.getRelationalReaders(classInfo)) {
 
             Object relatedObject = objectAccessor.read(toPersist);
+            if (relatedObject instanceof LazyCollection && !((LazyCollection) relatedObject).isLoaded()) {
+                continue; // nothing about these relationships is known, let alone changed
+            }
             String relationshipType = objectAccessor.relationshipType();
 
             // clear the relationship<s> in the current context for pre-existing objects
@@ -163,7 +191,7 @@ public class ObjectCypherMapper implements ObjectToCypherMapper {
 
         NodeBuilder target = deepMap(cypherBuilder, relatedObject, context, horizon);
 
-        ClassInfo targetInfo = metaData.classInfo(relatedObject.getClass().getName());
+        ClassInfo targetInfo = metaData.classInfo(relatedObject.getClass());
         Long targetIdentity = (Long) objectAccessStrategy.getIdentityPropertyReader(targetInfo).read(relatedObject);
 
         logger.debug("checking relationship history: ({}:{})-[:{}]->({}:{})", source.reference(), toPersist.getClass().getSimpleName(), relationshipType, target.reference(), relatedObject.getClass().getSimpleName());
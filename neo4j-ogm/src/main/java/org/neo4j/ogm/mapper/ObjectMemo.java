@@ -1,72 +1,145 @@
 package org.neo4j.ogm.mapper;
 
-import org.neo4j.ogm.entityaccess.FieldAccess;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.FieldInfo;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
 
-import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.util.*;
 
+/**
+ * Remembers the node properties of objects as they were last loaded from or saved to the database.
+ *
+ * Each object is remembered as a snapshot of its property values, taken in the order of the property fields of its
+ * class and in the form they are stored in the graph, so that the properties that have since changed can be told
+ * apart from those that haven't. Objects are told apart by identity, so their own <code>equals</code> and
+ * <code>hashCode</code> are never called.
+ */
 public class ObjectMemo {
 
-    private final Map<Object, Long> objectHash = new HashMap<>();
+    private final Map<Object, Object[]> snapshots;
 
-    // objects with no properties will always hash to this value.
-    private static final long seed = 0xDEADBEEF / (11 * 257);
+    public ObjectMemo() {
+        this(false);
+    }
 
     /**
-     * constructs a 64-bit hash of this object's node properties
-     * and maps the object to that hash. The object must not be null
-     * @param object the object whose persistable properties we want to hash
+     * @param weak whether objects are remembered only for as long as something else holds them
+     */
+    public ObjectMemo(boolean weak) {
+        this.snapshots = Collections.synchronizedMap(weak ? new WeakIdentityHashMap<Object, Object[]>() : new IdentityHashMap<Object, Object[]>());
+    }
+
+    /**
+     * takes a snapshot of this object's node properties
+     * and maps the object to that snapshot. The object must not be null
+     * @param object the object whose persistable properties we want to remember
      * @param classInfo metadata about the object
      */
     public void remember(Object object, ClassInfo classInfo) {
-        objectHash.put(object, hash(object, classInfo));
+        List<FieldInfo> fieldInfos = classInfo.descriptor().propertyFields();
+        Object[] snapshot = new Object[fieldInfos.size()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = copy(read(object, classInfo, fieldInfos.get(i)));
+        }
+        snapshots.put(object, snapshot);
     }
 
     /**
      * determines whether the specified has already
      * been memorised. The object must not be null. An object
-     * is regarded as memorised if its hash value in the memo hash
-     * is identical to a recalculation of its hash value.
+     * is regarded as memorised if none of its properties
+     * differ from the snapshot taken when it was remembered.
      *
      * @param object the object whose persistable properties we want to check
      * @param classInfo metadata about the object
      * @return true if the object hasn't changed since it was remembered, false otherwise
      */
     public boolean remembered(Object object, ClassInfo classInfo) {
-        return objectHash.containsKey(object) && hash(object, classInfo) == objectHash.get(object);
+        Set<String> changedProperties = changedProperties(object, classInfo);
+        return changedProperties != null && changedProperties.isEmpty();
+    }
+
+    /**
+     * compares the node properties of the specified object with the
+     * snapshot taken when it was remembered. The object must not be null
+     *
+     * @param object the object whose persistable properties we want to check
+     * @param classInfo metadata about the object
+     * @return the names of the properties that have changed since the object was remembered, or <code>null</code>
+     *         if it isn't remembered at all
+     */
+    public Set<String> changedProperties(Object object, ClassInfo classInfo) {
+        Object[] snapshot = snapshots.get(object);
+        if (snapshot == null) {
+            return null;
+        }
+        List<FieldInfo> fieldInfos = classInfo.descriptor().propertyFields();
+        Set<String> changedProperties = null;
+        for (int i = 0; i < snapshot.length; i++) {
+            FieldInfo fieldInfo = fieldInfos.get(i);
+            if (!same(read(object, classInfo, fieldInfo), snapshot[i])) {
+                if (changedProperties == null) {
+                    changedProperties = new HashSet<>();
+                }
+                changedProperties.add(fieldInfo.property());
+            }
+        }
+        return changedProperties != null ? changedProperties : Collections.<String>emptySet();
     }
 
     public void clear() {
-        objectHash.clear();
+        snapshots.clear();
     }
 
-    public boolean contains(Object o) {
-        return objectHash.containsKey(o);
+    /**
+     * forgets the snapshot of the given object, so that it is regarded as changed
+     * @param object the object to forget
+     */
+    public void forget(Object object) {
+        snapshots.remove(object);
     }
 
+    public boolean contains(Object o) {
+        return snapshots.containsKey(o);
+    }
 
-    private static long hash(Object object, ClassInfo classInfo) {
-        long hash = seed;
-        for (FieldInfo fieldInfo : classInfo.propertyFields()) {
-            Field field = classInfo.getField(fieldInfo);
-            Object value = FieldAccess.read(field, object);
-            if (value != null) {
-                hash = hash * 31L + hash(value.toString());
-            }
+    // the value of the property as it is stored in the graph
+    private static Object read(Object object, ClassInfo classInfo, FieldInfo fieldInfo) {
+        MethodHandle getter = classInfo.getFieldGetter(fieldInfo);
+        Object value;
+        try {
+            value = (Object) getter.invokeExact(object);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
         }
-        return hash;
+        PropertyConverter converter = classInfo.converter(fieldInfo);
+        return converter != null ? converter.toGraphProperty(value) : value;
     }
 
-    private static long hash(String string) {
-        long h = 1125899906842597L; // prime
-        int len = string.length();
+    // arrays and collections can change in place, so the snapshot holds copies of them
+    private static Object copy(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        if (value instanceof Collection) {
+            return new ArrayList<>((Collection<?>) value);
+        }
+        return value;
+    }
 
-        for (int i = 0; i < len; i++) {
-            h = 31*h + string.charAt(i);
+    private static boolean same(Object value, Object snapshot) {
+        if (value instanceof Collection && snapshot instanceof List) {
+            Collection<?> collection = (Collection<?>) value;
+            return collection.size() == ((List<?>) snapshot).size() && snapshot.equals(new ArrayList<>(collection));
         }
-        return h;
+        return Objects.deepEquals(value, snapshot);
     }
 }
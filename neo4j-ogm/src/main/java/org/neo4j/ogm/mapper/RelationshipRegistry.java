@@ -0,0 +1,350 @@
+package org.neo4j.ogm.mapper;
+
+import java.util.*;
+
+/**
+ * The relationships mapped from the database, indexed both by the whole triplet and by start node.
+ *
+ * Each relationship is an entry in parallel arrays of start node ids, type ids and end node ids, where the type ids
+ * refer to relationship types interned by the registry. Two open-addressing tables index the entries: one by triplet,
+ * which answers {@link #contains(long, String, long)} in constant time, and one by start node, which leads to the chain
+ * of relationships leaving that node in the order they were added. {@link MappedRelationship} objects are only made
+ * when the registry is iterated or asked for the relationships of a node.
+ *
+ * Like the list it replaces, the registry is not thread-safe.
+ */
+public class RelationshipRegistry extends AbstractCollection<MappedRelationship> {
+
+    private static final int INITIAL_CAPACITY = 16; // a power of two
+    private static final int NONE = -1;
+
+    private final Map<String, Integer> typeIds = new HashMap<>();
+    private final List<String> types = new ArrayList<>();
+
+    // the entries; a free entry has no type and is chained to the next free one
+    private long[] startNodeIds = new long[INITIAL_CAPACITY];
+    private int[] typeIdsOfEntries = new int[INITIAL_CAPACITY];
+    private long[] endNodeIds = new long[INITIAL_CAPACITY];
+    private int[] nextEntries = new int[INITIAL_CAPACITY]; // from the same start node
+    private int entries; // the number of entries ever used
+    private int freeEntry = NONE;
+    private int size;
+
+    // the indexes, whose slots hold an entry + 1, or 0 when empty
+    private int[] byTriplet = new int[INITIAL_CAPACITY * 2];
+    private int[] byStartNode = new int[INITIAL_CAPACITY * 2]; // the first entry of each chain
+    private int[] lastEntries = new int[INITIAL_CAPACITY * 2]; // the last entry of the chain in the same slot
+    private int startNodes;
+
+    /**
+     * Adds the given relationship, unless it's already registered.
+     *
+     * @param relationship the relationship
+     * @return <code>true</code> if the relationship was added
+     */
+    @Override
+    public boolean add(MappedRelationship relationship) {
+        long startNodeId = relationship.getStartNodeId();
+        long endNodeId = relationship.getEndNodeId();
+        int typeId = intern(relationship.getRelationshipType());
+        int tripletSlot = findTriplet(startNodeId, typeId, endNodeId);
+        if (byTriplet[tripletSlot] != 0) {
+            return false;
+        }
+
+        int entry = allocate();
+        startNodeIds[entry] = startNodeId;
+        typeIdsOfEntries[entry] = typeId;
+        endNodeIds[entry] = endNodeId;
+        nextEntries[entry] = NONE;
+        byTriplet[tripletSlot] = entry + 1;
+
+        int startSlot = findStartNode(startNodeId);
+        if (byStartNode[startSlot] == 0) {
+            byStartNode[startSlot] = entry + 1;
+            startNodes++;
+        } else {
+            nextEntries[lastEntries[startSlot] - 1] = entry;
+        }
+        lastEntries[startSlot] = entry + 1;
+
+        size++;
+        if (size * 2 > byTriplet.length || startNodes * 2 > byStartNode.length) {
+            rebuildIndexes(byTriplet.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @param startNodeId the id of the start node
+     * @param relationshipType the type of the relationship
+     * @param endNodeId the id of the end node
+     * @return <code>true</code> if the relationship is registered
+     */
+    public boolean contains(long startNodeId, String relationshipType, long endNodeId) {
+        Integer typeId = typeIds.get(relationshipType);
+        return typeId != null && byTriplet[findTriplet(startNodeId, typeId, endNodeId)] != 0;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof MappedRelationship)) {
+            return false;
+        }
+        MappedRelationship relationship = (MappedRelationship) object;
+        return contains(relationship.getStartNodeId(), relationship.getRelationshipType(), relationship.getEndNodeId());
+    }
+
+    /**
+     * @param startNodeId the id of the start node
+     * @param relationshipType the type of the relationships
+     * @return the registered relationships of the given type that leave the given node, in the order they were added
+     */
+    public List<MappedRelationship> relationshipsFrom(long startNodeId, String relationshipType) {
+        Integer typeId = typeIds.get(relationshipType);
+        int first = byStartNode[findStartNode(startNodeId)];
+        if (typeId == null || first == 0) {
+            return Collections.emptyList();
+        }
+        List<MappedRelationship> relationships = new ArrayList<>();
+        for (int entry = first - 1; entry != NONE; entry = nextEntries[entry]) {
+            if (typeIdsOfEntries[entry] == typeId) {
+                relationships.add(new MappedRelationship(startNodeId, relationshipType, endNodeIds[entry]));
+            }
+        }
+        return relationships;
+    }
+
+    /**
+     * Removes the registered relationships that leave the given node.
+     *
+     * @param startNodeId the id of the start node
+     */
+    public void removeRelationshipsFrom(long startNodeId) {
+        for (int first; (first = byStartNode[findStartNode(startNodeId)]) != 0; ) {
+            int entry = first - 1;
+            removeEntry(entry, findTriplet(startNodeId, typeIdsOfEntries[entry], endNodeIds[entry]));
+        }
+    }
+
+    /**
+     * Removes the registered relationships that lead to any of the given nodes. Relationships aren't indexed by end
+     * node, so this looks through all of them once.
+     *
+     * @param nodeIds the ids of the end nodes
+     */
+    public void removeRelationshipsTo(Set<Long> nodeIds) {
+        if (nodeIds.isEmpty()) {
+            return;
+        }
+        for (int entry = 0; entry < entries; entry++) {
+            if (typeIdsOfEntries[entry] != NONE && nodeIds.contains(endNodeIds[entry])) {
+                removeEntry(entry, findTriplet(startNodeIds[entry], typeIdsOfEntries[entry], endNodeIds[entry]));
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof MappedRelationship)) {
+            return false;
+        }
+        MappedRelationship relationship = (MappedRelationship) object;
+        Integer typeId = typeIds.get(relationship.getRelationshipType());
+        if (typeId == null) {
+            return false;
+        }
+        int tripletSlot = findTriplet(relationship.getStartNodeId(), typeId, relationship.getEndNodeId());
+        if (byTriplet[tripletSlot] == 0) {
+            return false;
+        }
+        removeEntry(byTriplet[tripletSlot] - 1, tripletSlot);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(byTriplet, 0);
+        Arrays.fill(byStartNode, 0);
+        entries = 0;
+        freeEntry = NONE;
+        size = 0;
+        startNodes = 0;
+    }
+
+    @Override
+    public Iterator<MappedRelationship> iterator() {
+        return new Iterator<MappedRelationship>() {
+
+            private int entry = advance(0);
+            private int last = NONE;
+
+            private int advance(int from) {
+                while (from < entries && typeIdsOfEntries[from] == NONE) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return entry < entries;
+            }
+
+            @Override
+            public MappedRelationship next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = entry;
+                entry = advance(entry + 1);
+                return relationship(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last == NONE) {
+                    throw new IllegalStateException();
+                }
+                RelationshipRegistry.this.remove(relationship(last));
+                last = NONE;
+            }
+        };
+    }
+
+    private MappedRelationship relationship(int entry) {
+        return new MappedRelationship(startNodeIds[entry], types.get(typeIdsOfEntries[entry]), endNodeIds[entry]);
+    }
+
+    private int intern(String relationshipType) {
+        Integer typeId = typeIds.get(relationshipType);
+        if (typeId == null) {
+            typeId = types.size();
+            typeIds.put(relationshipType, typeId);
+            types.add(relationshipType);
+        }
+        return typeId;
+    }
+
+    private int allocate() {
+        if (freeEntry != NONE) {
+            int entry = freeEntry;
+            freeEntry = nextEntries[entry];
+            return entry;
+        }
+        if (entries == startNodeIds.length) {
+            int capacity = entries * 2;
+            startNodeIds = Arrays.copyOf(startNodeIds, capacity);
+            typeIdsOfEntries = Arrays.copyOf(typeIdsOfEntries, capacity);
+            endNodeIds = Arrays.copyOf(endNodeIds, capacity);
+            nextEntries = Arrays.copyOf(nextEntries, capacity);
+        }
+        return entries++;
+    }
+
+    private void removeEntry(int entry, int tripletSlot) {
+        long startNodeId = startNodeIds[entry];
+        deleteSlot(byTriplet, null, tripletSlot, false);
+
+        // unlink the entry from the chain of its start node
+        int startSlot = findStartNode(startNodeId);
+        int previous = NONE;
+        for (int current = byStartNode[startSlot] - 1; current != entry; current = nextEntries[current]) {
+            previous = current;
+        }
+        if (previous == NONE) {
+            if (nextEntries[entry] == NONE) {
+                deleteSlot(byStartNode, lastEntries, startSlot, true);
+                startNodes--;
+            } else {
+                byStartNode[startSlot] = nextEntries[entry] + 1;
+            }
+        } else {
+            nextEntries[previous] = nextEntries[entry];
+            if (lastEntries[startSlot] == entry + 1) {
+                lastEntries[startSlot] = previous + 1;
+            }
+        }
+
+        typeIdsOfEntries[entry] = NONE;
+        nextEntries[entry] = freeEntry;
+        freeEntry = entry;
+        size--;
+    }
+
+    // the slot holding the given triplet, or else the empty slot where it belongs
+    private int findTriplet(long startNodeId, int typeId, long endNodeId) {
+        int mask = byTriplet.length - 1;
+        for (int i = hash(startNodeId, typeId, endNodeId) & mask; ; i = (i + 1) & mask) {
+            int entry = byTriplet[i] - 1;
+            if (entry < 0 || (startNodeIds[entry] == startNodeId && typeIdsOfEntries[entry] == typeId && endNodeIds[entry] == endNodeId)) {
+                return i;
+            }
+        }
+    }
+
+    // the slot holding the chain of the given start node, or else the empty slot where it belongs
+    private int findStartNode(long startNodeId) {
+        int mask = byStartNode.length - 1;
+        for (int i = hash(startNodeId, 0, 0) & mask; ; i = (i + 1) & mask) {
+            int entry = byStartNode[i] - 1;
+            if (entry < 0 || startNodeIds[entry] == startNodeId) {
+                return i;
+            }
+        }
+    }
+
+    private int home(int entry, boolean byStart) {
+        return byStart ? hash(startNodeIds[entry], 0, 0) : hash(startNodeIds[entry], typeIdsOfEntries[entry], endNodeIds[entry]);
+    }
+
+    // empties the given slot, moving back the slots after it that would otherwise no longer be found
+    private void deleteSlot(int[] index, int[] parallel, int slot, boolean byStart) {
+        int mask = index.length - 1;
+        int i = slot;
+        for (int j = (i + 1) & mask; index[j] != 0; j = (j + 1) & mask) {
+            int home = home(index[j] - 1, byStart) & mask;
+            if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+                index[i] = index[j];
+                if (parallel != null) {
+                    parallel[i] = parallel[j];
+                }
+                i = j;
+            }
+        }
+        index[i] = 0;
+    }
+
+    private void rebuildIndexes(int capacity) {
+        int[] oldByStartNode = byStartNode;
+        int[] oldLastEntries = lastEntries;
+        byTriplet = new int[capacity];
+        byStartNode = new int[capacity];
+        lastEntries = new int[capacity];
+        for (int entry = 0; entry < entries; entry++) {
+            if (typeIdsOfEntries[entry] != NONE) {
+                byTriplet[findTriplet(startNodeIds[entry], typeIdsOfEntries[entry], endNodeIds[entry])] = entry + 1;
+            }
+        }
+        for (int i = 0; i < oldByStartNode.length; i++) {
+            if (oldByStartNode[i] != 0) {
+                int slot = findStartNode(startNodeIds[oldByStartNode[i] - 1]);
+                byStartNode[slot] = oldByStartNode[i];
+                lastEntries[slot] = oldLastEntries[i];
+            }
+        }
+    }
+
+    private static int hash(long startNodeId, int typeId, long endNodeId) {
+        long hash = (startNodeId * 0x9e3779b97f4a7c15L + endNodeId) * 0x9e3779b97f4a7c15L + typeId;
+        hash ^= hash >>> 32;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return (int) (hash ^ (hash >>> 29));
+    }
+
+}
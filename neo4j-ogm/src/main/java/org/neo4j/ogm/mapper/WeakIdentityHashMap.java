@@ -0,0 +1,149 @@
+package org.neo4j.ogm.mapper;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * A map that tells its keys apart by identity, like {@link IdentityHashMap}, and holds them weakly, like
+ * {@link WeakHashMap}: an entry goes once its key has been collected.
+ *
+ * Not thread-safe, and null keys aren't allowed.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class WeakIdentityHashMap<K, V> extends AbstractMap<K, V> {
+
+    private final Map<Key, V> map = new HashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    @Override
+    public V get(Object key) {
+        expungeCollected();
+        return key == null ? null : map.get(new Key(key, null));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        expungeCollected();
+        return key != null && map.containsKey(new Key(key, null));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        expungeCollected();
+        return map.put(new Key(key, collected), value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        expungeCollected();
+        return key == null ? null : map.remove(new Key(key, null));
+    }
+
+    @Override
+    public int size() {
+        expungeCollected();
+        return map.size();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+        while (collected.poll() != null) {
+            // the entries are gone already
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        expungeCollected();
+        return new AbstractSet<Entry<K, V>>() {
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                final Iterator<Entry<Key, V>> iterator = map.entrySet().iterator();
+                return new Iterator<Entry<K, V>>() {
+
+                    private Entry<K, V> next;
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public boolean hasNext() {
+                        while (next == null && iterator.hasNext()) {
+                            Entry<Key, V> entry = iterator.next();
+                            K key = (K) entry.getKey().get();
+                            if (key != null) {
+                                next = new SimpleEntry<>(key, entry.getValue());
+                            }
+                        }
+                        return next != null;
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<K, V> entry = next;
+                        next = null;
+                        return entry;
+                    }
+
+                    @Override
+                    public void remove() {
+                        iterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+
+    private void expungeCollected() {
+        for (Reference<?> key; (key = collected.poll()) != null; ) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * A weak reference to a key, equal to the references to the same key. A reference whose key has been collected is
+     * only equal to itself.
+     */
+    private static final class Key extends WeakReference<Object> {
+
+        private final int hash;
+
+        Key(Object key, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Object key = get();
+            return key != null && key == ((Key) other).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
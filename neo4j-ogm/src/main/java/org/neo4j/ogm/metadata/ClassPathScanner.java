@@ -1,63 +1,307 @@
 package org.neo4j.ogm.metadata;
 
+import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.ClassInfoProcessor;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+/**
+ * Finds the class files in the requested packages and hands a parsed {@link ClassInfo} for each of them to a
+ * {@link ClassInfoProcessor}.
+ *
+ * The packages are first looked up as resources of the context class loader, so that only the folders and jar
+ * entries that actually belong to the requested packages are read. This also works where <code>java.class.path</code>
+ * doesn't describe the application, e.g. in fat-jar and container layouts. If any of the packages can't be resolved
+ * that way (for instance because a jar has no directory entries), the whole of <code>java.class.path</code> is walked instead.
+ * A package that is resolved, but is also split into a jar without directory entries, isn't found in that jar as a
+ * resource: the other jars on <code>java.class.path</code> are therefore checked for classes of the packages too.
+ * Such jars known to the context class loader only, and not on <code>java.class.path</code>, are missed.
+ *
+ * When constructed with a parallelism greater than one, every root (and every sub-folder of a folder root) is
+ * scanned and parsed as a separate task in a fork-join pool. The parsed classes are always handed to the processor
+ * on the calling thread, in order, so the processor does not need to be thread-safe and sees exactly the same
+ * sequence of classes as it would in a sequential scan.
+ */
 public class ClassPathScanner {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassPathScanner.class);
+
+    private static final int SCAN_FOLDERS = 1;
+    private static final int SCAN_FILES = 2;
+
+    private final int parallelism;
+
     private List<String> classPaths;
-    private ClassInfoProcessor processor;
 
-    private void scanFile(File file, String relativePath) throws IOException {
-        if (relativePath.endsWith(".class")) {
-            try (InputStream inputStream = new FileInputStream(file)) {
-                processor.process(inputStream);
+    public ClassPathScanner() {
+        this(1);
+    }
+
+    /**
+     * @param parallelism the number of threads to scan the classpath with. A value of 1 (or less) scans on the calling thread.
+     */
+    public ClassPathScanner(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void scan(List<String> classPaths, ClassInfoProcessor processor) {
+
+        this.classPaths = classPaths;
+
+        List<Root> roots = packageRoots();
+        if (roots == null) {
+            roots = classPathRoots();
+        }
+
+        try {
+            if (parallelism > 1 && roots.size() > 1) {
+                scanInParallel(roots, processor);
+            } else {
+                for (Root root : roots) {
+                    for (ClassInfo classInfo : scanRoot(root)) {
+                        processor.process(classInfo);
+                    }
+                }
+            }
+            processor.finish();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            for (Root root : roots) {
+                root.close();
             }
         }
     }
 
-    private void scanFolder(File folder, int prefixSize) throws IOException {
+    private void scanInParallel(List<Root> roots, ClassInfoProcessor processor) {
 
-        String absolutePath = folder.getPath();
-        String relativePath = prefixSize > absolutePath.length() ? "" : absolutePath.substring(prefixSize);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<RootTask> tasks = new ArrayList<>(roots.size());
+            for (Root root : roots) {
+                RootTask task = new RootTask(root);
+                pool.execute(task);
+                tasks.add(task);
+            }
+            // merge in order, on this thread
+            for (RootTask task : tasks) {
+                for (ClassInfo classInfo : task.join()) {
+                    processor.process(classInfo);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
 
-        boolean scanFolders = false, scanFiles = false;
+    /**
+     * Resolves the requested packages to folders and jars through the context class loader.
+     *
+     * @return the roots to scan, or <code>null</code> if any of the packages could not be resolved
+     */
+    private List<Root> packageRoots() {
 
-        // TODO: use filter pattern
-        for (String pathToScan : classPaths) {
-            if (relativePath.startsWith(pathToScan) || (relativePath.length() == pathToScan.length() - 1 && pathToScan.startsWith(relativePath))) {
-                scanFolders = scanFiles = true;
-                break;
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassPathScanner.class.getClassLoader();
+        }
+
+        List<Root> roots = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        try {
+            for (String classPath : classPaths) {
+                String resourcePath = classPath.replace(File.separatorChar, '/');
+                while (resourcePath.endsWith("/")) {
+                    resourcePath = resourcePath.substring(0, resourcePath.length() - 1);
+                }
+                Enumeration<URL> urls = classLoader.getResources(resourcePath);
+                if (!urls.hasMoreElements()) {
+                    LOGGER.debug("Package {} not found as a resource, scanning the classpath", resourcePath);
+                    closeAll(roots);
+                    return null;
+                }
+                while (urls.hasMoreElements()) {
+                    URL url = urls.nextElement();
+                    if ("file".equals(url.getProtocol())) {
+                        File folder = new File(url.toURI());
+                        if (seen.add(folder.getPath())) {
+                            roots.add(new Root(folder, folder.getPath().length() - resourcePath.length()));
+                        }
+                    } else {
+                        URLConnection connection = url.openConnection();
+                        if (!(connection instanceof JarURLConnection)) {
+                            LOGGER.debug("Cannot scan {}, scanning the classpath", url);
+                            closeAll(roots);
+                            return null;
+                        }
+                        JarURLConnection jarConnection = (JarURLConnection) connection;
+                        // every entry of the jar matching any requested package is read, so each jar is scanned once
+                        if (seen.add(jarPath(jarConnection.getJarFileURL()))) {
+                            jarConnection.setUseCaches(false);
+                            roots.add(new Root(jarConnection.getJarFile()));
+                        }
+                    }
+                }
             }
-            if (pathToScan.startsWith(relativePath)) {
-                scanFolders = true;
+            addJarsWithoutDirectoryEntries(roots, seen);
+        } catch (IOException | URISyntaxException e) {
+            LOGGER.debug("Unable to resolve packages as resources, scanning the classpath", e);
+            closeAll(roots);
+            return null;
+        }
+        return withoutNestedFolders(roots);
+    }
+
+    private static String jarPath(URL jarFileUrl) throws IOException, URISyntaxException {
+        return "file".equals(jarFileUrl.getProtocol()) ? new File(jarFileUrl.toURI()).getCanonicalPath() : jarFileUrl.toString();
+    }
+
+    // a jar without directory entries holds packages that aren't resources, so the jars of java.class.path that
+    // weren't found are looked through for classes of the requested packages
+    private void addJarsWithoutDirectoryEntries(List<Root> roots, Set<String> seen) throws IOException {
+        for (File classPathElement : ClassUtils.getUniqueClasspathElements()) {
+            if (!classPathElement.isFile() || !seen.add(classPathElement.getCanonicalPath())) {
+                continue;
+            }
+            JarFile jarFile;
+            try {
+                jarFile = new JarFile(classPathElement);
+            } catch (IOException e) {
+                LOGGER.debug("Cannot read {}, skipping it", classPathElement, e);
+                continue;
+            }
+            if (holdsRequestedClasses(jarFile)) {
+                roots.add(new Root(jarFile));
+            } else {
+                try {
+                    jarFile.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Cannot close {}", classPathElement, e);
+                }
+            }
+        }
+    }
+
+    private boolean holdsRequestedClasses(ZipFile zipFile) {
+        for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+            String path = entries.nextElement().getName();
+            if (path.endsWith(".class")) {
+                for (String classPath : classPaths) {
+                    String packagePath = classPath.replace(File.separatorChar, '/');
+                    if (path.startsWith(packagePath.endsWith("/") ? packagePath : packagePath + "/")) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<Root> classPathRoots() {
+        List<Root> roots = new ArrayList<>();
+        for (File classPathElement : ClassUtils.getUniqueClasspathElements()) {
+            if (classPathElement.isDirectory()) {
+                roots.add(new Root(classPathElement, classPathElement.getPath().length() + 1));
+            } else if (classPathElement.isFile()) {
+                roots.add(new Root(classPathElement));
+            }
+        }
+        return roots;
+    }
+
+    // overlapping packages (e.g. a.b and a.b.c) resolve to nested folders, which only need to be scanned once
+    private static List<Root> withoutNestedFolders(List<Root> roots) {
+        List<Root> outermost = new ArrayList<>(roots.size());
+        for (Root root : roots) {
+            boolean nested = false;
+            if (root.folder != null) {
+                for (Root other : roots) {
+                    if (other != root && other.folder != null && root.folder.getPath().startsWith(other.folder.getPath() + File.separator)) {
+                        nested = true;
+                        break;
+                    }
+                }
+            }
+            if (!nested) {
+                outermost.add(root);
+            }
+        }
+        return outermost;
+    }
+
+    private static void closeAll(List<Root> roots) {
+        for (Root root : roots) {
+            root.close();
+        }
+    }
+
+    private List<ClassInfo> scanRoot(Root root) throws IOException {
+        List<ClassInfo> classInfos = new ArrayList<>();
+        if (root.folder != null) {
+            scanFolder(root.folder, root.prefixSize, classInfos);
+        } else if (root.jarFile != null) {
+            scanZipFile(root.jarFile, classInfos);
+        } else {
+            String pathLower = root.file.getPath().toLowerCase();
+            if (pathLower.endsWith(".jar") || pathLower.endsWith(".zip")) {
+                try (ZipFile zipFile = new ZipFile(root.file)) {
+                    scanZipFile(zipFile, classInfos);
+                }
+            } else {
+                scanFile(root.file, root.file.getName(), classInfos);
             }
         }
+        return classInfos;
+    }
+
+    private void scanFile(File file, String relativePath, List<ClassInfo> classInfos) throws IOException {
+        if (relativePath.endsWith(".class")) {
+            add(classInfos, new ClassInfo(Files.readAllBytes(file.toPath())));
+        }
+    }
+
+    private void scanFolder(File folder, int prefixSize, List<ClassInfo> classInfos) throws IOException {
 
-        if (scanFolders || scanFiles) {
+        String relativePath = relativePath(folder, prefixSize);
+        int match = match(relativePath);
+
+        if (match != 0) {
             File[] subFiles = folder.listFiles();
             if (subFiles != null) {
                 for (final File subFile : subFiles) {
                     if (subFile.isDirectory()) {
-                        scanFolder(subFile, prefixSize);
-                    } else if (scanFiles && subFile.isFile()) {
-                        String leafSuffix = "/" + subFile.getName();
-                        scanFile(subFile, relativePath + leafSuffix);
+                        scanFolder(subFile, prefixSize, classInfos);
+                    } else if ((match & SCAN_FILES) != 0 && subFile.isFile()) {
+                        scanFile(subFile, relativePath + "/" + subFile.getName(), classInfos);
                     }
                 }
             }
         }
     }
 
-    private void scanZipFile(final ZipFile zipFile) throws IOException {
+    private void scanZipFile(final ZipFile zipFile, List<ClassInfo> classInfos) throws IOException {
 
         for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
             final ZipEntry entry = entries.nextElement();
@@ -71,37 +315,175 @@ public class ClassPathScanner {
                     }
                 }
                 if (scanFile && path.endsWith(".class")) {
-                    try (InputStream inputStream = zipFile.getInputStream(entry)) {
-                        processor.process(inputStream);
-                    }
+                    add(classInfos, new ClassInfo(read(zipFile, entry)));
                 }
             }
         }
     }
 
-    public void scan(List<String> classPaths, ClassInfoProcessor processor) {
+    // classes rejected while parsing have no name, and are of no interest to the processor
+    private static void add(List<ClassInfo> classInfos, ClassInfo classInfo) {
+        if (classInfo.name() != null) {
+            classInfos.add(classInfo);
+        }
+    }
 
-        this.classPaths = classPaths;
-        this.processor = processor;
+    private static byte[] read(ZipFile zipFile, ZipEntry entry) throws IOException {
+        long size = entry.getSize();
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            if (size < 0 || size > Integer.MAX_VALUE) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream(4096);
+                byte[] buffer = new byte[4096];
+                for (int read; (read = inputStream.read(buffer)) != -1; ) {
+                    outputStream.write(buffer, 0, read);
+                }
+                return outputStream.toByteArray();
+            }
+            byte[] bytes = new byte[(int) size];
+            new DataInputStream(inputStream).readFully(bytes);
+            return bytes;
+        }
+    }
 
-        try {
-            for (File classPathElement : ClassUtils.getUniqueClasspathElements()) {
-                String path = classPathElement.getPath();
-                if (classPathElement.isDirectory()) {
-                    scanFolder(classPathElement, path.length() + 1);
-                } else if (classPathElement.isFile()) {
-                    String pathLower = path.toLowerCase();
-                    if (pathLower.endsWith(".jar") || pathLower.endsWith(".zip")) {
-                        scanZipFile(new ZipFile(classPathElement));
-                    } else {
-                        scanFile(classPathElement, classPathElement.getName());
+    private static String relativePath(File folder, int prefixSize) {
+        String absolutePath = folder.getPath();
+        return prefixSize > absolutePath.length() ? "" : absolutePath.substring(prefixSize);
+    }
+
+    // determines whether the sub-folders and/or the files of the given folder are candidates for scanning
+    private int match(String relativePath) {
+        int match = 0;
+        // TODO: use filter pattern
+        for (String pathToScan : classPaths) {
+            if (relativePath.startsWith(pathToScan) || (relativePath.length() == pathToScan.length() - 1 && pathToScan.startsWith(relativePath))) {
+                return SCAN_FOLDERS | SCAN_FILES;
+            }
+            if (pathToScan.startsWith(relativePath)) {
+                match = SCAN_FOLDERS;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Scans a single root. Folders are split further, one sub-task per sub-folder.
+     */
+    private class RootTask extends RecursiveTask<List<ClassInfo>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Root root;
+
+        RootTask(Root root) {
+            this.root = root;
+        }
+
+        @Override
+        protected List<ClassInfo> compute() {
+            try {
+                if (root.folder != null) {
+                    return new FolderTask(root.folder, root.prefixSize).compute();
+                }
+                return scanRoot(root);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private class FolderTask extends RecursiveTask<List<ClassInfo>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final File folder;
+        private final int prefixSize;
+
+        FolderTask(File folder, int prefixSize) {
+            this.folder = folder;
+            this.prefixSize = prefixSize;
+        }
+
+        @Override
+        protected List<ClassInfo> compute() {
+
+            List<ClassInfo> classInfos = new ArrayList<>();
+
+            String relativePath = relativePath(folder, prefixSize);
+            int match = match(relativePath);
+
+            if (match != 0) {
+                File[] subFiles = folder.listFiles();
+                if (subFiles != null) {
+                    // parsed classes and forked sub-folder tasks, kept in folder order
+                    List<Object> parts = new ArrayList<>(subFiles.length);
+                    try {
+                        for (final File subFile : subFiles) {
+                            if (subFile.isDirectory()) {
+                                FolderTask subTask = new FolderTask(subFile, prefixSize);
+                                subTask.fork();
+                                parts.add(subTask);
+                            } else if ((match & SCAN_FILES) != 0 && subFile.isFile()) {
+                                List<ClassInfo> found = new ArrayList<>(1);
+                                scanFile(subFile, relativePath + "/" + subFile.getName(), found);
+                                parts.addAll(found);
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                    for (Object part : parts) {
+                        if (part instanceof FolderTask) {
+                            classInfos.addAll(((FolderTask) part).join());
+                        } else {
+                            classInfos.add((ClassInfo) part);
+                        }
                     }
                 }
             }
-            processor.finish();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            return classInfos;
         }
     }
 
+    /**
+     * A folder, archive or jar to look for classes in. A folder's prefix size is the length of the part of its
+     * path that precedes the package folders.
+     */
+    private static class Root {
+
+        private final File folder;
+        private final int prefixSize;
+        private final File file;
+        private final JarFile jarFile;
+
+        Root(File folder, int prefixSize) {
+            this.folder = folder;
+            this.prefixSize = prefixSize;
+            this.file = null;
+            this.jarFile = null;
+        }
+
+        Root(File file) {
+            this.folder = null;
+            this.prefixSize = 0;
+            this.file = file;
+            this.jarFile = null;
+        }
+
+        Root(JarFile jarFile) {
+            this.folder = null;
+            this.prefixSize = 0;
+            this.file = null;
+            this.jarFile = jarFile;
+        }
+
+        void close() {
+            if (jarFile != null) {
+                try {
+                    jarFile.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Unable to close " + jarFile.getName(), e);
+                }
+            }
+        }
+    }
 }
@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public abstract class ClassUtils {
 
@@ -20,10 +22,23 @@ public abstract class ClassUtils {
         put("S", Short.TYPE);
     }};
 
+    private static final ConcurrentMap<String, Class<?>> descriptorTypes = new ConcurrentHashMap<>();
+
     /**
      * Return the reified class for the parameter of a JavaBean setter from the setter signature
      */
     public static Class<?> getType(String descriptor) {
+        Class<?> type = descriptorTypes.get(descriptor);
+        if (type == null) {
+            type = resolveType(descriptor);
+            if (type != null) {
+                descriptorTypes.putIfAbsent(descriptor, type);
+            }
+        }
+        return type;
+    }
+
+    private static Class<?> resolveType(String descriptor) {
 
         int p = descriptor.indexOf("(");
         int q = descriptor.indexOf(")");
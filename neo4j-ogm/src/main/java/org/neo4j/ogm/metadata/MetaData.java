@@ -1,7 +1,5 @@
 package org.neo4j.ogm.metadata;
 
-import org.neo4j.ogm.annotation.NodeEntity;
-import org.neo4j.ogm.metadata.info.AnnotationInfo;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.DomainInfo;
 import org.slf4j.Logger;
@@ -11,6 +9,8 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class MetaData {
 
@@ -18,10 +18,32 @@ public class MetaData {
 
     private final DomainInfo domainInfo;
 
+    // the base class resolved for each set of taxa seen so far, shared by all sessions
+    private final ConcurrentMap<Taxa, ClassInfo> resolvedTaxa = new ConcurrentHashMap<>();
+
+    private volatile boolean constructorBypass;
+
     public MetaData(String... packages) {
         domainInfo = new DomainInfo(packages);
     }
 
+    /**
+     * @return whether classes without a public no-arg constructor may be instantiated without running a constructor
+     */
+    public boolean isConstructorBypass() {
+        return constructorBypass;
+    }
+
+    /**
+     * Allows classes that don't have a public no-arg constructor to be hydrated anyway, by creating their instances
+     * without running any constructor. Off by default, because field initialisers and constructor logic are skipped.
+     *
+     * @param constructorBypass <code>true</code> to allow instances to be created without a constructor
+     */
+    public void setConstructorBypass(boolean constructorBypass) {
+        this.constructorBypass = constructorBypass;
+    }
+
     /**
      * Finds the ClassInfo for the supplied partial class name or label
      *
@@ -29,20 +51,26 @@ public class MetaData {
      * @return A ClassInfo matching the supplied name, or null if it doesn't exist
      */
     public ClassInfo classInfo(String name) {
-        String annotation = NodeEntity.class.getName();
-        List<ClassInfo> labelledClasses = domainInfo.getClassInfosWithAnnotation(annotation);
-        if (labelledClasses != null) {
-            for (ClassInfo labelledClass : labelledClasses) {
-                AnnotationInfo annotationInfo = labelledClass.annotationsInfo().get(annotation);
-                String value = annotationInfo.get("label", labelledClass.name());
-                if (value.equals(name)) {
-                    return labelledClass;
-                }
-            }
+        ClassInfo classInfo = domainInfo.getClassInfoForLabel(name);
+        if (classInfo != null) {
+            return classInfo;
         }
         return domainInfo.getClassSimpleName(name);
     }
 
+    /**
+     * Finds the ClassInfo for the supplied type
+     *
+     * @param type the class we want to find
+     * @return A ClassInfo for the type, or null if it isn't part of the domain
+     */
+    public ClassInfo classInfo(Class<?> type) {
+        ClassInfo classInfo = domainInfo.getClass(type.getName());
+        if (classInfo != null) {
+            return classInfo;
+        }
+        return classInfo(type.getName());
+    }
 
     /**
      * Given an set of fully qualified names that are possibly within a type hierarchy
@@ -52,6 +80,18 @@ public class MetaData {
      * @return The ClassInfo representing the base class among the taxa
      */
     public ClassInfo resolve(String... taxa) {
+        ClassInfo classInfo = resolvedTaxa.get(new Taxa(taxa));
+        if (classInfo == null) {
+            classInfo = resolveTaxa(taxa);
+            if (classInfo != null) {
+                // copy the taxa: the caller's array may be reused
+                resolvedTaxa.putIfAbsent(new Taxa(taxa.clone()), classInfo);
+            }
+        }
+        return classInfo;
+    }
+
+    private ClassInfo resolveTaxa(String... taxa) {
         if (taxa.length > 0) {
             Set<ClassInfo> baseClasses = new HashSet<>();
             for (String taxon : taxa) {
@@ -87,5 +127,27 @@ public class MetaData {
 
     }
 
+    /**
+     * An ordered set of taxa, usable as a hash key.
+     */
+    private static final class Taxa {
 
+        private final String[] taxa;
+        private final int hash;
+
+        Taxa(String[] taxa) {
+            this.taxa = taxa;
+            this.hash = Arrays.hashCode(taxa);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Taxa && hash == ((Taxa) o).hash && Arrays.equals(taxa, ((Taxa) o).taxa));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
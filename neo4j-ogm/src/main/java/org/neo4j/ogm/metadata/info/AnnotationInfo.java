@@ -24,6 +24,10 @@ public class AnnotationInfo {
         elements.put(key, value);
     }
 
+    Map<String, String> elements() {
+        return elements;
+    }
+
     public String get(String key, String defaultValue) {
         if (elements.get(key) == null) {
             put(key, defaultValue);
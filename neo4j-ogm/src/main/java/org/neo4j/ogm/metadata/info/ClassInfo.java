@@ -1,19 +1,24 @@
 package org.neo4j.ogm.metadata.info;
 
-import org.neo4j.ogm.annotation.GraphId;
 import org.neo4j.ogm.annotation.NodeEntity;
-import org.neo4j.ogm.annotation.Property;
-import org.neo4j.ogm.annotation.Relationship;
+import org.neo4j.ogm.entityaccess.EntityMapper;
 import org.neo4j.ogm.metadata.MappingException;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Maintains object to graph mapping details at the class (type) level
@@ -34,6 +39,21 @@ import java.util.*;
  */
 public class ClassInfo {
 
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_SYNTHETIC = 0x1000;
+    private static final int ACC_MODULE = 0x8000;
+
+    // the direct superclasses of classes that can't be entities
+    private static final Set<String> NON_ENTITY_SUPERCLASSES = new HashSet<>(Arrays.asList(
+            "java/lang/Enum", "java/lang/Throwable", "java/lang/Exception", "java/lang/RuntimeException", "java/lang/Error"));
+    private static final String ENTITY_MAPPER = EntityMapper.class.getName().replace('.', '/');
+    private static final String NODE_ENTITY = "L" + NodeEntity.CLASS.replace('.', '/') + ";";
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
     private String className;
     private int majorVersion;
     private int minorVersion;
@@ -52,30 +72,73 @@ public class ClassInfo {
     private final HashSet<InterfaceInfo> interfaces = new HashSet<>();
     private InterfacesInfo interfacesInfo = new InterfacesInfo();
 
+    private volatile EntityDescriptor descriptor;
+
+    // reflective handles, resolved on first use and shared by all sessions
+    private volatile ClassLoader classLoader; // that of the domain, once the class has been loaded into one
+    private volatile Class<?> cls;
+    private final ConcurrentMap<String, Field> fieldCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MethodKey, Method> methodCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MethodHandle> fieldGetterCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MethodHandle> fieldSetterCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MethodKey, MethodHandle> methodHandleCache = new ConcurrentHashMap<>();
+    private volatile MethodHandle constructor;
+    private volatile boolean constructorResolved;
+    private volatile MethodHandle allocator;
+
     // todo move this to a factory class
     public ClassInfo(InputStream inputStream) throws IOException {
+        this(readFully(inputStream));
+    }
 
-        DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream, 1024));
+    /**
+     * Parses a class file held in memory. Synthetic classes, package and module descriptors are of no interest to
+     * the domain and are rejected (leaving the name <code>null</code>) as soon as their access flags and name have
+     * been read, and only the name of an interface is read. Other classes are rejected from their header, before
+     * their members are built, if they can't be entities: see {@link #mayBeEntity(byte[], ConstantPool, String)}.
+     *
+     * @param bytes the contents of the class file
+     */
+    public ClassInfo(byte[] bytes) throws IOException {
 
         // Magic
-        if (dataInputStream.readInt() != 0xCAFEBABE) {
+        if (bytes.length < 10 || readInt(bytes, 0) != 0xCAFEBABE) {
             return;
         }
 
-        minorVersion = dataInputStream.readUnsignedShort();    //minor version
-        majorVersion = dataInputStream.readUnsignedShort();    // major version
+        minorVersion = readUnsignedShort(bytes, 4);    //minor version
+        majorVersion = readUnsignedShort(bytes, 6);    // major version
 
-        ConstantPool constantPool = new ConstantPool(dataInputStream);
+        ConstantPool constantPool = new ConstantPool(bytes, 8);
+
+        DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(bytes, constantPool.end(), bytes.length - constantPool.end()));
 
         // Access flags
         int flags = dataInputStream.readUnsignedShort();
-        isInterface = (flags & 0x0200) != 0;
+        if ((flags & (ACC_SYNTHETIC | ACC_MODULE)) != 0) {
+            return;
+        }
+        isInterface = (flags & ACC_INTERFACE) != 0;
 
-        className = constantPool.lookup(dataInputStream.readUnsignedShort()).replace('/', '.');
+        String name = constantPool.lookup(dataInputStream.readUnsignedShort());
+        if (name.endsWith("package-info")) {
+            return;
+        }
+        try {
+            if (!isInterface && !mayBeEntity(bytes, constantPool, name)) {
+                return;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated class file: " + name, e);
+        }
+        className = name.replace('/', '.');
         String sce = constantPool.lookup(dataInputStream.readUnsignedShort());
         if (sce != null) {
             directSuperclassName = sce.replace('/', '.');
         }
+        if (isInterface) {
+            return;
+        }
         interfacesInfo = new InterfacesInfo(dataInputStream, constantPool);
         fieldsInfo = new FieldsInfo(dataInputStream, constantPool);
         methodsInfo = new MethodsInfo(dataInputStream, constantPool);
@@ -83,6 +146,135 @@ public class ClassInfo {
 
     }
 
+    /**
+     * Tells from the superclass, interfaces and class attributes of a class file whether it may be an entity, skipping
+     * over its fields and methods without building them. Enums, throwables, generated {@link EntityMapper}s and
+     * anonymous or local classes can't be, unless they say otherwise with a {@link NodeEntity} annotation.
+     */
+    private static boolean mayBeEntity(byte[] bytes, ConstantPool constantPool, String name) {
+        int position = constantPool.end() + 4; // access flags and this class
+        boolean entity = !NON_ENTITY_SUPERCLASSES.contains(constantPool.lookup(readUnsignedShort(bytes, position)));
+        int interfaces = readUnsignedShort(bytes, position + 2);
+        position += 4;
+        for (int i = 0; i < interfaces; i++, position += 2) {
+            if (ENTITY_MAPPER.equals(constantPool.lookup(readUnsignedShort(bytes, position)))) {
+                entity = false;
+            }
+        }
+        position = skipMembers(bytes, position); // fields
+        position = skipMembers(bytes, position); // methods
+        int attributes = readUnsignedShort(bytes, position);
+        position += 2;
+        for (int i = 0; i < attributes; i++) {
+            String attributeName = constantPool.lookup(readUnsignedShort(bytes, position));
+            int start = position + 6;
+            if ("RuntimeVisibleAnnotations".equals(attributeName) && isAnnotated(bytes, constantPool, start, NODE_ENTITY)) {
+                return true;
+            }
+            if ("InnerClasses".equals(attributeName) && isAnonymousOrLocal(bytes, constantPool, start, name)) {
+                entity = false;
+            }
+            position = start + readInt(bytes, position + 2);
+        }
+        return entity;
+    }
+
+    private static int skipMembers(byte[] bytes, int position) {
+        int members = readUnsignedShort(bytes, position);
+        position += 2;
+        for (int i = 0; i < members; i++) {
+            int attributes = readUnsignedShort(bytes, position + 6); // after access flags, name and descriptor
+            position += 8;
+            for (int j = 0; j < attributes; j++) {
+                position += 6 + readInt(bytes, position + 2);
+            }
+        }
+        return position;
+    }
+
+    private static boolean isAnnotated(byte[] bytes, ConstantPool constantPool, int position, String annotationDescriptor) {
+        int annotations = readUnsignedShort(bytes, position);
+        position += 2;
+        for (int i = 0; i < annotations; i++) {
+            if (annotationDescriptor.equals(constantPool.lookup(readUnsignedShort(bytes, position)))) {
+                return true;
+            }
+            position = skipAnnotation(bytes, position);
+        }
+        return false;
+    }
+
+    private static int skipAnnotation(byte[] bytes, int position) {
+        int pairs = readUnsignedShort(bytes, position + 2); // after the type
+        position += 4;
+        for (int i = 0; i < pairs; i++) {
+            position = skipElementValue(bytes, position + 2); // after the element name
+        }
+        return position;
+    }
+
+    private static int skipElementValue(byte[] bytes, int position) {
+        switch (bytes[position]) {
+            case 'e':
+                return position + 5;
+            case '@':
+                return skipAnnotation(bytes, position + 1);
+            case '[':
+                int values = readUnsignedShort(bytes, position + 1);
+                position += 3;
+                for (int i = 0; i < values; i++) {
+                    position = skipElementValue(bytes, position);
+                }
+                return position;
+            default: // a constant, string or class
+                return position + 3;
+        }
+    }
+
+    // an anonymous class has no simple name, and neither it nor a local class has an outer class
+    private static boolean isAnonymousOrLocal(byte[] bytes, ConstantPool constantPool, int position, String name) {
+        int classes = readUnsignedShort(bytes, position);
+        position += 2;
+        for (int i = 0; i < classes; i++, position += 8) {
+            if (name.equals(constantPool.lookup(readUnsignedShort(bytes, position)))) {
+                return readUnsignedShort(bytes, position + 2) == 0 || readUnsignedShort(bytes, position + 4) == 0;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[4096];
+        int length = 0;
+        for (int read; (read = inputStream.read(buffer, length, buffer.length - length)) != -1; ) {
+            length += read;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+    private static int readUnsignedShort(byte[] bytes, int position) {
+        return ((bytes[position] & 0xFF) << 8) | (bytes[position + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] bytes, int position) {
+        return (readUnsignedShort(bytes, position) << 16) | readUnsignedShort(bytes, position + 2);
+    }
+
+    /** A class read back from a {@link DomainIndex} rather than from its class file. */
+    ClassInfo(String className, String directSuperclassName, boolean isInterface, InterfacesInfo interfacesInfo,
+              FieldsInfo fieldsInfo, MethodsInfo methodsInfo, AnnotationsInfo annotationsInfo) {
+        this.className = className;
+        this.directSuperclassName = directSuperclassName;
+        this.isInterface = isInterface;
+        this.interfacesInfo = interfacesInfo;
+        this.fieldsInfo = fieldsInfo;
+        this.methodsInfo = methodsInfo;
+        this.annotationsInfo = annotationsInfo;
+    }
+
     /** A class that was previously only seen as a superclass of another class can now be fully hydrated. */
     public void hydrate(ClassInfo classInfo) {
        if (!this.hydrated) {
@@ -165,6 +357,10 @@ public class ClassInfo {
         return interfaces;
     }
 
+    InterfacesInfo interfacesInfo() {
+        return interfacesInfo;
+    }
+
     public Collection<AnnotationInfo> annotations() {
         return annotationsInfo.list();
     }
@@ -193,6 +389,17 @@ public class ClassInfo {
         return name();
     }
 
+    /**
+     * @return the precomputed mapping of this class, built the first time it is asked for once the domain is loaded
+     */
+    public EntityDescriptor descriptor() {
+        EntityDescriptor entityDescriptor = descriptor;
+        if (entityDescriptor == null) {
+            descriptor = entityDescriptor = new EntityDescriptor(this);
+        }
+        return entityDescriptor;
+    }
+
     /**
      * The identity field is a field annotated with @NodeId, or if none exists, a field
      * of type Long called 'id'
@@ -201,21 +408,11 @@ public class ClassInfo {
      * @throws MappingException if no identity field can be found
      */
     public FieldInfo identityField() {
-        for (FieldInfo fieldInfo : fieldsInfo().fields()) {
-            AnnotationInfo annotationInfo = fieldInfo.getAnnotations().get(GraphId.CLASS);
-            if (annotationInfo != null) {
-                if (fieldInfo.getDescriptor().equals("Ljava/lang/Long;")) {
-                    return fieldInfo;
-                }
-            }
+        FieldInfo identityField = descriptor().identityField();
+        if (identityField == null) {
+            throw new MappingException("No identity field found for class: " + this.className);
         }
-        FieldInfo fieldInfo = fieldsInfo().get("id");
-        if (fieldInfo != null) {
-            if (fieldInfo.getDescriptor().equals("Ljava/lang/Long;")) {
-                return fieldInfo;
-            }
-        }
-        throw new MappingException("No identity field found for class: " + this.className);
+        return identityField;
     }
 
     /**
@@ -225,24 +422,8 @@ public class ClassInfo {
      * @return A Collection of FieldInfo objects describing the classInfo's property fields
      */
     public Collection<FieldInfo> propertyFields() {
-        FieldInfo identityField = identityField();
-        Set<FieldInfo> fieldInfos = new HashSet<>();
-        for (FieldInfo fieldInfo : fieldsInfo().fields()) {
-            if (!fieldInfo.getName().equals(identityField.getName())) {
-                // todo: when building fieldInfos, we must exclude fields annotated @Transient, or with the transient modifier
-                if (fieldInfo.getAnnotations().isEmpty()) {
-                    if (fieldInfo.isSimple()) {
-                        fieldInfos.add(fieldInfo);
-                    }
-                } else {
-                    AnnotationInfo annotationInfo = fieldInfo.getAnnotations().get(Property.CLASS);
-                    if (annotationInfo != null) {
-                        fieldInfos.add(fieldInfo);
-                    }
-                }
-            }
-        }
-        return fieldInfos;
+        identityField();
+        return descriptor().propertyFields();
     }
 
     /**
@@ -252,12 +433,8 @@ public class ClassInfo {
      * @return A FieldInfo object describing the required property field, or null if it doesn't exist.
      */
     public FieldInfo propertyField(String propertyName) {
-        for (FieldInfo fieldInfo : propertyFields()) {
-            if (fieldInfo.property().equalsIgnoreCase(propertyName)) {
-                return fieldInfo;
-            }
-        }
-        return null;
+        identityField();
+        return descriptor().propertyField(propertyName);
     }
 
     /**
@@ -267,24 +444,8 @@ public class ClassInfo {
      * @return A Collection of FieldInfo objects describing the classInfo's relationship fields
      */
     public Collection<FieldInfo> relationshipFields() {
-        FieldInfo identityField = identityField();
-        Set<FieldInfo> fieldInfos = new HashSet<>();
-        for (FieldInfo fieldInfo : fieldsInfo().fields()) {
-            if (fieldInfo != identityField) {
-                // todo: when building fieldInfos, we must exclude fields annotated @Transient, or with the transient modifier
-                if (fieldInfo.getAnnotations().isEmpty()) {
-                    if (!fieldInfo.isSimple()) {
-                        fieldInfos.add(fieldInfo);
-                    }
-                } else {
-                    AnnotationInfo annotationInfo = fieldInfo.getAnnotations().get(Relationship.CLASS);
-                    if (annotationInfo != null) {
-                        fieldInfos.add(fieldInfo);
-                    }
-                }
-            }
-        }
-        return fieldInfos;
+        identityField();
+        return descriptor().relationshipFields();
     }
 
     /**
@@ -294,12 +455,8 @@ public class ClassInfo {
      * @return A FieldInfo object describing the required relationship field, or null if it doesn't exist.
      */
     public FieldInfo relationshipField(String relationshipName) {
-        for (FieldInfo fieldInfo : relationshipFields()) {
-            if (fieldInfo.relationship().equalsIgnoreCase(relationshipName)) {
-                return fieldInfo;
-            }
-        }
-        return null;
+        identityField();
+        return descriptor().relationshipField(relationshipName);
     }
 
     /**
@@ -309,22 +466,7 @@ public class ClassInfo {
      * @return A FieldInfo object representing the identity field or null if it doesn't exist
      */
     public MethodInfo identityGetter() {
-        for (MethodInfo methodInfo : methodsInfo().getters()) {
-            //LOGGER.info(methodInfo.getName() + ": " + methodInfo.getDescriptor());
-            AnnotationInfo annotationInfo = methodInfo.getAnnotations().get(GraphId.CLASS);
-            if (annotationInfo != null) {
-                if (methodInfo.getDescriptor().equals("()Ljava/lang/Long;")) {
-                    return methodInfo;
-                }
-            }
-        }
-        MethodInfo methodInfo = methodsInfo().get("getId");
-        if (methodInfo != null) {
-            if (methodInfo.getDescriptor().equals("()Ljava/lang/Long;")) {
-                return methodInfo;
-            }
-        }
-        return null;
+        return descriptor().identityGetter();
     }
 
     /**
@@ -334,21 +476,7 @@ public class ClassInfo {
      * @return A FieldInfo object representing the identity field or null if it doesn't exist
      */
     public MethodInfo identitySetter() {
-        for (MethodInfo methodInfo : methodsInfo().setters()) {
-            AnnotationInfo annotationInfo = methodInfo.getAnnotations().get(GraphId.CLASS);
-            if (annotationInfo != null) {
-                if (methodInfo.getDescriptor().equals("(Ljava/lang/Long;)V")) {
-                    return methodInfo;
-                }
-            }
-        }
-        MethodInfo methodInfo = methodsInfo().get("setId");
-        if (methodInfo != null) {
-            if (methodInfo.getDescriptor().equals("(Ljava/lang/Long;)V")) {
-                return methodInfo;
-            }
-        }
-        return null;
+        return descriptor().identitySetter();
     }
 
     /**
@@ -358,23 +486,7 @@ public class ClassInfo {
      * @return A Collection of MethodInfo objects describing the classInfo's property getters
      */
     public Collection<MethodInfo> propertyGetters() {
-        MethodInfo identityGetter = identityGetter();
-        Set<MethodInfo> propertyGetters = new HashSet<>();
-        for (MethodInfo methodInfo : methodsInfo().getters()) {
-            if (identityGetter == null || !methodInfo.getName().equals(identityGetter.getName())) {
-                if (methodInfo.getAnnotations().isEmpty()) {
-                    if (methodInfo.isSimpleGetter()) {
-                        propertyGetters.add(methodInfo);
-                    }
-                } else {
-                    AnnotationInfo annotationInfo = methodInfo.getAnnotations().get(Property.CLASS);
-                    if (annotationInfo != null) {
-                        propertyGetters.add(methodInfo);
-                    }
-                }
-            }
-        }
-        return propertyGetters;
+        return descriptor().propertyGetters();
     }
 
     /**
@@ -384,23 +496,7 @@ public class ClassInfo {
      * @return A Collection of MethodInfo objects describing the classInfo's property setters
      */
     public Collection<MethodInfo> propertySetters() {
-        MethodInfo identitySetter = identitySetter();
-        Set<MethodInfo> propertySetters = new HashSet<>();
-        for (MethodInfo methodInfo : methodsInfo().setters()) {
-            if (identitySetter == null || !methodInfo.getName().equals(identitySetter.getName())) {
-                if (methodInfo.getAnnotations().isEmpty()) {
-                    if (methodInfo.isSimpleSetter()) {
-                        propertySetters.add(methodInfo);
-                    }
-                } else {
-                    AnnotationInfo annotationInfo = methodInfo.getAnnotations().get(Property.CLASS);
-                    if (annotationInfo != null) {
-                        propertySetters.add(methodInfo);
-                    }
-                }
-            }
-        }
-        return propertySetters;
+        return descriptor().propertySetters();
     }
 
     /**
@@ -410,23 +506,7 @@ public class ClassInfo {
      * @return A Collection of MethodInfo objects describing the classInfo's property getters
      */
     public Collection<MethodInfo> relationshipGetters() {
-        MethodInfo identityGetter = identityGetter();
-        Set<MethodInfo> relationshipGetters = new HashSet<>();
-        for (MethodInfo methodInfo : methodsInfo().getters()) {
-            if (identityGetter == null || !methodInfo.getName().equals(identityGetter.getName())) {
-                if (methodInfo.getAnnotations().isEmpty()) {
-                    if (!methodInfo.isSimpleGetter()) {
-                        relationshipGetters.add(methodInfo);
-                    }
-                } else {
-                    AnnotationInfo annotationInfo = methodInfo.getAnnotations().get(Relationship.CLASS);
-                    if (annotationInfo != null) {
-                        relationshipGetters.add(methodInfo);
-                    }
-                }
-            }
-        }
-        return relationshipGetters;
+        return descriptor().relationshipGetters();
     }
 
     /**
@@ -436,23 +516,7 @@ public class ClassInfo {
      * @return A Collection of MethodInfo objects describing the classInfo's property getters
      */
     public Collection<MethodInfo> relationshipSetters() {
-        MethodInfo identitySetter = identitySetter();
-        Set<MethodInfo> relationshipSetters = new HashSet<>();
-        for (MethodInfo methodInfo : methodsInfo().setters()) {
-            if (identitySetter == null || !methodInfo.getName().equals(identitySetter.getName())) {
-                if (methodInfo.getAnnotations().isEmpty()) {
-                    if (!methodInfo.isSimpleSetter()) {
-                        relationshipSetters.add(methodInfo);
-                    }
-                } else {
-                    AnnotationInfo annotationInfo = methodInfo.getAnnotations().get(Relationship.CLASS);
-                    if (annotationInfo != null) {
-                        relationshipSetters.add(methodInfo);
-                    }
-                }
-            }
-        }
-        return relationshipSetters;
+        return descriptor().relationshipSetters();
     }
 
     /**
@@ -462,12 +526,7 @@ public class ClassInfo {
      * @return A MethodInfo object describing the required relationship getter, or null if it doesn't exist.
      */
     public MethodInfo relationshipGetter(String relationshipName) {
-        for (MethodInfo methodInfo : relationshipGetters()) {
-            if (methodInfo.relationship().equalsIgnoreCase(relationshipName)) {
-                return methodInfo;
-            }
-        }
-        return null;
+        return descriptor().relationshipGetter(relationshipName);
     }
 
     /**
@@ -477,12 +536,7 @@ public class ClassInfo {
      * @return A MethodInfo object describing the required relationship setter, or null if it doesn't exist.
      */
     public MethodInfo relationshipSetter(String relationshipName) {
-        for (MethodInfo methodInfo : relationshipSetters()) {
-            if (methodInfo.relationship().equalsIgnoreCase(relationshipName)) {
-                return methodInfo;
-            }
-        }
-        return null;
+        return descriptor().relationshipSetter(relationshipName);
     }
 
     /**
@@ -492,13 +546,7 @@ public class ClassInfo {
      * @return A MethodInfo object describing the required property setter, or null if it doesn't exist.
      */
     public MethodInfo propertySetter(String propertyName) {
-        for (MethodInfo methodInfo : propertySetters()) {
-            String match = methodInfo.property();
-            if (match.equalsIgnoreCase(propertyName) || match.equalsIgnoreCase("set" + propertyName)) {
-                return methodInfo;
-            }
-        }
-        return null;
+        return descriptor().propertySetter(propertyName);
     }
 
     /**
@@ -508,13 +556,7 @@ public class ClassInfo {
      * @return A MethodInfo object describing the required property getter, or null if it doesn't exist.
      */
     public MethodInfo propertyGetter(String propertyName) {
-        for (MethodInfo methodInfo : propertyGetters()) {
-            String match = methodInfo.property();
-            if (match.equalsIgnoreCase(propertyName) || match.equalsIgnoreCase("get" + propertyName)) {
-                return methodInfo;
-            }
-        }
-        return null;
+        return descriptor().propertyGetter(propertyName);
     }
 
     /**
@@ -528,37 +570,226 @@ public class ClassInfo {
     }
 
     /**
+     * Sets the class loader of the domain this class belongs to, which may see classes the library's own loader
+     * doesn't.
+     *
+     * @param classLoader the class loader to load this class and the types of its properties through
+     */
+    void setClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @return the class loader of the domain if this class has been loaded into one, or else the context class loader
+     *         of the current thread, or else the library's own loader
+     */
+    public ClassLoader getClassLoader() {
+        ClassLoader loader = classLoader;
+        if (loader == null) {
+            loader = Thread.currentThread().getContextClassLoader();
+        }
+        return loader != null ? loader : ClassInfo.class.getClassLoader();
+    }
+
+    /**
+     * @return the class described by this ClassInfo, loaded through {@link #getClassLoader()} on first use
+     */
+    public Class<?> getUnderlyingClass() {
+        Class<?> underlyingClass = cls;
+        if (underlyingClass == null) {
+            try {
+                cls = underlyingClass = Class.forName(name(), true, getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return underlyingClass;
+    }
+
+    /**
+     * Resolves the field described by the given FieldInfo, which may be declared by a superclass. The field is
+     * made accessible and cached, so it can be used directly by all sessions.
      *
      * @param fieldInfo
      * @return
      */
     public Field getField(FieldInfo fieldInfo) {
+        Field field = fieldCache.get(fieldInfo.getName());
+        if (field == null) {
+            field = findField(fieldInfo);
+            field.setAccessible(true);
+            fieldCache.putIfAbsent(fieldInfo.getName(), field);
+        }
+        return field;
+    }
+
+    private Field findField(FieldInfo fieldInfo) {
         try {
-            return Class.forName(name()).getDeclaredField(fieldInfo.getName());
+            return getUnderlyingClass().getDeclaredField(fieldInfo.getName());
         } catch (NoSuchFieldException e) {
             if (directSuperclass() != null) {
                 return directSuperclass().getField(fieldInfo);
             } else {
                 throw new RuntimeException("Field " + fieldInfo.getName() + " not found in class " + name() + " or any of its superclasses");
             }
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
         }
-
     }
 
     /**
+     * Resolves the public method described by the given MethodInfo and parameter types. The method is made accessible
+     * and cached by both, since overloaded methods share a name.
      *
      * @param methodInfo
      * @param parameterTypes
      * @return
      */
     public Method getMethod(MethodInfo methodInfo, Class... parameterTypes) {
-        try {
-            return Class.forName(name()).getMethod(methodInfo.getName(), parameterTypes);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        MethodKey key = new MethodKey(methodInfo, parameterTypes);
+        Method method = methodCache.get(key);
+        if (method == null) {
+            try {
+                method = getUnderlyingClass().getMethod(methodInfo.getName(), parameterTypes);
+                method.setAccessible(true);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            methodCache.putIfAbsent(key, method);
+        }
+        return method;
+    }
+
+    /**
+     * Resolves the converter of the property the given field is mapped to. Enum types are loaded through
+     * {@link #getClassLoader()}, since the library's own loader may not see the domain classes.
+     *
+     * @param fieldInfo a field of this class
+     * @return the converter, or <code>null</code> if the field isn't mapped to a property or its values are stored as
+     *         they are
+     */
+    public PropertyConverter converter(FieldInfo fieldInfo) {
+        return fieldInfo.converter(getClassLoader());
+    }
+
+    /**
+     * @param methodInfo a getter or setter of this class
+     * @return the converter of the property the given method is mapped to, resolved like {@link #converter(FieldInfo)}
+     */
+    public PropertyConverter converter(MethodInfo methodInfo) {
+        return methodInfo.converter(getClassLoader());
+    }
+
+    /**
+     * Returns a method handle that reads the given field. Its type is <code>(Object)Object</code>, so every field
+     * reader can be invoked exactly in the same way.
+     *
+     * @param fieldInfo
+     * @return
+     */
+    public MethodHandle getFieldGetter(FieldInfo fieldInfo) {
+        MethodHandle getter = fieldGetterCache.get(fieldInfo.getName());
+        if (getter == null) {
+            try {
+                getter = LOOKUP.unreflectGetter(getField(fieldInfo)).asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+            fieldGetterCache.putIfAbsent(fieldInfo.getName(), getter);
         }
+        return getter;
+    }
+
+    /**
+     * Returns a method handle that writes the given field. Its type is <code>(Object,Object)void</code>.
+     *
+     * @param fieldInfo
+     * @return
+     */
+    public MethodHandle getFieldSetter(FieldInfo fieldInfo) {
+        MethodHandle setter = fieldSetterCache.get(fieldInfo.getName());
+        if (setter == null) {
+            try {
+                setter = LOOKUP.unreflectSetter(getField(fieldInfo)).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+            fieldSetterCache.putIfAbsent(fieldInfo.getName(), setter);
+        }
+        return setter;
+    }
+
+    /**
+     * Returns a method handle that invokes the given method on an instance of this class. Its type is
+     * <code>(Object)Object</code> for a getter and <code>(Object,Object)void</code> for a setter.
+     *
+     * @param methodInfo
+     * @param parameterTypes
+     * @return
+     */
+    public MethodHandle getMethodHandle(MethodInfo methodInfo, Class... parameterTypes) {
+        MethodKey key = new MethodKey(methodInfo, parameterTypes);
+        MethodHandle handle = methodHandleCache.get(key);
+        if (handle == null) {
+            try {
+                handle = LOOKUP.unreflect(getMethod(methodInfo, parameterTypes));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+            handle = handle.asType(parameterTypes.length == 0 ? GETTER_TYPE : SETTER_TYPE);
+            methodHandleCache.putIfAbsent(key, handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Returns a method handle that invokes the public no-arg constructor of this class. Its type is <code>()Object</code>.
+     * The constructor must be visible to anyone, as it would have to be for {@link Class#newInstance()} called from
+     * outside the package of this class.
+     *
+     * @return the constructor handle, or <code>null</code> if this class has no such constructor
+     */
+    public MethodHandle getConstructor() {
+        if (!constructorResolved) {
+            try {
+                constructor = MethodHandles.publicLookup()
+                        .findConstructor(getUnderlyingClass(), MethodType.methodType(void.class))
+                        .asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                constructor = null;
+            }
+            constructorResolved = true;
+        }
+        return constructor;
+    }
+
+    /**
+     * Returns a method handle that creates an instance of this class without running any of its constructors, the way
+     * deserialisation does, so fields keep their default values regardless of their initialisers. Its type is
+     * <code>()Object</code>.
+     *
+     * This relies on <code>sun.reflect.ReflectionFactory</code>, which is looked up reflectively as not every JVM
+     * provides it.
+     *
+     * @return the allocating handle, never <code>null</code>
+     * @throws MappingException if instances of this class can't be created this way
+     */
+    public MethodHandle getAllocator() {
+        MethodHandle handle = allocator;
+        if (handle == null) {
+            try {
+                Class<?> reflectionFactoryClass = Class.forName("sun.reflect.ReflectionFactory");
+                Object reflectionFactory = reflectionFactoryClass.getMethod("getReflectionFactory").invoke(null);
+                Constructor<?> serializationConstructor = (Constructor<?>) reflectionFactoryClass
+                        .getMethod("newConstructorForSerialization", Class.class, Constructor.class)
+                        .invoke(reflectionFactory, getUnderlyingClass(), Object.class.getDeclaredConstructor());
+                // a method handle can't be made from this constructor directly, so it's invoked reflectively
+                handle = LOOKUP.findVirtual(Constructor.class, "newInstance", MethodType.methodType(Object.class, Object[].class))
+                        .bindTo(serializationConstructor);
+                allocator = handle = MethodHandles.insertArguments(handle, 0, (Object) new Object[0]);
+            } catch (Exception e) {
+                throw new MappingException("Unable to instantiate class without a constructor: " + className, e);
+            }
+        }
+        return handle;
     }
 
     /**
@@ -650,7 +881,7 @@ public class ClassInfo {
     public List<MethodInfo> findIterableSetters(Class iteratedType) {
         List<MethodInfo> methodInfos = new ArrayList<>();
         try {
-            Class clazz = Class.forName(name());
+            Class clazz = getUnderlyingClass();
             for (Method method : clazz.getDeclaredMethods()) {
                 MethodInfo methodInfo = methodsInfo().get(method.getName());
                 if (methodInfo != null) {
@@ -678,5 +909,29 @@ public class ClassInfo {
         }
     }
 
-}
+    // a method by its name and parameter types, as overloaded methods share a MethodInfo
+    private static final class MethodKey {
+
+        private final MethodInfo methodInfo;
+        private final Class<?>[] parameterTypes;
+
+        MethodKey(MethodInfo methodInfo, Class<?>[] parameterTypes) {
+            this.methodInfo = methodInfo;
+            this.parameterTypes = parameterTypes;
+        }
 
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey that = (MethodKey) o;
+            return methodInfo.equals(that.methodInfo) && Arrays.equals(parameterTypes, that.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * methodInfo.hashCode() + Arrays.hashCode(parameterTypes);
+        }
+    }
+}
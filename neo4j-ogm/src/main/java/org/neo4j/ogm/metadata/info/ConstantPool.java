@@ -1,63 +1,127 @@
 package org.neo4j.ogm.metadata.info;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * The constant pool of a class file held in memory.
+ *
+ * Only the position of each entry is recorded when the pool is read. UTF-8 constants are decoded the first time
+ * they are looked up, so the strings of a class that is never inspected beyond its name are never created.
+ */
 class ConstantPool {
 
-    private final Object[] pool;
+    private final byte[] bytes;
+    private final byte[] tags;
+    private final int[] values; // offset of a UTF-8 constant, or the index of the UTF-8 constant another entry refers to
+    private final String[] strings;
+    private final int end;
 
-    public ConstantPool(DataInputStream stream) throws IOException {
+    /**
+     * @param bytes the class file
+     * @param offset the position of the constant pool count within the class file
+     */
+    public ConstantPool(byte[] bytes, int offset) {
 
-        int size = stream.readUnsignedShort();
-        pool = new Object[size];
+        this.bytes = bytes;
 
+        int size = readUnsignedShort(offset);
+        tags = new byte[size];
+        values = new int[size];
+        strings = new String[size];
+
+        int position = offset + 2;
         for (int i = 1; i < size; i++) {
-            final int flag = stream.readUnsignedByte();
+            final int flag = bytes[position++] & 0xFF;
+            tags[i] = (byte) flag;
             switch (flag) {
                 case ConstantPoolTags.UTF_8:
-                    pool[i] = stream.readUTF();
+                    values[i] = position;
+                    position += 2 + readUnsignedShort(position);
                     break;
                 case ConstantPoolTags.INTEGER:
                 case ConstantPoolTags.FLOAT:
-                    stream.skipBytes(4);
+                case ConstantPoolTags.DYNAMIC:
+                case ConstantPoolTags.INVOKE_DYNAMIC:
+                    position += 4;
                     break;
                 case ConstantPoolTags.LONG:
                 case ConstantPoolTags.DOUBLE:
-                    stream.skipBytes(8);
+                    position += 8;
                     i++; // double slot
                     break;
                 case ConstantPoolTags.CLASS:
                 case ConstantPoolTags.STRING:
-                    pool[i] = stream.readUnsignedShort();
+                    values[i] = readUnsignedShort(position);
+                    position += 2;
                     break;
                 case ConstantPoolTags.FIELD_REF:
                 case ConstantPoolTags.METHOD_REF:
                 case ConstantPoolTags.INTERFACE_REF:
                 case ConstantPoolTags.NAME_AND_TYPE:
-                    stream.skipBytes(2); // cypherReference to owning class
-                    pool[i]=stream.readUnsignedShort();
+                    // skip the cypherReference to owning class
+                    values[i] = readUnsignedShort(position + 2);
+                    position += 4;
                     break;
                 case ConstantPoolTags.METHOD_HANDLE:
-                    stream.skipBytes(3);
+                    position += 3;
                     break;
                 case ConstantPoolTags.METHOD_TYPE:
-                    stream.skipBytes(2);
-                    break;
-                case ConstantPoolTags.INVOKE_DYNAMIC:
-                    stream.skipBytes(4);
+                case ConstantPoolTags.MODULE:
+                case ConstantPoolTags.PACKAGE:
+                    position += 2;
                     break;
                 default:
                     throw new ClassFormatError("Unknown tag value for constant pool entry: " + flag);
             }
         }
+        end = position;
+    }
+
+    /**
+     * @return the position in the class file of the first byte after the constant pool
+     */
+    public int end() {
+        return end;
     }
 
     public String lookup(int entry) {
+        if (entry == 0) {
+            return null;
+        }
+        return tags[entry] == ConstantPoolTags.UTF_8 ? utf8(entry) : utf8(values[entry]);
+    }
+
+    private String utf8(int entry) {
+        if (entry == 0 || tags[entry] != ConstantPoolTags.UTF_8) {
+            return null;
+        }
+        String string = strings[entry];
+        if (string == null) {
+            strings[entry] = string = decode(values[entry]);
+        }
+        return string;
+    }
+
+    private String decode(int offset) {
+        int length = readUnsignedShort(offset);
+        int start = offset + 2;
+        for (int i = start; i < start + length; i++) {
+            if (bytes[i] <= 0) {
+                // modified UTF-8: multi-byte characters or an encoded null
+                try {
+                    return new DataInputStream(new ByteArrayInputStream(bytes, offset, length + 2)).readUTF();
+                } catch (IOException e) {
+                    throw new ClassFormatError("Malformed UTF-8 constant: " + e.getMessage());
+                }
+            }
+        }
+        return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+    }
 
-        Object constantPoolObj = pool[entry];
-        return (constantPoolObj instanceof Integer
-                ? (String) pool[(Integer) constantPoolObj]
-                : (String) constantPoolObj);
+    private int readUnsignedShort(int position) {
+        return ((bytes[position] & 0xFF) << 8) | (bytes[position + 1] & 0xFF);
     }
 }
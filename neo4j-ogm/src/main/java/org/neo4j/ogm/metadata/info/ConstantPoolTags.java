@@ -15,6 +15,9 @@ interface ConstantPoolTags {
     static final int NAME_AND_TYPE  =12;
     static final int METHOD_HANDLE  =15;
     static final int METHOD_TYPE    =16;
+    static final int DYNAMIC        =17;
     static final int INVOKE_DYNAMIC =18;
+    static final int MODULE         =19;
+    static final int PACKAGE        =20;
 
 }
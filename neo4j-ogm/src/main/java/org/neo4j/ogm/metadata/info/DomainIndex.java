@@ -0,0 +1,454 @@
+package org.neo4j.ogm.metadata.info;
+
+import org.neo4j.ogm.metadata.ClassPathScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URL;
+import java.util.*;
+
+/**
+ * A compact, serialised form of the classes that make up a domain, written at build time so that
+ * {@link DomainInfo} can be populated at runtime without walking the classpath or parsing any class files.
+ *
+ * The index records, for every class found in the indexed packages, exactly what was read from its class file:
+ * its name, superclass, interfaces, class annotations, fields and methods. Sub/superclass links are re-established
+ * when the classes are replayed through {@link DomainInfo}, just as they would be after a scan.
+ *
+ * An index is created by running this class after compilation, passing the output folder followed by the packages
+ * to index, for example with the exec-maven-plugin bound to the <code>process-classes</code> phase:
+ *
+ * <pre>
+ *     java org.neo4j.ogm.metadata.info.DomainIndex target/classes com.example.domain
+ * </pre>
+ *
+ * At runtime every index found at {@link #LOCATION} on the classpath is used, provided that together they
+ * cover all of the packages requested, and that every folder or jar holding those packages has an index of its own:
+ * classes of the same package may also live in another jar, which the index knows nothing about. Otherwise the
+ * classpath is scanned as usual.
+ */
+public class DomainIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DomainIndex.class);
+
+    public static final String LOCATION = "META-INF/neo4j-ogm/domain.index";
+
+    private static final int MAGIC = 0x4F474D49; // "OGMI"
+    private static final int VERSION = 1;
+
+    private final ClassLoader classLoader;
+    private final Set<String> roots;
+    private final List<String> classPaths;
+    private final List<ClassInfo> classInfos;
+
+    private DomainIndex(ClassLoader classLoader, Set<String> roots, List<String> classPaths, List<ClassInfo> classInfos) {
+        this.classLoader = classLoader;
+        this.roots = roots;
+        this.classPaths = classPaths;
+        this.classInfos = classInfos;
+    }
+
+    /**
+     * Writes an index of the classes in the specified packages.
+     *
+     * @param args the output folder (usually the compiler's class output folder), followed by one or more packages
+     */
+    public static void main(String... args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: DomainIndex <output folder> <package> [<package> ...]");
+        }
+        File file = new File(args[0], LOCATION);
+        if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+            throw new IOException("Cannot create folder " + file.getParentFile());
+        }
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(outputStream, Arrays.copyOfRange(args, 1, args.length));
+        }
+    }
+
+    /**
+     * Scans the classpath for the classes in the given packages and writes their index to the given stream.
+     *
+     * @param outputStream the stream to write the index to
+     * @param packages the packages to index
+     */
+    public static void write(OutputStream outputStream, String... packages) throws IOException {
+
+        List<String> classPaths = DomainInfo.classPaths(packages);
+        final List<ClassInfo> classInfos = new ArrayList<>();
+
+        new ClassPathScanner().scan(classPaths, new ClassInfoProcessor() {
+            @Override
+            public void process(ClassInfo classInfo) {
+                if (classInfo.name() != null) {
+                    classInfos.add(classInfo);
+                }
+            }
+            @Override
+            public void finish() {
+            }
+        });
+
+        new Writer(new DataOutputStream(outputStream)).write(classPaths, classInfos);
+    }
+
+    /**
+     * Reads and combines every domain index on the classpath.
+     *
+     * @return the combined index, or <code>null</code> if there is no index or it cannot be read
+     */
+    static DomainIndex load() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = DomainIndex.class.getClassLoader();
+        }
+        try {
+            Set<String> roots = new HashSet<>();
+            List<String> classPaths = new ArrayList<>();
+            List<ClassInfo> classInfos = new ArrayList<>();
+            for (Enumeration<URL> urls = classLoader.getResources(LOCATION); urls.hasMoreElements(); ) {
+                URL url = urls.nextElement();
+                roots.add(root(url, LOCATION));
+                try (InputStream inputStream = new BufferedInputStream(url.openStream())) {
+                    if (!new Reader(new DataInputStream(inputStream)).read(classPaths, classInfos)) {
+                        LOGGER.warn("Ignoring domain index with unsupported format: {}", url);
+                        return null;
+                    }
+                }
+            }
+            return classPaths.isEmpty() ? null : new DomainIndex(classLoader, roots, classPaths, classInfos);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to read domain index, falling back to classpath scanning", e);
+            return null;
+        }
+    }
+
+    /**
+     * @param requestedClassPaths the package paths the domain is made from
+     * @return true if every requested package is within a package that was indexed, and is only found in folders
+     *         and jars that have an index
+     */
+    boolean covers(List<String> requestedClassPaths) {
+        try {
+            for (String requested : requestedClassPaths) {
+                String path = normalise(requested);
+                if (!isIndexed(path) || !isOnlyInIndexedRoots(path)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Unable to resolve packages as resources, not using the domain index", e);
+            return false;
+        }
+    }
+
+    private boolean isIndexed(String path) {
+        for (String indexed : classPaths) {
+            if (isWithin(path, indexed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOnlyInIndexedRoots(String path) throws IOException {
+        Enumeration<URL> urls = classLoader.getResources(path);
+        if (!urls.hasMoreElements()) {
+            return false;
+        }
+        while (urls.hasMoreElements()) {
+            if (!roots.contains(root(urls.nextElement(), path))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the folder or jar a resource was found in, as the part of its URL before the resource path
+    private static String root(URL url, String resourcePath) {
+        String location = url.toString();
+        while (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+        return location.endsWith("/" + resourcePath) ? location.substring(0, location.length() - resourcePath.length() - 1) : location;
+    }
+
+    // package paths use '/' in the index, whatever the platform it was written on
+    private static String normalise(String classPath) {
+        String path = classPath.replace('\\', '/');
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    // a path is within a package if it is that package or one of its subpackages or classes, but a.bc isn't within a.b
+    private static boolean isWithin(String path, String packagePath) {
+        return path.startsWith(packagePath) && (path.length() == packagePath.length() || path.charAt(packagePath.length()) == '/');
+    }
+
+    /**
+     * Hands every indexed class in the requested packages to the processor, in the order in which they were
+     * originally scanned.
+     */
+    void replay(List<String> requestedClassPaths, ClassInfoProcessor processor) {
+        List<String> requestedPaths = new ArrayList<>(requestedClassPaths.size());
+        for (String requested : requestedClassPaths) {
+            requestedPaths.add(normalise(requested));
+        }
+        for (ClassInfo classInfo : classInfos) {
+            String path = classInfo.name().replace('.', '/');
+            for (String requested : requestedPaths) {
+                if (isWithin(path, requested)) {
+                    processor.process(classInfo);
+                    break;
+                }
+            }
+        }
+        processor.finish();
+    }
+
+    /**
+     * Writes the index as a table of unique strings followed by the classes, which refer to strings by their
+     * position in the table.
+     */
+    private static class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void write(List<String> classPaths, List<ClassInfo> classInfos) throws IOException {
+
+            // first pass: collect the string table
+            for (String classPath : classPaths) {
+                intern(normalise(classPath));
+            }
+            for (ClassInfo classInfo : classInfos) {
+                intern(classInfo);
+            }
+
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+
+            writeCount(strings.size());
+            for (String string : strings.keySet()) {
+                out.writeUTF(string);
+            }
+
+            writeCount(classPaths.size());
+            for (String classPath : classPaths) {
+                writeString(normalise(classPath));
+            }
+
+            writeCount(classInfos.size());
+            for (ClassInfo classInfo : classInfos) {
+                writeClass(classInfo);
+            }
+            out.flush();
+        }
+
+        private void intern(ClassInfo classInfo) {
+            intern(classInfo.name());
+            intern(classInfo.superclassName());
+            for (InterfaceInfo interfaceInfo : classInfo.interfacesInfo().list()) {
+                intern(interfaceInfo.name());
+            }
+            for (AnnotationInfo annotationInfo : classInfo.annotationsInfo().list()) {
+                intern(annotationInfo);
+            }
+            for (FieldInfo fieldInfo : classInfo.fieldsInfo().fields()) {
+                intern(fieldInfo.getName());
+                intern(fieldInfo.getDescriptor());
+                intern(fieldInfo.getTypeParameterDescriptor());
+                for (AnnotationInfo annotationInfo : fieldInfo.getAnnotations().list()) {
+                    intern(annotationInfo);
+                }
+            }
+            for (MethodInfo methodInfo : classInfo.methodsInfo().methods()) {
+                intern(methodInfo.getName());
+                intern(methodInfo.getDescriptor());
+                intern(methodInfo.getTypeParameterDescriptor());
+                for (AnnotationInfo annotationInfo : methodInfo.getAnnotations().list()) {
+                    intern(annotationInfo);
+                }
+            }
+        }
+
+        private void intern(AnnotationInfo annotationInfo) {
+            intern(annotationInfo.getName());
+            for (Map.Entry<String, String> element : annotationInfo.elements().entrySet()) {
+                intern(element.getKey());
+                intern(element.getValue());
+            }
+        }
+
+        private void intern(String string) {
+            if (string != null && !strings.containsKey(string)) {
+                strings.put(string, strings.size() + 1); // 0 represents null
+            }
+        }
+
+        private void writeClass(ClassInfo classInfo) throws IOException {
+            writeString(classInfo.name());
+            writeString(classInfo.superclassName());
+            out.writeBoolean(classInfo.isInterface());
+
+            Collection<InterfaceInfo> interfaces = classInfo.interfacesInfo().list();
+            writeCount(interfaces.size());
+            for (InterfaceInfo interfaceInfo : interfaces) {
+                writeString(interfaceInfo.name());
+            }
+
+            writeAnnotations(classInfo.annotationsInfo().list());
+
+            Collection<FieldInfo> fields = classInfo.fieldsInfo().fields();
+            writeCount(fields.size());
+            for (FieldInfo fieldInfo : fields) {
+                writeString(fieldInfo.getName());
+                writeString(fieldInfo.getDescriptor());
+                writeString(fieldInfo.getTypeParameterDescriptor());
+                writeAnnotations(fieldInfo.getAnnotations().list());
+            }
+
+            Collection<MethodInfo> methods = classInfo.methodsInfo().methods();
+            writeCount(methods.size());
+            for (MethodInfo methodInfo : methods) {
+                writeString(methodInfo.getName());
+                writeString(methodInfo.getDescriptor());
+                writeString(methodInfo.getTypeParameterDescriptor());
+                writeAnnotations(methodInfo.getAnnotations().list());
+            }
+        }
+
+        private void writeAnnotations(Collection<AnnotationInfo> annotations) throws IOException {
+            writeCount(annotations.size());
+            for (AnnotationInfo annotationInfo : annotations) {
+                writeString(annotationInfo.getName());
+                Map<String, String> elements = annotationInfo.elements();
+                writeCount(elements.size());
+                for (Map.Entry<String, String> element : elements.entrySet()) {
+                    writeString(element.getKey());
+                    writeString(element.getValue());
+                }
+            }
+        }
+
+        private void writeString(String string) throws IOException {
+            writeCount(string == null ? 0 : strings.get(string));
+        }
+
+        // variable length encoding: 7 bits per byte, high bit set on all but the last byte
+        private void writeCount(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+    }
+
+    private static class Reader {
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        boolean read(List<String> classPaths, List<ClassInfo> classInfos) throws IOException {
+
+            if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION) {
+                return false;
+            }
+
+            strings.add(null); // the string at position 0
+            for (int i = readCount(); i > 0; i--) {
+                strings.add(in.readUTF()); // a count larger than the table ends in an EOFException
+            }
+
+            for (int i = readCount(); i > 0; i--) {
+                classPaths.add(normalise(readString()));
+            }
+
+            for (int i = readCount(); i > 0; i--) {
+                classInfos.add(readClass());
+            }
+            return true;
+        }
+
+        private ClassInfo readClass() throws IOException {
+            String className = readString();
+            String superclassName = readString();
+            boolean isInterface = in.readBoolean();
+
+            InterfacesInfo interfacesInfo = new InterfacesInfo();
+            for (int i = readCount(); i > 0; i--) {
+                interfacesInfo.add(new InterfaceInfo(readString()));
+            }
+
+            AnnotationsInfo annotationsInfo = new AnnotationsInfo();
+            for (int i = readCount(); i > 0; i--) {
+                annotationsInfo.add(readAnnotation());
+            }
+
+            FieldsInfo fieldsInfo = new FieldsInfo();
+            for (int i = readCount(); i > 0; i--) {
+                fieldsInfo.add(new FieldInfo(readString(), readString(), readString(), readObjectAnnotations()));
+            }
+
+            MethodsInfo methodsInfo = new MethodsInfo();
+            for (int i = readCount(); i > 0; i--) {
+                methodsInfo.addMethod(new MethodInfo(readString(), readString(), readString(), readObjectAnnotations()));
+            }
+
+            return new ClassInfo(className, superclassName, isInterface, interfacesInfo, fieldsInfo, methodsInfo, annotationsInfo);
+        }
+
+        private ObjectAnnotations readObjectAnnotations() throws IOException {
+            ObjectAnnotations objectAnnotations = new ObjectAnnotations();
+            for (int i = readCount(); i > 0; i--) {
+                AnnotationInfo annotationInfo = readAnnotation();
+                objectAnnotations.put(annotationInfo.getName(), annotationInfo);
+            }
+            return objectAnnotations;
+        }
+
+        private AnnotationInfo readAnnotation() throws IOException {
+            AnnotationInfo annotationInfo = new AnnotationInfo();
+            annotationInfo.setName(readString());
+            for (int i = readCount(); i > 0; i--) {
+                annotationInfo.put(readString(), readString());
+            }
+            return annotationInfo;
+        }
+
+        private String readString() throws IOException {
+            int index = readCount();
+            if (index >= strings.size()) {
+                throw new IOException("String " + index + " is beyond the table of " + (strings.size() - 1));
+            }
+            return strings.get(index);
+        }
+
+        private int readCount() throws IOException {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = in.readUnsignedByte();
+                if (shift == 28 && (b & 0xF8) != 0) {
+                    throw new IOException("Count does not fit in an int");
+                }
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
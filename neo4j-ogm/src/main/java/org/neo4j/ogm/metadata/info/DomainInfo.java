@@ -1,5 +1,6 @@
 package org.neo4j.ogm.metadata.info;
 
+import org.neo4j.ogm.annotation.NodeEntity;
 import org.neo4j.ogm.metadata.ClassPathScanner;
 import org.neo4j.ogm.metadata.MappingException;
 
@@ -9,13 +10,20 @@ import java.util.*;
 public class DomainInfo implements ClassInfoProcessor {
 
     private final List<String> classPaths = new ArrayList<>();
+    private final ClassLoader classLoader; // the loader the domain is scanned through, see ClassPathScanner
 
     private final HashMap<String, ClassInfo> classNameToClassInfo = new HashMap<>();
     private final HashMap<String, InterfaceInfo> interfaceNameToInterfaceInfo = new HashMap<>();
     private final HashMap<String, ArrayList<ClassInfo>> annotationNameToClassInfo = new HashMap<>();
     private final HashMap<String, ArrayList<ClassInfo>> interfaceNameToClassInfo = new HashMap<>();
 
+    // lookup indexes, built once the domain has been loaded
+    private Map<String, ClassInfo> labelToClassInfo = Collections.emptyMap();
+    private Map<String, List<ClassInfo>> simpleNameToClassInfo = Collections.emptyMap();
+
     public DomainInfo(String... packages) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        this.classLoader = loader != null ? loader : DomainInfo.class.getClassLoader();
         long now = -System.currentTimeMillis();
         load(packages);
         System.out.println(classNameToClassInfo.entrySet().size() + " classes loaded in " + (now + System.currentTimeMillis()) + " milliseconds");
@@ -42,6 +50,45 @@ public class DomainInfo implements ClassInfoProcessor {
                 extend(classInfo, classInfo.directSubclasses());
             }
         }
+        buildLookupIndexes();
+        for (ClassInfo classInfo : classNameToClassInfo.values()) {
+            classInfo.setClassLoader(classLoader);
+            classInfo.descriptor();
+        }
+    }
+
+    private void buildLookupIndexes() {
+
+        Map<String, ClassInfo> labels = new HashMap<>();
+        List<ClassInfo> labelledClasses = annotationNameToClassInfo.get(NodeEntity.CLASS);
+        if (labelledClasses != null) {
+            for (ClassInfo classInfo : labelledClasses) {
+                // classes without an explicit label are found by name instead
+                String label = classInfo.annotationsInfo().get(NodeEntity.CLASS).elements().get(NodeEntity.LABEL);
+                if (label != null && !labels.containsKey(label)) {
+                    labels.put(label, classInfo);
+                }
+            }
+        }
+
+        Map<String, List<ClassInfo>> simpleNames = new HashMap<>();
+        for (Map.Entry<String, ClassInfo> entry : classNameToClassInfo.entrySet()) {
+            if (entry.getKey() != null) {
+                String simpleName = simpleName(entry.getKey());
+                List<ClassInfo> classInfos = simpleNames.get(simpleName);
+                if (classInfos == null) {
+                    simpleNames.put(simpleName, classInfos = new ArrayList<>(1));
+                }
+                classInfos.add(entry.getValue());
+            }
+        }
+
+        labelToClassInfo = Collections.unmodifiableMap(labels);
+        simpleNameToClassInfo = Collections.unmodifiableMap(simpleNames);
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
     }
 
     private void extend(ClassInfo superclass, List<ClassInfo> subclasses) {
@@ -51,9 +98,8 @@ public class DomainInfo implements ClassInfoProcessor {
         }
     }
 
-    public void process(final InputStream inputStream) throws IOException {
+    public void process(ClassInfo classInfo) {
 
-        ClassInfo classInfo = new ClassInfo(inputStream);
         String className = classInfo.name();
         String superclassName = classInfo.superclassName();
 
@@ -91,26 +137,51 @@ public class DomainInfo implements ClassInfoProcessor {
         annotationNameToClassInfo.clear();
         interfaceNameToClassInfo.clear();
 
-        for (String packageName : packages) {
-            String path = packageName.replaceAll("\\.", File.separator);
-            classPaths.add(path);
+        classPaths.addAll(classPaths(packages));
+
+        // a domain index written at build time saves scanning the classpath and parsing the class files
+        DomainIndex domainIndex = DomainIndex.load();
+        if (domainIndex != null && domainIndex.covers(classPaths)) {
+            domainIndex.replay(classPaths, this);
+        } else {
+            new ClassPathScanner(Runtime.getRuntime().availableProcessors()).scan(classPaths, this);
         }
 
-        new ClassPathScanner().scan(classPaths, this);
+    }
 
+    static List<String> classPaths(String... packages) {
+        List<String> classPaths = new ArrayList<>(packages.length);
+        for (String packageName : packages) {
+            classPaths.add(packageName.replaceAll("\\.", File.separator));
+        }
+        return classPaths;
     }
 
     public ClassInfo getClass(String fqn) {
         return classNameToClassInfo.get(fqn);
     }
 
+    /**
+     * @param label an explicit label given to a class by its {@link NodeEntity} annotation
+     * @return the first class found with that label, or <code>null</code> if there isn't one
+     */
+    public ClassInfo getClassInfoForLabel(String label) {
+        return labelToClassInfo.get(label);
+    }
+
     public ClassInfo getClassSimpleName(String fullOrPartialClassName) {
 
+        List<ClassInfo> candidates = simpleNameToClassInfo.get(simpleName(fullOrPartialClassName));
+        if (candidates == null) {
+            return null;
+        }
+
         ClassInfo match = null;
-        for (String fqn : classNameToClassInfo.keySet()) {
+        for (ClassInfo candidate : candidates) {
+            String fqn = candidate.name();
             if (fqn.endsWith("." + fullOrPartialClassName) || fqn.equals(fullOrPartialClassName)) {
                 if (match == null) {
-                    match = classNameToClassInfo.get(fqn);
+                    match = candidate;
                 } else {
                     throw new MappingException("More than one class has simple name: " + fullOrPartialClassName);
                 }
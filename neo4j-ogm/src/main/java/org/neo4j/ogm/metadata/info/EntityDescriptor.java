@@ -0,0 +1,238 @@
+package org.neo4j.ogm.metadata.info;
+
+import org.neo4j.ogm.annotation.GraphId;
+import org.neo4j.ogm.annotation.Property;
+import org.neo4j.ogm.annotation.Relationship;
+
+import java.util.*;
+
+/**
+ * The mapping of a single class, worked out once from its {@link ClassInfo} and frozen.
+ *
+ * The descriptor holds the identity field and accessors, the property and relationship fields in declaration order
+ * (subclass fields before superclass fields), and the property and relationship getters and setters. Fields and
+ * methods are also indexed by the (case-insensitive) property name or relationship type they map to, so that
+ * finding the accessor for a given property doesn't involve scanning the class.
+ *
+ * A descriptor must only be built once its class has been fully loaded, i.e. after {@link DomainInfo#finish()}.
+ */
+public final class EntityDescriptor {
+
+    private final FieldInfo identityField;
+    private final MethodInfo identityGetter;
+    private final MethodInfo identitySetter;
+
+    private final List<FieldInfo> propertyFields;
+    private final List<FieldInfo> relationshipFields;
+    private final List<MethodInfo> propertyGetters;
+    private final List<MethodInfo> propertySetters;
+    private final List<MethodInfo> relationshipGetters;
+    private final List<MethodInfo> relationshipSetters;
+
+    private final Map<String, FieldInfo> propertyFieldsByName;
+    private final Map<String, FieldInfo> relationshipFieldsByType;
+    private final Map<String, MethodInfo> propertyGettersByName;
+    private final Map<String, MethodInfo> propertySettersByName;
+    private final Map<String, MethodInfo> relationshipGettersByType;
+    private final Map<String, MethodInfo> relationshipSettersByType;
+
+    EntityDescriptor(ClassInfo classInfo) {
+
+        FieldsInfo fieldsInfo = classInfo.fieldsInfo();
+        MethodsInfo methodsInfo = classInfo.methodsInfo();
+
+        identityField = findIdentityField(fieldsInfo);
+        identityGetter = findIdentityMethod(methodsInfo.getters(), methodsInfo.get("getId"), "()Ljava/lang/Long;");
+        identitySetter = findIdentityMethod(methodsInfo.setters(), methodsInfo.get("setId"), "(Ljava/lang/Long;)V");
+
+        List<FieldInfo> properties = new ArrayList<>();
+        List<FieldInfo> relationships = new ArrayList<>();
+        for (FieldInfo fieldInfo : fieldsInfo.fields()) {
+            if (identityField != null && fieldInfo.getName().equals(identityField.getName())) {
+                continue;
+            }
+            // todo: when building fieldInfos, we must exclude fields annotated @Transient, or with the transient modifier
+            if (fieldInfo.getAnnotations().isEmpty()) {
+                if (fieldInfo.isSimple()) {
+                    properties.add(fieldInfo);
+                } else {
+                    relationships.add(fieldInfo);
+                }
+            } else {
+                if (fieldInfo.getAnnotations().get(Property.CLASS) != null) {
+                    properties.add(fieldInfo);
+                }
+                if (fieldInfo.getAnnotations().get(Relationship.CLASS) != null) {
+                    relationships.add(fieldInfo);
+                }
+            }
+        }
+        propertyFields = Collections.unmodifiableList(properties);
+        relationshipFields = Collections.unmodifiableList(relationships);
+
+        propertyGetters = Collections.unmodifiableList(classify(methodsInfo.getters(), true, identityGetter, true));
+        propertySetters = Collections.unmodifiableList(classify(methodsInfo.setters(), false, identitySetter, true));
+        relationshipGetters = Collections.unmodifiableList(classify(methodsInfo.getters(), true, identityGetter, false));
+        relationshipSetters = Collections.unmodifiableList(classify(methodsInfo.setters(), false, identitySetter, false));
+
+        Map<String, FieldInfo> fieldsByName = new HashMap<>();
+        for (FieldInfo fieldInfo : propertyFields) {
+            putIfAbsent(fieldsByName, fieldInfo.property(), fieldInfo);
+        }
+        propertyFieldsByName = Collections.unmodifiableMap(fieldsByName);
+
+        Map<String, FieldInfo> fieldsByType = new HashMap<>();
+        for (FieldInfo fieldInfo : relationshipFields) {
+            putIfAbsent(fieldsByType, fieldInfo.relationship(), fieldInfo);
+        }
+        relationshipFieldsByType = Collections.unmodifiableMap(fieldsByType);
+
+        propertyGettersByName = indexByProperty(propertyGetters);
+        propertySettersByName = indexByProperty(propertySetters);
+        relationshipGettersByType = indexByRelationship(relationshipGetters);
+        relationshipSettersByType = indexByRelationship(relationshipSetters);
+    }
+
+    /**
+     * @return the identity field, or <code>null</code> if the class doesn't have one
+     */
+    public FieldInfo identityField() {
+        return identityField;
+    }
+
+    public MethodInfo identityGetter() {
+        return identityGetter;
+    }
+
+    public MethodInfo identitySetter() {
+        return identitySetter;
+    }
+
+    public List<FieldInfo> propertyFields() {
+        return propertyFields;
+    }
+
+    public List<FieldInfo> relationshipFields() {
+        return relationshipFields;
+    }
+
+    public List<MethodInfo> propertyGetters() {
+        return propertyGetters;
+    }
+
+    public List<MethodInfo> propertySetters() {
+        return propertySetters;
+    }
+
+    public List<MethodInfo> relationshipGetters() {
+        return relationshipGetters;
+    }
+
+    public List<MethodInfo> relationshipSetters() {
+        return relationshipSetters;
+    }
+
+    public FieldInfo propertyField(String propertyName) {
+        return propertyFieldsByName.get(key(propertyName));
+    }
+
+    public FieldInfo relationshipField(String relationshipType) {
+        return relationshipFieldsByType.get(key(relationshipType));
+    }
+
+    public MethodInfo propertyGetter(String propertyName) {
+        return accessor(propertyGettersByName, propertyName, "get");
+    }
+
+    public MethodInfo propertySetter(String propertyName) {
+        return accessor(propertySettersByName, propertyName, "set");
+    }
+
+    public MethodInfo relationshipGetter(String relationshipType) {
+        return relationshipGettersByType.get(key(relationshipType));
+    }
+
+    public MethodInfo relationshipSetter(String relationshipType) {
+        return relationshipSettersByType.get(key(relationshipType));
+    }
+
+    // an accessor matches either the property name or the property name prefixed with "get"/"set"
+    private static MethodInfo accessor(Map<String, MethodInfo> accessors, String propertyName, String prefix) {
+        String key = key(propertyName);
+        MethodInfo methodInfo = accessors.get(key);
+        return methodInfo != null ? methodInfo : accessors.get(prefix + key);
+    }
+
+    private static FieldInfo findIdentityField(FieldsInfo fieldsInfo) {
+        for (FieldInfo fieldInfo : fieldsInfo.fields()) {
+            if (fieldInfo.getAnnotations().get(GraphId.CLASS) != null && fieldInfo.getDescriptor().equals("Ljava/lang/Long;")) {
+                return fieldInfo;
+            }
+        }
+        FieldInfo fieldInfo = fieldsInfo.get("id");
+        if (fieldInfo != null && fieldInfo.getDescriptor().equals("Ljava/lang/Long;")) {
+            return fieldInfo;
+        }
+        return null;
+    }
+
+    private static MethodInfo findIdentityMethod(Collection<MethodInfo> accessors, MethodInfo byName, String descriptor) {
+        for (MethodInfo methodInfo : accessors) {
+            if (methodInfo.getAnnotations().get(GraphId.CLASS) != null && methodInfo.getDescriptor().equals(descriptor)) {
+                return methodInfo;
+            }
+        }
+        if (byName != null && byName.getDescriptor().equals(descriptor)) {
+            return byName;
+        }
+        return null;
+    }
+
+    private static List<MethodInfo> classify(Collection<MethodInfo> accessors, boolean getters, MethodInfo identityAccessor, boolean properties) {
+        List<MethodInfo> methodInfos = new ArrayList<>();
+        for (MethodInfo methodInfo : accessors) {
+            if (identityAccessor != null && methodInfo.getName().equals(identityAccessor.getName())) {
+                continue;
+            }
+            if (methodInfo.getAnnotations().isEmpty()) {
+                boolean simple = getters ? methodInfo.isSimpleGetter() : methodInfo.isSimpleSetter();
+                if (simple == properties) {
+                    methodInfos.add(methodInfo);
+                }
+            } else if (methodInfo.getAnnotations().get(properties ? Property.CLASS : Relationship.CLASS) != null) {
+                methodInfos.add(methodInfo);
+            }
+        }
+        return methodInfos;
+    }
+
+    private static Map<String, MethodInfo> indexByProperty(List<MethodInfo> methodInfos) {
+        Map<String, MethodInfo> index = new HashMap<>();
+        for (MethodInfo methodInfo : methodInfos) {
+            putIfAbsent(index, methodInfo.property(), methodInfo);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static Map<String, MethodInfo> indexByRelationship(List<MethodInfo> methodInfos) {
+        Map<String, MethodInfo> index = new HashMap<>();
+        for (MethodInfo methodInfo : methodInfos) {
+            putIfAbsent(index, methodInfo.relationship(), methodInfo);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    // names and types are matched case-insensitively
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static <T> void putIfAbsent(Map<String, T> index, String name, T value) {
+        if (name != null) {
+            String key = key(name);
+            if (!index.containsKey(key)) {
+                index.put(key, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package org.neo4j.ogm.metadata.info;
+
+import org.neo4j.ogm.annotation.NodeEntity;
+import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
+import org.neo4j.ogm.entityaccess.EntityMapper;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
+import org.neo4j.ogm.typeconversion.PropertyConverters;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.*;
+
+/**
+ * Generates an {@link EntityMapper} named <code>&lt;Entity&gt;_OgmMapper</code> for each concrete class annotated
+ * with {@link NodeEntity}, so that the properties of those classes are read and written without reflection.
+ *
+ * The processor isn't registered as a service, so it only runs when asked for, e.g. with
+ * <code>javac -processor org.neo4j.ogm.metadata.info.EntityMapperProcessor</code> or the equivalent build tool setting.
+ *
+ * The mapping is worked out by building the {@link ClassInfo} the class path scanner would read from the compiled
+ * class and asking its {@link EntityDescriptor}, so that the generated code uses the same accessors as the
+ * {@link DefaultObjectAccessStrategy}. It assumes that every superclass of the entity is part of the mapped domain.
+ * Generated code can only use the members that are visible from the package of the entity, and only converts values of
+ * scalar properties: anything else, e.g. a property mapped to a private field without accessors, or to an array or a
+ * collection, is left to the strategy at runtime. Values of types that have a {@link PropertyConverter} go through the
+ * same converter as they would with the strategy.
+ */
+public class EntityMapperProcessor extends AbstractProcessor {
+
+    private static final Map<TypeKind, String> PRIMITIVE_DESCRIPTORS = new EnumMap<>(TypeKind.class);
+    private static final Map<TypeKind, String> PRIMITIVE_CONVERSIONS = new EnumMap<>(TypeKind.class);
+    private static final Map<String, String> BOXED_CONVERSIONS = new HashMap<>();
+
+    static {
+        PRIMITIVE_DESCRIPTORS.put(TypeKind.BOOLEAN, "Z");
+        PRIMITIVE_DESCRIPTORS.put(TypeKind.BYTE, "B");
+        PRIMITIVE_DESCRIPTORS.put(TypeKind.CHAR, "C");
+        PRIMITIVE_DESCRIPTORS.put(TypeKind.SHORT, "S");
+        PRIMITIVE_DESCRIPTORS.put(TypeKind.INT, "I");
+        PRIMITIVE_DESCRIPTORS.put(TypeKind.LONG, "J");
+        PRIMITIVE_DESCRIPTORS.put(TypeKind.FLOAT, "F");
+        PRIMITIVE_DESCRIPTORS.put(TypeKind.DOUBLE, "D");
+        PRIMITIVE_DESCRIPTORS.put(TypeKind.VOID, "V");
+
+        PRIMITIVE_CONVERSIONS.put(TypeKind.BOOLEAN, "((Boolean) value).booleanValue()");
+        PRIMITIVE_CONVERSIONS.put(TypeKind.CHAR, "((Character) value).charValue()");
+        PRIMITIVE_CONVERSIONS.put(TypeKind.BYTE, "((Number) value).byteValue()");
+        PRIMITIVE_CONVERSIONS.put(TypeKind.SHORT, "((Number) value).shortValue()");
+        PRIMITIVE_CONVERSIONS.put(TypeKind.INT, "((Number) value).intValue()");
+        PRIMITIVE_CONVERSIONS.put(TypeKind.LONG, "((Number) value).longValue()");
+        PRIMITIVE_CONVERSIONS.put(TypeKind.FLOAT, "((Number) value).floatValue()");
+        PRIMITIVE_CONVERSIONS.put(TypeKind.DOUBLE, "((Number) value).doubleValue()");
+
+        // numbers read from the graph don't necessarily have the width of the property they are written to
+        BOXED_CONVERSIONS.put("java.lang.Byte", "Byte.valueOf(((Number) value).byteValue())");
+        BOXED_CONVERSIONS.put("java.lang.Short", "Short.valueOf(((Number) value).shortValue())");
+        BOXED_CONVERSIONS.put("java.lang.Integer", "Integer.valueOf(((Number) value).intValue())");
+        BOXED_CONVERSIONS.put("java.lang.Long", "Long.valueOf(((Number) value).longValue())");
+        BOXED_CONVERSIONS.put("java.lang.Float", "Float.valueOf(((Number) value).floatValue())");
+        BOXED_CONVERSIONS.put("java.lang.Double", "Double.valueOf(((Number) value).doubleValue())");
+    }
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(NodeEntity.CLASS);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        TypeElement nodeEntity = elements.getTypeElement(NodeEntity.CLASS);
+        if (nodeEntity != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(nodeEntity)) {
+                if (element.getKind() == ElementKind.CLASS && isInstantiable((TypeElement) element)) {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        return false; // other processors may be interested in @NodeEntity too
+    }
+
+    private static boolean isInstantiable(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        switch (type.getNestingKind()) {
+            case TOP_LEVEL:
+                return true;
+            case MEMBER:
+                return modifiers.contains(Modifier.STATIC) && isInstantiable((TypeElement) type.getEnclosingElement());
+            default:
+                return false;
+        }
+    }
+
+    private void generate(TypeElement type) {
+        String entityName = types.erasure(type.asType()).toString();
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String mapperName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1) + EntityMapper.SUFFIX;
+
+        Map<Object, Element> elementsByInfo = new IdentityHashMap<>();
+        EntityDescriptor descriptor;
+        try {
+            descriptor = describe(type, elementsByInfo);
+        } catch (IllegalArgumentException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Not generating a mapper for " + entityName + ": " + e.getMessage(), type);
+            return;
+        }
+
+        Map<String, String> converters = new LinkedHashMap<>();
+        StringBuilder methods = new StringBuilder();
+        methods.append("    @Override\n");
+        methods.append("    public boolean writeProperty(").append(entityName).append(" instance, String propertyName, Object value) {\n");
+        methods.append("        switch (propertyName) {\n");
+        appendWriters(methods, type, descriptor, elementsByInfo, converters);
+        methods.append("            default:\n");
+        methods.append("                return false;\n");
+        methods.append("        }\n");
+        methods.append("    }\n\n");
+
+        methods.append("    @Override\n");
+        methods.append("    public boolean readProperties(").append(entityName)
+                .append(" instance, java.util.Map<String, Object> properties, boolean includeNulls) {\n");
+        appendReaders(methods, type, descriptor, elementsByInfo, converters);
+        methods.append("    }\n");
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(getClass().getName()).append(", do not edit.\n */\n");
+        source.append("public final class ").append(mapperName)
+                .append(" implements ").append(EntityMapper.class.getName()).append('<').append(entityName).append("> {\n\n");
+        for (Map.Entry<String, String> converter : converters.entrySet()) {
+            source.append("    private static final ").append(PropertyConverter.class.getName()).append(' ').append(converter.getValue())
+                    .append(" = ").append(PropertyConverters.class.getName()).append(".forDescriptor(")
+                    .append(literal(converter.getKey())).append(", ").append(mapperName).append(".class.getClassLoader());\n\n");
+        }
+        source.append(methods);
+        source.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? mapperName : packageName + "." + mapperName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write the mapper for " + entityName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void appendWriters(StringBuilder source, TypeElement type, EntityDescriptor descriptor, Map<Object, Element> elementsByInfo,
+                               Map<String, String> converters) {
+        Set<String> propertyNames = new LinkedHashSet<>();
+        for (FieldInfo fieldInfo : descriptor.propertyFields()) {
+            if (fieldInfo.property() != null) {
+                propertyNames.add(fieldInfo.property());
+            }
+        }
+        for (MethodInfo methodInfo : descriptor.propertySetters()) {
+            if (methodInfo.property() != null) {
+                propertyNames.add(methodInfo.property());
+            }
+        }
+
+        for (String propertyName : propertyNames) {
+            // the same choice as DefaultObjectAccessStrategy.getPropertyWriter
+            Object accessor = descriptor.propertySetter(propertyName);
+            FieldInfo fieldInfo = descriptor.propertyField(propertyName);
+            if (accessor == null || (((MethodInfo) accessor).getAnnotations().isEmpty() && fieldInfo != null && !fieldInfo.getAnnotations().isEmpty())) {
+                accessor = fieldInfo;
+            }
+            Element element = accessor != null ? elementsByInfo.get(accessor) : null;
+            if (element == null || !isAccessible(element, type)) {
+                continue;
+            }
+
+            String assignment;
+            TypeMirror targetType;
+            if (element instanceof ExecutableElement) {
+                List<? extends VariableElement> parameters = ((ExecutableElement) element).getParameters();
+                if (parameters.size() != 1) {
+                    continue;
+                }
+                targetType = parameters.get(0).asType();
+                assignment = "instance." + element.getSimpleName() + "(%s);";
+            } else {
+                targetType = element.asType();
+                assignment = "instance." + element.getSimpleName() + " = %s;";
+            }
+
+            String conversion;
+            String nullCheck = null;
+            if (targetType.getKind().isPrimitive()) {
+                conversion = PRIMITIVE_CONVERSIONS.get(targetType.getKind());
+                nullCheck = "if (value == null) {\n                    return false;\n                }\n";
+            } else if (targetType.getKind() == TypeKind.DECLARED && ((DeclaredType) targetType).getTypeArguments().isEmpty()
+                    && !isIterable(targetType)) {
+                String typeName = targetType.toString();
+                if (BOXED_CONVERSIONS.containsKey(typeName)) {
+                    conversion = "value == null ? null : " + BOXED_CONVERSIONS.get(typeName);
+                } else if (typeName.equals("java.lang.Object")) {
+                    conversion = "value";
+                } else {
+                    conversion = "(" + typeName + ") value";
+                }
+            } else {
+                continue; // arrays and collections are merged with the current value by the strategy
+            }
+
+            source.append("            case ").append(literal(propertyName)).append(":\n");
+            if (nullCheck != null) {
+                source.append("                ").append(nullCheck);
+            }
+            String converter = converter(targetType, converters);
+            if (converter != null) {
+                source.append("                value = ").append(converter).append(".toEntityAttribute(value);\n");
+            }
+            source.append("                ").append(String.format(assignment, conversion)).append('\n');
+            source.append("                return true;\n");
+        }
+    }
+
+    private void appendReaders(StringBuilder source, TypeElement type, EntityDescriptor descriptor, Map<Object, Element> elementsByInfo,
+                               Map<String, String> converters) {
+        StringBuilder readers = new StringBuilder();
+        for (FieldInfo fieldInfo : descriptor.propertyFields()) {
+            if (fieldInfo.property() == null) {
+                source.append("        return false;\n");
+                return;
+            }
+            // the same choice as DefaultObjectAccessStrategy.getPropertyReaders
+            MethodInfo getterInfo = descriptor.propertyGetter(fieldInfo.property());
+            String propertyName;
+            Element element;
+            String expression;
+            TypeMirror valueType;
+            if (getterInfo != null && (!getterInfo.getAnnotations().isEmpty() || fieldInfo.getAnnotations().isEmpty())) {
+                propertyName = getterInfo.property();
+                element = elementsByInfo.get(getterInfo);
+                expression = "instance." + element.getSimpleName() + "()";
+                valueType = ((ExecutableElement) element).getReturnType();
+                if (valueType.getKind() == TypeKind.VOID) {
+                    propertyName = null;
+                }
+            } else {
+                propertyName = fieldInfo.property();
+                element = elementsByInfo.get(fieldInfo);
+                expression = "instance." + element.getSimpleName();
+                valueType = element.asType();
+            }
+            if (propertyName == null || !isAccessible(element, type)) {
+                source.append("        return false;\n");
+                return;
+            }
+            String converter = converter(valueType, converters);
+            if (converter != null) {
+                expression = converter + ".toGraphProperty(" + expression + ")";
+            }
+            readers.append("        value = ").append(expression).append(";\n");
+            readers.append("        if (includeNulls || value != null) {\n");
+            readers.append("            properties.put(").append(literal(propertyName)).append(", value);\n");
+            readers.append("        }\n");
+        }
+        if (readers.length() > 0) {
+            source.append("        Object value;\n").append(readers);
+        }
+        source.append("        return true;\n");
+    }
+
+    /**
+     * Builds the class information of the given type and its superclasses as the scanner would have read it from their
+     * class files, and returns the descriptor of the given type.
+     */
+    private EntityDescriptor describe(TypeElement type, Map<Object, Element> elementsByInfo) {
+        List<ClassInfo> hierarchy = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            FieldsInfo fieldsInfo = new FieldsInfo();
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC) && !field.getModifiers().contains(Modifier.FINAL)) {
+                    String descriptor = descriptor(field.asType());
+                    FieldInfo fieldInfo = new FieldInfo(field.getSimpleName().toString(), descriptor,
+                            typeParameterDescriptor(descriptor, signature(field.asType())), annotations(field));
+                    fieldsInfo.add(fieldInfo);
+                    elementsByInfo.put(fieldInfo, field);
+                }
+            }
+            MethodsInfo methodsInfo = new MethodsInfo();
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                String descriptor = descriptor(method);
+                MethodInfo methodInfo = new MethodInfo(method.getSimpleName().toString(), descriptor,
+                        typeParameterDescriptor(descriptor, signature(method)), annotations(method));
+                methodsInfo.addMethod(methodInfo);
+                elementsByInfo.put(methodInfo, method);
+            }
+            TypeElement superclass = superclass(current);
+            hierarchy.add(new ClassInfo(elements.getBinaryName(current).toString(),
+                    superclass != null ? elements.getBinaryName(superclass).toString() : "java.lang.Object",
+                    false, new InterfacesInfo(), fieldsInfo, methodsInfo, new AnnotationsInfo()));
+        }
+        // superclass members are appended from the top of the hierarchy down, as DomainInfo does
+        for (int i = hierarchy.size() - 2; i >= 0; i--) {
+            hierarchy.get(i).extend(hierarchy.get(i + 1));
+        }
+        return hierarchy.get(0).descriptor();
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement superclassElement = (TypeElement) types.asElement(superclass);
+        return superclassElement.getQualifiedName().contentEquals("java.lang.Object") ? null : superclassElement;
+    }
+
+    // only annotations retained at runtime are found in class files
+    private static ObjectAnnotations annotations(Element element) {
+        ObjectAnnotations objectAnnotations = new ObjectAnnotations();
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            Retention retention = annotationType.getAnnotation(Retention.class);
+            if (retention == null || retention.value() != RetentionPolicy.RUNTIME) {
+                continue;
+            }
+            AnnotationInfo annotationInfo = new AnnotationInfo();
+            annotationInfo.setName(annotationType.getQualifiedName().toString());
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotationMirror.getElementValues().entrySet()) {
+                Object value = entry.getValue().getValue();
+                if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character) {
+                    annotationInfo.put(entry.getKey().getSimpleName().toString(), String.valueOf(value));
+                }
+            }
+            objectAnnotations.put(annotationInfo.getName(), annotationInfo);
+        }
+        return objectAnnotations;
+    }
+
+    private String descriptor(ExecutableElement method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (VariableElement parameter : method.getParameters()) {
+            descriptor.append(descriptor(parameter.asType()));
+        }
+        return descriptor.append(')').append(descriptor(method.getReturnType())).toString();
+    }
+
+    private String descriptor(TypeMirror type) {
+        TypeMirror erasure = type.getKind() == TypeKind.VOID ? type : types.erasure(type);
+        switch (erasure.getKind()) {
+            case ARRAY:
+                return "[" + descriptor(((ArrayType) erasure).getComponentType());
+            case DECLARED:
+                return "L" + elements.getBinaryName((TypeElement) types.asElement(erasure)).toString().replace('.', '/') + ";";
+            default:
+                String descriptor = PRIMITIVE_DESCRIPTORS.get(erasure.getKind());
+                if (descriptor == null) {
+                    throw new IllegalArgumentException("unsupported type " + type);
+                }
+                return descriptor;
+        }
+    }
+
+    private String signature(ExecutableElement method) {
+        StringBuilder signature = new StringBuilder();
+        if (!method.getTypeParameters().isEmpty()) {
+            signature.append('<');
+            for (TypeParameterElement typeParameter : method.getTypeParameters()) {
+                signature.append(typeParameter.getSimpleName());
+                for (TypeMirror bound : typeParameter.getBounds()) {
+                    signature.append(':').append(signature(bound));
+                }
+            }
+            signature.append('>');
+        }
+        signature.append('(');
+        for (VariableElement parameter : method.getParameters()) {
+            signature.append(signature(parameter.asType()));
+        }
+        return signature.append(')').append(signature(method.getReturnType())).toString();
+    }
+
+    private String signature(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return "[" + signature(((ArrayType) type).getComponentType());
+            case DECLARED:
+                StringBuilder signature = new StringBuilder(descriptor(type));
+                List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+                if (!typeArguments.isEmpty()) {
+                    signature.setLength(signature.length() - 1);
+                    signature.append('<');
+                    for (TypeMirror typeArgument : typeArguments) {
+                        signature.append(signature(typeArgument));
+                    }
+                    signature.append(">;");
+                }
+                return signature.toString();
+            case TYPEVAR:
+                return "T" + ((TypeVariable) type).asElement().getSimpleName() + ";";
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) type;
+                if (wildcardType.getExtendsBound() != null) {
+                    return "+" + signature(wildcardType.getExtendsBound());
+                }
+                if (wildcardType.getSuperBound() != null) {
+                    return "-" + signature(wildcardType.getSuperBound());
+                }
+                return "*";
+            default:
+                return descriptor(type);
+        }
+    }
+
+    // what FieldsInfo and MethodsInfo take from the Signature attribute, which is only written for generic types
+    private static String typeParameterDescriptor(String descriptor, String signature) {
+        if (signature.equals(descriptor)) {
+            return null;
+        }
+        int start = signature.indexOf('<');
+        int end = signature.indexOf('>');
+        if (start < 0 || end < 0) {
+            throw new IllegalArgumentException("the signature " + signature + " can't be mapped");
+        }
+        return signature.substring(start + 1, end);
+    }
+
+    // the name of the constant holding the converter the strategy would use for values of the given type, if any
+    private String converter(TypeMirror type, Map<String, String> converters) {
+        boolean converted;
+        if (type.getKind() == TypeKind.DECLARED) {
+            Element element = types.asElement(type);
+            converted = element.getKind() == ElementKind.ENUM || element.toString().equals(Character.class.getName())
+                    || PropertyConverters.isConvertible(descriptor(type));
+        } else {
+            converted = type.getKind() == TypeKind.CHAR;
+        }
+        if (!converted) {
+            return null;
+        }
+        String descriptor = descriptor(type);
+        String name = converters.get(descriptor);
+        if (name == null) {
+            name = "CONVERTER_" + converters.size();
+            converters.put(descriptor, name);
+        }
+        return name;
+    }
+
+    private boolean isIterable(TypeMirror type) {
+        TypeElement iterable = elements.getTypeElement(Iterable.class.getName());
+        return types.isAssignable(type, types.erasure(iterable.asType()));
+    }
+
+    // generated code lives in the package of the entity
+    private boolean isAccessible(Element member, TypeElement type) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        return modifiers.contains(Modifier.PUBLIC) || elements.getPackageOf(member).equals(elements.getPackageOf(type));
+    }
+
+    private static String literal(String string) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : string.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
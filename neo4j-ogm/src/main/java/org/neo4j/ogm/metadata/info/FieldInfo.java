@@ -3,6 +3,8 @@ package org.neo4j.ogm.metadata.info;
 import org.neo4j.ogm.annotation.Property;
 import org.neo4j.ogm.annotation.Relationship;
 import org.neo4j.ogm.metadata.RelationshipUtils;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
+import org.neo4j.ogm.typeconversion.PropertyConverters;
 
 public class FieldInfo {
 
@@ -13,6 +15,14 @@ public class FieldInfo {
     private final String typeParameterDescriptor;
     private final ObjectAnnotations annotations;
 
+    // resolved on first use
+    private String property;
+    private volatile boolean propertyResolved;
+    private String relationship;
+    private volatile boolean relationshipResolved;
+    private PropertyConverter converter;
+    private volatile ClassLoader converterLoader; // the loader the converter was resolved through, written last
+
     /**
      * Constructs a new {@link FieldInfo} based on the given arguments.
      *
@@ -38,8 +48,8 @@ public class FieldInfo {
         return descriptor.equals(fieldSignature);
     }
 
-    public String property() {
-        if (isSimple()) {
+    private String resolveProperty() {
+        if (isSimple() || getAnnotations().get(Property.CLASS) != null) {
             try {
                 return getAnnotations().get(Property.CLASS).get(Property.NAME, getName());
             } catch (NullPointerException npe) {
@@ -49,8 +59,8 @@ public class FieldInfo {
         return null;
     }
 
-    public String relationship() {
-        if (!isSimple()) {
+    private String resolveRelationship() {
+        if (!isSimple() && getAnnotations().get(Property.CLASS) == null) {
             try {
                 return getAnnotations().get(Relationship.CLASS).get(Relationship.TYPE, getName());
             } catch (NullPointerException npe) {
@@ -60,16 +70,50 @@ public class FieldInfo {
         return null;
     }
 
+    public String property() {
+        if (!propertyResolved) {
+            property = resolveProperty();
+            propertyResolved = true;
+        }
+        return property;
+    }
+
+    public String relationship() {
+        if (!relationshipResolved) {
+            relationship = resolveRelationship();
+            relationshipResolved = true;
+        }
+        return relationship;
+    }
+
+    /**
+     * @param classLoader the class loader to load the type of the field through; the converter is resolved again
+     *        should another one be given
+     * @return the converter of the values of the property this field is mapped to, or <code>null</code> if the field
+     *         isn't mapped to a property or its values are stored as they are
+     */
+    PropertyConverter converter(ClassLoader classLoader) {
+        if (converterLoader != classLoader) {
+            converter = property() != null ? PropertyConverters.forDescriptor(descriptor, classLoader) : null;
+            converterLoader = classLoader;
+        }
+        return converter;
+    }
+
     public String getDescriptor() {
         return descriptor;
     }
 
+    String getTypeParameterDescriptor() {
+        return typeParameterDescriptor;
+    }
+
     public ObjectAnnotations getAnnotations() {
         return annotations;
     }
 
     public boolean isSimple() {
-        return primitives.contains(descriptor) || (descriptor.contains("java/lang/") && typeParameterDescriptor == null)
+        return primitives.contains(descriptor) || PropertyConverters.isConvertible(descriptor) || (descriptor.contains("java/lang/") && typeParameterDescriptor == null)
                 || (typeParameterDescriptor != null && typeParameterDescriptor.contains("java/lang/"));
     }
 
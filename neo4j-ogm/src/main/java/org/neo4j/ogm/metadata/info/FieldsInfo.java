@@ -9,7 +9,7 @@ public class FieldsInfo {
     private static final int STATIC_FIELD = 0x0008;
     private static final int FINAL_FIELD = 0x0010;
 
-    private final Map<String, FieldInfo> fields = new HashMap<>();
+    private final Map<String, FieldInfo> fields = new LinkedHashMap<>();
 
     FieldsInfo() {}
 
@@ -55,6 +55,10 @@ public class FieldsInfo {
         return fields.get(name);
     }
 
+    void add(FieldInfo fieldInfo) {
+        fields.put(fieldInfo.getName(), fieldInfo);
+    }
+
     public void append(FieldsInfo fieldsInfo) {
         for (FieldInfo fieldInfo : fieldsInfo.fields()) {
             if (!fields.containsKey(fieldInfo.getName())) {
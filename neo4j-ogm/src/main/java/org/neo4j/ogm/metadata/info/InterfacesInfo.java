@@ -20,6 +20,10 @@ class InterfacesInfo {
         }
     }
 
+    void add(InterfaceInfo interfaceInfo) {
+        interfaceMap.put(interfaceInfo.name(), interfaceInfo);
+    }
+
     public Collection<InterfaceInfo> list() {
         return interfaceMap.values();
     }
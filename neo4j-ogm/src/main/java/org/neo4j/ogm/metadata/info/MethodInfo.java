@@ -3,6 +3,8 @@ package org.neo4j.ogm.metadata.info;
 import org.neo4j.ogm.annotation.Property;
 import org.neo4j.ogm.annotation.Relationship;
 import org.neo4j.ogm.metadata.RelationshipUtils;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
+import org.neo4j.ogm.typeconversion.PropertyConverters;
 
 public class MethodInfo {
 
@@ -14,6 +16,14 @@ public class MethodInfo {
     private final ObjectAnnotations annotations;
     private final String typeParameterDescriptor;
 
+    // resolved on first use
+    private String property;
+    private volatile boolean propertyResolved;
+    private String relationship;
+    private volatile boolean relationshipResolved;
+    private PropertyConverter converter;
+    private volatile ClassLoader converterLoader; // the loader the converter was resolved through, written last
+
     /**
      * Constructs a new {@link MethodInfo} based on the given arguments.
      *
@@ -35,8 +45,8 @@ public class MethodInfo {
         return name;
     }
 
-    public String property() {
-       if (isSimpleSetter() || isSimpleGetter()) {
+    private String resolveProperty() {
+       if (isSimpleSetter() || isSimpleGetter() || getAnnotations().get(Property.CLASS) != null) {
             try {
                 return getAnnotations().get(Property.CLASS).get(Property.NAME, getName());
             } catch (NullPointerException npe) {
@@ -51,8 +61,8 @@ public class MethodInfo {
         return null;
     }
 
-    public String relationship() {
-        if (!isSimpleSetter() && !isSimpleGetter()) {
+    private String resolveRelationship() {
+        if (!isSimpleSetter() && !isSimpleGetter() && getAnnotations().get(Property.CLASS) == null) {
             try {
                 return getAnnotations().get(Relationship.CLASS).get(Relationship.TYPE, getName());
             } catch (NullPointerException npe) {
@@ -62,20 +72,63 @@ public class MethodInfo {
         return null;
     }
 
+    public String property() {
+        if (!propertyResolved) {
+            property = resolveProperty();
+            propertyResolved = true;
+        }
+        return property;
+    }
+
+    public String relationship() {
+        if (!relationshipResolved) {
+            relationship = resolveRelationship();
+            relationshipResolved = true;
+        }
+        return relationship;
+    }
+
+    /**
+     * @param classLoader the class loader to load the type of the property through; the converter is resolved
+     *        again should another one be given
+     * @return the converter of the values of the property this getter or setter is mapped to, or <code>null</code> if
+     *         the method isn't mapped to a property or its values are stored as they are
+     */
+    PropertyConverter converter(ClassLoader classLoader) {
+        if (converterLoader != classLoader) {
+            converter = property() != null ? PropertyConverters.forDescriptor(typeDescriptor(), classLoader) : null;
+            converterLoader = classLoader;
+        }
+        return converter;
+    }
+
+    // the descriptor of the return type of a getter, or of the parameter of a setter
+    private String typeDescriptor() {
+        return descriptor.startsWith("()") ? descriptor.substring(2) : descriptor.substring(1, descriptor.indexOf(')'));
+    }
+
     public String getDescriptor() {
         return descriptor;
     }
 
+    String getTypeParameterDescriptor() {
+        return typeParameterDescriptor;
+    }
+
     public ObjectAnnotations getAnnotations() {
         return annotations;
     }
 
     public boolean isSimpleGetter() {
-        return primitiveGetters.contains(descriptor) || usesSimpleJavaTypes();
+        return primitiveGetters.contains(descriptor) || usesSimpleJavaTypes() || usesConvertibleTypes();
     }
 
     public boolean isSimpleSetter() {
-        return primitiveSetters.contains(descriptor) || usesSimpleJavaTypes();
+        return primitiveSetters.contains(descriptor) || usesSimpleJavaTypes() || usesConvertibleTypes();
+    }
+
+    private boolean usesConvertibleTypes() {
+        return (descriptor.startsWith("()") || descriptor.endsWith(")V")) && PropertyConverters.isConvertible(typeDescriptor());
     }
 
     private boolean usesSimpleJavaTypes() {
@@ -3,14 +3,14 @@ package org.neo4j.ogm.metadata.info;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class MethodsInfo {
 
-    private final Map<String, MethodInfo> methods = new HashMap<>();
-    private final Map<String, MethodInfo> getters = new HashMap<>();
-    private final Map<String, MethodInfo> setters = new HashMap<>();
+    private final Map<String, MethodInfo> methods = new LinkedHashMap<>();
+    private final Map<String, MethodInfo> getters = new LinkedHashMap<>();
+    private final Map<String, MethodInfo> setters = new LinkedHashMap<>();
 
     MethodsInfo() {}
 
@@ -71,7 +71,7 @@ public class MethodsInfo {
         }
     }
 
-    private void addMethod(MethodInfo methodInfo) {
+    void addMethod(MethodInfo methodInfo) {
         String methodName = methodInfo.getName();
         String descriptor = methodInfo.getDescriptor();
         methods.put(methodName, methodInfo);
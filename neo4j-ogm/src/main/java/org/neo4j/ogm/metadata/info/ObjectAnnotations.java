@@ -1,5 +1,6 @@
 package org.neo4j.ogm.metadata.info;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,6 +25,10 @@ public class ObjectAnnotations {
         return annotations.get(key);
     }
 
+    Collection<AnnotationInfo> list() {
+        return annotations.values();
+    }
+
     public boolean isEmpty() {
         return annotations.isEmpty();
     }
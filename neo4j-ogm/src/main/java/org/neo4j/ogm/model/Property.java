@@ -1,5 +1,7 @@
 package org.neo4j.ogm.model;
 
+import org.neo4j.ogm.typeconversion.PropertyConverters;
+
 public class Property<K, V> {
 
     K key;
@@ -43,19 +45,12 @@ public class Property<K, V> {
         return String.format("%s : %s", this.key, asParameter());
     }
 
+    /**
+     * @return The value of this property as a Cypher parameter
+     * @see PropertyConverters#toParameter(Object)
+     */
     public Object asParameter() {
-        if (value == null) {
-            return null;
-        }
-        try {
-            return Long.parseLong(value.toString());
-        } catch (Exception e1) {
-            try {
-                return Double.parseDouble(value.toString());
-            } catch (Exception e2) {
-                return value.toString();
-            }
-        }
+        return PropertyConverters.toParameter(value);
     }
 
     @Override
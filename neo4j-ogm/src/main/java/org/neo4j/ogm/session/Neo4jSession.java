@@ -5,13 +5,21 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import org.neo4j.ogm.cypher.compiler.CypherContext;
 import org.neo4j.ogm.cypher.query.GraphModelQuery;
 import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
 import org.neo4j.ogm.entityaccess.FieldAccess;
+import org.neo4j.ogm.entityaccess.ObjectAccessStrategy;
+import org.neo4j.ogm.mapper.EntityRetention;
 import org.neo4j.ogm.mapper.MappingContext;
 import org.neo4j.ogm.mapper.ObjectCypherMapper;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
 import org.neo4j.ogm.model.Property;
+import org.neo4j.ogm.session.cache.NodeCache;
+import org.neo4j.ogm.session.cache.NodeCacheResponse;
+import org.neo4j.ogm.session.lazy.LazyCollections;
+import org.neo4j.ogm.session.lazy.NeighbourLoader;
 import org.neo4j.ogm.session.request.*;
 import org.neo4j.ogm.session.request.strategy.DeleteStatements;
 import org.neo4j.ogm.session.request.strategy.VariableDepthQuery;
@@ -24,9 +32,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class Neo4jSession implements Session {
 
@@ -34,8 +41,11 @@ public class Neo4jSession implements Session {
 
     private final MetaData metaData;
     private final MappingContext mappingContext;
+    private final ObjectAccessStrategy objectAccessStrategy;
     private final ObjectMapper mapper;
     private final String autoCommitUrl;
+    private final NodeCache nodeCache; // shared with the other sessions of the factory, if any
+    private LazyCollections lazyCollections; // unless lazy loading is off
 
     private RequestHandler requestHandler;
     private ResponseHandler responseHandler;
@@ -44,21 +54,62 @@ public class Neo4jSession implements Session {
     private Transaction transaction;
 
     public Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper) {
+        this(metaData, url, client, mapper, new DefaultObjectAccessStrategy());
+    }
+
+    public Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper, ObjectAccessStrategy objectAccessStrategy) {
+        this(metaData, url, client, mapper, objectAccessStrategy, EntityRetention.STRONG);
+    }
+
+    public Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper, ObjectAccessStrategy objectAccessStrategy, EntityRetention entityRetention) {
+        this(metaData, url, client, mapper, objectAccessStrategy, entityRetention, null);
+    }
+
+    public Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper, ObjectAccessStrategy objectAccessStrategy, EntityRetention entityRetention, NodeCache nodeCache) {
+        this(metaData, url, client, mapper, objectAccessStrategy, entityRetention, nodeCache, null);
+    }
+
+    public Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper, ObjectAccessStrategy objectAccessStrategy, EntityRetention entityRetention, NodeCache nodeCache, ForkJoinPool hydrationPool) {
         this.metaData = metaData;
+        this.nodeCache = nodeCache;
         this.mapper = mapper;
-        this.mappingContext = new MappingContext(metaData);
+        this.mappingContext = new MappingContext(metaData, entityRetention);
+        this.objectAccessStrategy = objectAccessStrategy;
 
         this.transactionRequestHandler = new TransactionRequestHandler(client, url);
         this.autoCommitUrl = autoCommit(url);
 
         this.requestHandler = new SessionRequestHandler(mapper, new DefaultRequest(client));
-        this.responseHandler = new SessionResponseHandler(metaData, mappingContext);
+        this.responseHandler = new SessionResponseHandler(metaData, mappingContext, objectAccessStrategy, hydrationPool);
     }
 
     public void setRequestHandler(Neo4jRequest<String> requestHandler) {
         this.requestHandler = new SessionRequestHandler(mapper, requestHandler);
     }
 
+    /**
+     * Sets whether the collections of related objects beyond the depth of a load are loaded when they are first used,
+     * rather than left <code>null</code>, which is the default. See {@link LazyCollections}.
+     *
+     * @param lazyLoading whether to load collections lazily
+     */
+    public void setLazyLoading(boolean lazyLoading) {
+        if (!lazyLoading) {
+            this.lazyCollections = null;
+        } else if (lazyCollections == null) {
+            this.lazyCollections = new LazyCollections(metaData, mappingContext, new NeighbourLoader() {
+                @Override
+                public void loadNeighbours(Collection<Long> ids) {
+                    String url = getOrCreateTransaction().url();
+                    GraphModelQuery qry = new VariableDepthQuery().findAll(ids, 1);
+                    try (Neo4jResponse<GraphModel> response = execute(qry, url)) {
+                        responseHandler.loadNeighbours(lazily(response));
+                    }
+                }
+            });
+        }
+    }
+
     @Override
     public <T> T load(Class<T> type, Long id) {
         return load(type, id, 0);
@@ -66,10 +117,16 @@ public class Neo4jSession implements Session {
 
     @Override
     public <T> T load(Class<T> type, Long id, int depth) {
+        if (depth == 0 && nodeCacheUsable()) {
+            NodeModel node = nodeCache.get(id);
+            if (node != null) {
+                return responseHandler.loadById(type, lazily(new NodeCacheResponse(nodeCache, 0, Collections.singleton(node), null)), id);
+            }
+        }
         String url = getOrCreateTransaction().url();
         GraphModelQuery qry = new VariableDepthQuery().findOne(id, depth);
-        try (Neo4jResponse<GraphModel> response = requestHandler.execute(qry, url)) {
-            return responseHandler.loadById(type, response, id);
+        try (Neo4jResponse<GraphModel> response = execute(qry, url)) {
+            return responseHandler.loadById(type, lazily(response), id);
         }
     }
 
@@ -80,10 +137,31 @@ public class Neo4jSession implements Session {
 
     @Override
     public <T> Collection<T> loadAll(Class<T> type, Collection<Long> ids, int depth) {
+        if (depth == 0 && nodeCacheUsable()) {
+            List<NodeModel> cachedNodes = new ArrayList<>();
+            List<Long> missingIds = new ArrayList<>();
+            for (Long id : ids) {
+                NodeModel node = nodeCache.get(id);
+                if (node != null) {
+                    cachedNodes.add(node);
+                } else {
+                    missingIds.add(id);
+                }
+            }
+            if (missingIds.isEmpty()) {
+                return responseHandler.loadAll(type, lazily(new NodeCacheResponse(nodeCache, 0, cachedNodes, null)));
+            }
+            long generation = nodeCache.generation();
+            String url = getOrCreateTransaction().url();
+            GraphModelQuery qry = new VariableDepthQuery().findAll(missingIds, depth);
+            try (Neo4jResponse<GraphModel> response = new NodeCacheResponse(nodeCache, generation, cachedNodes, requestHandler.execute(qry, url))) {
+                return responseHandler.loadAll(type, lazily(response));
+            }
+        }
         String url = getOrCreateTransaction().url();
         GraphModelQuery qry = new VariableDepthQuery().findAll(ids, depth);
-        try (Neo4jResponse<GraphModel> response = requestHandler.execute(qry, url)) {
-            return responseHandler.loadAll(type, response);
+        try (Neo4jResponse<GraphModel> response = execute(qry, url)) {
+            return responseHandler.loadAll(type, lazily(response));
         }
     }
 
@@ -94,11 +172,11 @@ public class Neo4jSession implements Session {
 
     @Override
     public <T> Collection<T> loadAll(Class<T> type, int depth) {
-        ClassInfo classInfo = metaData.classInfo(type.getName());
+        ClassInfo classInfo = metaData.classInfo(type);
         String url = getOrCreateTransaction().url();
         GraphModelQuery qry = new VariableDepthQuery().findByLabel(classInfo.label(), depth);
-        try (Neo4jResponse<GraphModel> response = requestHandler.execute(qry, url)) {
-            return responseHandler.loadAll(type, response);
+        try (Neo4jResponse<GraphModel> response = execute(qry, url)) {
+            return responseHandler.loadAll(type, lazily(response));
         }
     }
 
@@ -116,7 +194,7 @@ public class Neo4jSession implements Session {
 
         Set<Long> ids = new HashSet<>();
         Class type = objects.iterator().next().getClass();
-        ClassInfo classInfo = metaData.classInfo(type.getName());
+        ClassInfo classInfo = metaData.classInfo(type);
         Field identityField = classInfo.getField(classInfo.identityField());
         for (Object o: objects) {
             ids.add((Long) FieldAccess.read(identityField, o));
@@ -131,11 +209,11 @@ public class Neo4jSession implements Session {
 
     @Override
     public <T> Collection<T> loadByProperty(Class<T> type, Property<String, Object> property, int depth) {
-        ClassInfo classInfo = metaData.classInfo(type.getName());
+        ClassInfo classInfo = metaData.classInfo(type);
         String url = getOrCreateTransaction().url();
         GraphModelQuery qry = new VariableDepthQuery().findByProperty(classInfo.label(), property, depth);
-        try (Neo4jResponse<GraphModel> response = requestHandler.execute(qry, url)) {
-            return responseHandler.loadByProperty(type, response, property);
+        try (Neo4jResponse<GraphModel> response = execute(qry, url)) {
+            return responseHandler.loadByProperty(type, lazily(response), property);
         }
     }
 
@@ -158,7 +236,7 @@ public class Neo4jSession implements Session {
 //        }
 //
 //        // no current user transaction - lets get one.
-        this.transaction = transactionRequestHandler.openTransaction(mappingContext);
+        this.transaction = transactionRequestHandler.openTransaction(mappingContext, nodeCache);
         logger.info("obtained new transaction: " + this.transaction.url());
         return this.transaction;
     }
@@ -166,15 +244,17 @@ public class Neo4jSession implements Session {
     @Override
     public void execute(String statement) {
         ParameterisedStatement parameterisedStatement = new ParameterisedStatement(statement, Utils.map());
-        String url = getOrCreateTransaction().url();
-        requestHandler.execute(parameterisedStatement, url).close();
+        Transaction tx = getOrCreateTransaction();
+        requestHandler.execute(parameterisedStatement, tx.url()).close();
+        tx.clearOnCommit(); // the statement may have changed any node
     }
 
     @Override
     public void purge() {
-        String url = getOrCreateTransaction().url();
-        requestHandler.execute(new DeleteStatements().purge(), url).close();
+        Transaction tx = getOrCreateTransaction();
+        requestHandler.execute(new DeleteStatements().purge(), tx.url()).close();
         mappingContext.clear();
+        tx.clearOnCommit();
     }
 
     @Override
@@ -185,7 +265,7 @@ public class Neo4jSession implements Session {
     @Override
     public <T> void save(T object, int depth) {
         Transaction tx = getOrCreateTransaction();
-        CypherContext context = new ObjectCypherMapper(metaData, mappingContext).mapToCypher(object, depth);
+        CypherContext context = new ObjectCypherMapper(metaData, mappingContext, objectAccessStrategy).mapToCypher(object, depth);
         try (Neo4jResponse<String> response = requestHandler.execute(context.getStatements(), tx.url())) {
             responseHandler.updateObjects(context, response, mapper);
             tx.append(context);
@@ -198,17 +278,18 @@ public class Neo4jSession implements Session {
     @Override
     public <T> void delete(T object) {
 
-        ClassInfo classInfo = metaData.classInfo(object.getClass().getName());
+        ClassInfo classInfo = metaData.classInfo(object.getClass());
         Field identityField = classInfo.getField(classInfo.identityField());
         Long identity = (Long) FieldAccess.read(identityField, object);
         if (identity != null) {
-            String url = getOrCreateTransaction().url();
+            Transaction tx = getOrCreateTransaction();
             ParameterisedStatement request = new DeleteStatements().delete(identity);
-            try (Neo4jResponse<String> response = requestHandler.execute(request, url)) {
+            try (Neo4jResponse<String> response = requestHandler.execute(request, tx.url())) {
                 // nothing to process on the response - looks a bit odd.
                 // should be done on commit?? when do these objects disappear?
                 mappingContext.getAll(object.getClass()).remove(object);
                 // should also remove relationships associated with this object;
+                tx.evictOnCommit(identity);
 
             }
         }
@@ -216,13 +297,14 @@ public class Neo4jSession implements Session {
 
     @Override
     public <T> void deleteAll(Class<T> type) {
-        ClassInfo classInfo = metaData.classInfo(type.getName());
-        String url = getOrCreateTransaction().url();
+        ClassInfo classInfo = metaData.classInfo(type);
+        Transaction tx = getOrCreateTransaction();
         ParameterisedStatement request = new DeleteStatements().deleteByLabel(classInfo.label());
-        try (Neo4jResponse<String> response = requestHandler.execute(request, url)) {
+        try (Neo4jResponse<String> response = requestHandler.execute(request, tx.url())) {
             // should be done on commit.
             mappingContext.getAll(type).clear();
-            mappingContext.mappedRelationships().clear(); // not the real deal
+            mappingContext.clearRelationships(); // not the real deal
+            tx.clearOnCommit();
         }
     }
 
@@ -232,6 +314,27 @@ public class Neo4jSession implements Session {
         return url + "db/data/transaction/commit";
     }
 
+    // nodes read in a user transaction may not have been committed, and the transaction may already have changed
+    // the nodes in the cache, so the cache is only used outside of one
+    private boolean nodeCacheUsable() {
+        return nodeCache != null && (transaction == null || transaction.status() == Transaction.Status.COMMITTED
+                || transaction.status() == Transaction.Status.ROLLEDBACK || transaction.status() == Transaction.Status.CLOSED);
+    }
+
+    // executes the query, caching the nodes it returns if there is a node cache to use
+    private Neo4jResponse<GraphModel> execute(GraphModelQuery query, String url) {
+        if (!nodeCacheUsable()) {
+            return requestHandler.execute(query, url);
+        }
+        long generation = nodeCache.generation();
+        return new NodeCacheResponse(nodeCache, generation, Collections.<NodeModel>emptyList(), requestHandler.execute(query, url));
+    }
+
+    // gives the objects mapped from the response lazy collections if lazy loading is on
+    private Neo4jResponse<GraphModel> lazily(Neo4jResponse<GraphModel> response) {
+        return lazyCollections != null ? lazyCollections.recording(response) : response;
+    }
+
     // if there is no user transaction, create a transient auto-commit one;
     private Transaction getOrCreateTransaction() {
 
@@ -240,7 +343,7 @@ public class Neo4jSession implements Session {
 
         if (transaction == null) {
             logger.info("There is no existing transaction, creating a transient one");
-            return new SimpleTransaction(mappingContext, autoCommitUrl);
+            return new SimpleTransaction(mappingContext, autoCommitUrl, nodeCache);
         }
 
         if  (transaction.status().equals(Transaction.Status.CLOSED)) {
@@ -3,20 +3,96 @@ package org.neo4j.ogm.session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
+import org.neo4j.ogm.entityaccess.ObjectAccessStrategy;
+import org.neo4j.ogm.mapper.EntityRetention;
 import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.session.cache.NodeCache;
+
+import java.util.concurrent.ForkJoinPool;
 
 public class SessionFactory {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
     private final CloseableHttpClient httpClient = HttpClients.createDefault();
     private final MetaData metaData;
+    private final ObjectAccessStrategy objectAccessStrategy = new DefaultObjectAccessStrategy(); // shared by all sessions
+    private volatile EntityRetention entityRetention = EntityRetention.STRONG;
+    private volatile NodeCache nodeCache;
+    private volatile ForkJoinPool hydrationPool;
+    private volatile boolean lazyLoading;
 
     public SessionFactory(String... packages) {
         this.metaData = new MetaData(packages);
     }
 
+    public MetaData metaData() {
+        return metaData;
+    }
+
+    public EntityRetention getEntityRetention() {
+        return entityRetention;
+    }
+
+    /**
+     * Sets how long the sessions opened from now on hold on to the entities they map.
+     *
+     * @param entityRetention the retention policy, {@link EntityRetention#STRONG} by default
+     */
+    public void setEntityRetention(EntityRetention entityRetention) {
+        if (entityRetention == null) {
+            throw new NullPointerException("entityRetention");
+        }
+        this.entityRetention = entityRetention;
+    }
+
+    public NodeCache getNodeCache() {
+        return nodeCache;
+    }
+
+    /**
+     * Sets the cache of nodes shared by the sessions opened from now on, which is off by default. Only loads of depth
+     * 0 made outside of a transaction are answered from the cache.
+     *
+     * @param nodeCache the cache, or <code>null</code> for none
+     */
+    public void setNodeCache(NodeCache nodeCache) {
+        this.nodeCache = nodeCache;
+    }
+
+    public ForkJoinPool getHydrationPool() {
+        return hydrationPool;
+    }
+
+    /**
+     * Sets the pool on which the sessions opened from now on map large responses to objects, which is off by default.
+     * The setters of the domain classes mustn't change other objects than their own for this to be safe. The pool is
+     * left for the caller to shut down.
+     *
+     * @param hydrationPool the pool, or <code>null</code> to map responses on the thread that loads them
+     */
+    public void setHydrationPool(ForkJoinPool hydrationPool) {
+        this.hydrationPool = hydrationPool;
+    }
+
+    public boolean isLazyLoading() {
+        return lazyLoading;
+    }
+
+    /**
+     * Sets whether the sessions opened from now on load the collections of related objects beyond the depth of a load
+     * when they are first used, rather than leave them <code>null</code>, which is the default.
+     *
+     * @param lazyLoading whether to load collections lazily
+     */
+    public void setLazyLoading(boolean lazyLoading) {
+        this.lazyLoading = lazyLoading;
+    }
+
     public Session openSession(String url) {
-        return new Neo4jSession(metaData, url, httpClient, objectMapper);
+        Neo4jSession session = new Neo4jSession(metaData, url, httpClient, objectMapper, objectAccessStrategy, entityRetention, nodeCache, hydrationPool);
+        session.setLazyLoading(lazyLoading);
+        return session;
     }
 
 }
@@ -0,0 +1,187 @@
+package org.neo4j.ogm.session.cache;
+
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.Property;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of the nodes loaded by the sessions of a {@link org.neo4j.ogm.session.SessionFactory}, so that a node that
+ * has been loaded by one session can be mapped by another without asking the database again.
+ *
+ * The cache holds a snapshot of the labels and the properties of each node, but not its relationships, so it can
+ * only answer loads of depth 0. It holds up to a maximum number of nodes, beyond which the least recently used are
+ * evicted, and optionally for a limited time only. Nodes are evicted as the changes or deletions made to them through
+ * any of the sessions are committed, and the whole cache is cleared as the operations that could have changed any
+ * node are. Nodes are copied in and out of the cache, down to the collections and arrays of their property values.
+ */
+public class NodeCache {
+
+    private final int maxNodes;
+    private final long timeToLiveNanos;
+
+    private final LinkedHashMap<Long, Entry> entries;
+    private long generation; // the number of evictions so far, see put
+
+    /**
+     * @param maxNodes the maximum number of nodes to hold
+     */
+    public NodeCache(int maxNodes) {
+        this(maxNodes, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param maxNodes the maximum number of nodes to hold
+     * @param timeToLive how long a node is held after it was loaded, or 0 for as long as it isn't evicted
+     * @param unit the unit of the time to live
+     */
+    public NodeCache(final int maxNodes, long timeToLive, TimeUnit unit) {
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("maxNodes must be positive: " + maxNodes);
+        }
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("timeToLive must not be negative: " + timeToLive);
+        }
+        this.maxNodes = maxNodes;
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxNodes;
+            }
+        };
+    }
+
+    /**
+     * @param id the id of the node
+     * @return a copy of the node as it was loaded, or <code>null</code> if it isn't cached
+     */
+    public synchronized NodeModel get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (timeToLiveNanos > 0 && System.nanoTime() - entry.loaded > timeToLiveNanos) {
+            entries.remove(id);
+            return null;
+        }
+        return copy(entry.node);
+    }
+
+    /**
+     * A load must take the generation of the cache before it asks the database for nodes, and hand it to
+     * {@link #put(NodeModel, long)} with each node it gets back, so that nodes that may have changed while they were
+     * being loaded aren't cached.
+     *
+     * @return the generation of the cache
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches a copy of the given node, unless a node has been evicted since the given generation of the cache.
+     *
+     * @param node the node as it was loaded
+     * @param generation the generation of the cache when the node was asked for
+     */
+    public synchronized void put(NodeModel node, long generation) {
+        if (generation == this.generation) {
+            entries.put(node.getId(), new Entry(copy(node), System.nanoTime()));
+        }
+    }
+
+    public synchronized void evict(Long id) {
+        generation++;
+        entries.remove(id);
+    }
+
+    public synchronized void evictAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        generation++;
+        for (Long id : ids) {
+            entries.remove(id);
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int maxNodes() {
+        return maxNodes;
+    }
+
+    private static NodeModel copy(NodeModel node) {
+        NodeModel copy = new NodeModel();
+        copy.setId(node.getId());
+        copy.setLabels(node.getLabels() != null ? node.getLabels().clone() : null);
+        List<Property<String, Object>> properties = new ArrayList<>(node.getPropertyList().size());
+        for (Property<String, Object> property : node.getPropertyList()) {
+            properties.add(new Property<>(property.getKey(), copy(property.getValue())));
+        }
+        copy.setPropertyList(properties);
+        return copy;
+    }
+
+    /**
+     * Copies the collections, maps and arrays a property value is made of, since they may be changed by whoever got the
+     * node, e.g. as the collection of an entity merged into. Other values are immutable and are shared.
+     */
+    private static Object copy(Object value) {
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                copy.add(copy(element));
+            }
+            return copy;
+        }
+        if (value instanceof Collection) {
+            Set<Object> copy = new LinkedHashSet<>();
+            for (Object element : (Collection<?>) value) {
+                copy.add(copy(element));
+            }
+            return copy;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            if (value instanceof Object[]) {
+                for (int i = 0; i < length; i++) {
+                    Array.set(copy, i, copy(Array.get(value, i)));
+                }
+            } else {
+                System.arraycopy(value, 0, copy, 0, length);
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static final class Entry {
+
+        final NodeModel node;
+        final long loaded;
+
+        Entry(NodeModel node, long loaded) {
+            this.node = node;
+            this.loaded = loaded;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.neo4j.ogm.session.cache;
+
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+
+import java.util.Collection;
+
+/**
+ * A response made of nodes taken from a {@link NodeCache}, followed by those of a response from the database, if any,
+ * which are cached as they are read.
+ */
+public class NodeCacheResponse implements Neo4jResponse<GraphModel> {
+
+    private final NodeCache nodeCache;
+    private final long generation;
+    private final Neo4jResponse<GraphModel> response;
+    private GraphModel cached;
+
+    /**
+     * @param nodeCache the cache
+     * @param generation the generation of the cache taken before the database was asked for the response
+     * @param cachedNodes the nodes taken from the cache
+     * @param response the response from the database, or <code>null</code> if all the nodes came from the cache
+     */
+    public NodeCacheResponse(NodeCache nodeCache, long generation, Collection<NodeModel> cachedNodes, Neo4jResponse<GraphModel> response) {
+        this.nodeCache = nodeCache;
+        this.generation = generation;
+        this.response = response;
+        if (!cachedNodes.isEmpty()) {
+            cached = new GraphModel();
+            cached.setNodes(cachedNodes.toArray(new NodeModel[cachedNodes.size()]));
+        }
+    }
+
+    @Override
+    public GraphModel next() {
+        if (cached != null) {
+            GraphModel graphModel = cached;
+            cached = null;
+            return graphModel;
+        }
+        if (response == null) {
+            return null;
+        }
+        GraphModel graphModel = response.next();
+        if (graphModel != null) {
+            for (NodeModel node : graphModel.getNodes()) {
+                nodeCache.put(node, generation);
+            }
+        }
+        return graphModel;
+    }
+
+    @Override
+    public void close() {
+        if (response != null) {
+            response.close();
+        }
+    }
+
+    @Override
+    public void initialiseScan(String token) {
+        if (response != null) {
+            response.initialiseScan(token);
+        }
+    }
+
+    @Override
+    public String[] columns() {
+        return response != null ? response.columns() : new String[0];
+    }
+
+    @Override
+    public int rowId() {
+        return response != null ? response.rowId() : -1;
+    }
+}
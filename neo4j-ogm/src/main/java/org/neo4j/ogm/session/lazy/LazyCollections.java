@@ -0,0 +1,232 @@
+package org.neo4j.ogm.session.lazy;
+
+import org.neo4j.ogm.entityaccess.FieldAccess;
+import org.neo4j.ogm.entityaccess.LazyCollection;
+import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.FieldInfo;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Gives the objects loaded by a session {@link LazyCollection}s for their relationships beyond what was loaded.
+ *
+ * Once a response has been mapped, each collection of related objects that the response left <code>null</code> is
+ * given a lazy collection instead, provided it is declared as a {@link List}, {@link Set}, {@link Collection} or
+ * {@link Iterable}. The lazy collections given to the objects of a response are loaded together: when any of them is
+ * first used, the neighbours of all their objects are loaded with one request, after which each lazy collection stands
+ * for the collection its object was given, which may be empty. The neighbours get lazy collections of their own.
+ *
+ * Loading the neighbours wires them to the objects already loaded, but doesn't write the properties of those objects,
+ * so that their unsaved changes are kept. Until it is loaded, a lazy collection answers <code>equals</code>,
+ * <code>hashCode</code> and <code>toString</code> itself, by identity, and only takes on those of the collection it
+ * stands for once loaded. It holds its object by id, not to keep it from being evicted.
+ *
+ * A collection may be <code>null</code> after a load because there were no such relationships to load rather than
+ * because they were beyond the depth of the load, in which case using its lazy collection costs a request for
+ * nothing. Fields that hold a single object are left as they are, there being no way to stand in for any class.
+ * Nor are collections that a load left partly filled, e.g. with the neighbours that happened to be loaded along with
+ * an object at the edge of the load: only a collection that was left <code>null</code> is known to be missing all
+ * of its objects, so those are as incomplete as they would be without lazy loading.
+ */
+public class LazyCollections {
+
+    private final MetaData metaData;
+    private final MappingContext mappingContext;
+    private final NeighbourLoader neighbourLoader;
+
+    public LazyCollections(MetaData metaData, MappingContext mappingContext, NeighbourLoader neighbourLoader) {
+        this.metaData = metaData;
+        this.mappingContext = mappingContext;
+        this.neighbourLoader = neighbourLoader;
+    }
+
+    /**
+     * @param response a response to be mapped
+     * @return the response, which gives the objects mapped from its nodes lazy collections once it is closed
+     */
+    public Neo4jResponse<GraphModel> recording(Neo4jResponse<GraphModel> response) {
+        return new RecordingResponse(response);
+    }
+
+    /**
+     * Gives the objects of the given nodes lazy collections for those of their collections that are <code>null</code>,
+     * to be loaded together.
+     *
+     * @param ids the ids of the nodes
+     */
+    public void install(Collection<Long> ids) {
+        Batch batch = new Batch();
+        for (Long id : ids) {
+            Object owner = mappingContext.get(id);
+            if (owner == null) {
+                continue;
+            }
+            ClassInfo classInfo = metaData.classInfo(owner.getClass());
+            for (FieldInfo fieldInfo : classInfo.descriptor().relationshipFields()) {
+                Field field = classInfo.getField(fieldInfo);
+                if (lazy(field.getType()) && FieldAccess.read(field, owner) == null) {
+                    FieldAccess.write(field, owner, batch.add(id, field));
+                }
+            }
+        }
+    }
+
+    private static boolean lazy(Class<?> type) {
+        return type == List.class || type == Set.class || type == Collection.class || type == Iterable.class;
+    }
+
+    private static Collection<Object> empty(Class<?> type) {
+        return type == Set.class ? new HashSet<>() : new ArrayList<>();
+    }
+
+    /**
+     * The lazy collections given to the objects of one response.
+     */
+    private final class Batch {
+
+        private final List<Loader> unloaded = new ArrayList<>();
+
+        Object add(Long ownerId, Field field) {
+            Loader loader = new Loader(this, ownerId, field);
+            unloaded.add(loader);
+            return Proxy.newProxyInstance(LazyCollection.class.getClassLoader(), new Class<?>[] {field.getType(), LazyCollection.class}, loader);
+        }
+
+        void load() {
+            Set<Long> ownerIds = new LinkedHashSet<>();
+            for (Loader loader : unloaded) {
+                ownerIds.add(loader.ownerId);
+            }
+            neighbourLoader.loadNeighbours(ownerIds);
+            for (Loader loader : unloaded) {
+                loader.resolve(mappingContext.get(loader.ownerId));
+            }
+            unloaded.clear();
+        }
+    }
+
+    /**
+     * Stands in for one collection of one object, and loads it with the rest of its batch when first used.
+     */
+    private static final class Loader implements InvocationHandler {
+
+        private final Batch batch;
+        private final Long ownerId;
+        private final Field field;
+        private Object collection; // once loaded
+
+        Loader(Batch batch, Long ownerId, Field field) {
+            this.batch = batch;
+            this.ownerId = ownerId;
+            this.field = field;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == LazyCollection.class) {
+                return collection != null;
+            }
+            if (collection == null) {
+                // answered by identity, so that the collection can be kept in sets, compared and logged unloaded
+                switch (method.getName()) {
+                    case "equals":
+                        if (method.getParameterTypes().length == 1) {
+                            return proxy == args[0];
+                        }
+                        break;
+                    case "hashCode":
+                        if (method.getParameterTypes().length == 0) {
+                            return System.identityHashCode(proxy);
+                        }
+                        break;
+                    case "toString":
+                        if (method.getParameterTypes().length == 0) {
+                            return "unloaded " + field.getName() + " of node " + ownerId;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                batch.load();
+            }
+            try {
+                return method.invoke(collection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        // takes on the collection the object was given by the load, or an empty one if there was nothing to load or
+        // the object has been evicted
+        void resolve(Object owner) {
+            Object value = owner != null ? FieldAccess.read(field, owner) : null;
+            if (value == null || value instanceof LazyCollection && !((LazyCollection) value).isLoaded()) {
+                Collection<Object> none = empty(field.getType());
+                if (value != null) { // the object has been given a lazy collection again, or still holds this one
+                    FieldAccess.write(field, owner, none);
+                }
+                value = none;
+            }
+            collection = value;
+        }
+    }
+
+    /**
+     * Records the nodes of a response as they are read, and installs lazy collections for them when it is closed.
+     */
+    private final class RecordingResponse implements Neo4jResponse<GraphModel> {
+
+        private final Neo4jResponse<GraphModel> response;
+        private final List<Long> ids = new ArrayList<>();
+        private boolean closed;
+
+        RecordingResponse(Neo4jResponse<GraphModel> response) {
+            this.response = response;
+        }
+
+        @Override
+        public GraphModel next() {
+            GraphModel graphModel = response.next();
+            if (graphModel != null) {
+                for (NodeModel node : graphModel.getNodes()) {
+                    ids.add(node.getId());
+                }
+            }
+            return graphModel;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+            if (!closed) {
+                closed = true;
+                install(ids);
+            }
+        }
+
+        @Override
+        public void initialiseScan(String token) {
+            response.initialiseScan(token);
+        }
+
+        @Override
+        public String[] columns() {
+            return response.columns();
+        }
+
+        @Override
+        public int rowId() {
+            return response.rowId();
+        }
+    }
+}
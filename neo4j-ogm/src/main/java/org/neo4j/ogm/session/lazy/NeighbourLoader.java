@@ -0,0 +1,15 @@
+package org.neo4j.ogm.session.lazy;
+
+import java.util.Collection;
+
+/**
+ * Loads the nodes next to given nodes, and the relationships to them, into the objects of a session.
+ */
+public interface NeighbourLoader {
+
+    /**
+     * @param ids the ids of the nodes whose neighbours to load
+     */
+    void loadNeighbours(Collection<Long> ids);
+
+}
@@ -10,8 +10,10 @@ import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.model.GraphModel;
 import org.neo4j.ogm.session.response.EmptyResponse;
 import org.neo4j.ogm.session.response.GraphModelResponse;
+import org.neo4j.ogm.session.response.JsonResponse;
 import org.neo4j.ogm.session.response.Neo4jResponse;
 import org.neo4j.ogm.session.response.RowModelResponse;
+import org.neo4j.ogm.session.response.StreamingGraphModelResponse;
 import org.neo4j.ogm.session.result.RowModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +37,10 @@ public class SessionRequestHandler implements RequestHandler {
         List<ParameterisedStatement> list = new ArrayList<>();
         list.add(query);
         Neo4jResponse<String> response = execute(list, url);
+        if (response instanceof JsonResponse) {
+            // the graphs can be read from the stream as it arrives, rather than record by record
+            return new StreamingGraphModelResponse((JsonResponse) response, mapper);
+        }
         return new GraphModelResponse(response, mapper);
     }
 
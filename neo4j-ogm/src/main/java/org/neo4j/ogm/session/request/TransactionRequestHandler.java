@@ -13,6 +13,7 @@ import org.apache.http.message.BasicHeader;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.session.cache.NodeCache;
 import org.neo4j.ogm.session.result.ResultProcessingException;
 import org.neo4j.ogm.session.transaction.LongTransaction;
 import org.neo4j.ogm.session.transaction.Transaction;
@@ -31,9 +32,13 @@ public class TransactionRequestHandler {
     }
 
     public Transaction openTransaction(MappingContext mappingContext) {
+        return openTransaction(mappingContext, null);
+    }
+
+    public Transaction openTransaction(MappingContext mappingContext, NodeCache nodeCache) {
         String transactionEndpoint = newTransactionEndpointUrl();
         logger.info("creating new transaction with endpoint " + transactionEndpoint);
-        return new LongTransaction(mappingContext, transactionEndpoint, this);
+        return new LongTransaction(mappingContext, transactionEndpoint, this, nodeCache);
     }
 
     public void rollback(Transaction tx) {
@@ -0,0 +1,76 @@
+package org.neo4j.ogm.session.response;
+
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.RelationshipModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Joins the graph models of a response into larger ones, of at least a given number of nodes and relationships unless
+ * the response ends first, so that there is enough of each to be worth mapping in parallel.
+ *
+ * The nodes and relationships keep the order they came in, so the nodes a relationship connects still come no later
+ * than the relationship does.
+ */
+public class CoalescingGraphModelResponse implements Neo4jResponse<GraphModel> {
+
+    private final Neo4jResponse<GraphModel> response;
+    private final int minSize;
+
+    /**
+     * @param response the response to read the graph models from
+     * @param minSize the number of nodes and relationships to gather before a graph model is handed out
+     */
+    public CoalescingGraphModelResponse(Neo4jResponse<GraphModel> response, int minSize) {
+        this.response = response;
+        this.minSize = minSize;
+    }
+
+    @Override
+    public GraphModel next() {
+        GraphModel first = response.next();
+        if (first == null || size(first) >= minSize) {
+            return first;
+        }
+
+        List<NodeModel> nodes = new ArrayList<>();
+        List<RelationshipModel> relationships = new ArrayList<>();
+        for (GraphModel graphModel = first; graphModel != null; ) {
+            Collections.addAll(nodes, graphModel.getNodes());
+            Collections.addAll(relationships, graphModel.getRelationships());
+            graphModel = nodes.size() + relationships.size() < minSize ? response.next() : null;
+        }
+
+        GraphModel coalesced = new GraphModel();
+        coalesced.setNodes(nodes.toArray(new NodeModel[nodes.size()]));
+        coalesced.setRelationships(relationships.toArray(new RelationshipModel[relationships.size()]));
+        return coalesced;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    @Override
+    public void initialiseScan(String token) {
+        response.initialiseScan(token);
+    }
+
+    @Override
+    public String[] columns() {
+        return response.columns();
+    }
+
+    @Override
+    public int rowId() {
+        return response.rowId();
+    }
+
+    private static int size(GraphModel graphModel) {
+        return graphModel.getNodes().length + graphModel.getRelationships().length;
+    }
+}
@@ -59,6 +59,11 @@ public class JsonResponse implements Neo4jResponse<String> {
         }
     }
 
+    // the stream of the response, before any of it has been scanned
+    InputStream stream() {
+        return results;
+    }
+
     public void close() {
         try {
             results.close();
@@ -14,5 +14,11 @@ public interface ResponseHandler {
     <T> Collection<T> loadAll(Class<T> type, Neo4jResponse<GraphModel> stream);
     <T> Set<T> loadByProperty(Class<T> type, Neo4jResponse<GraphModel> stream, Property<String, Object> filter);
 
+    /**
+     * Maps the neighbours of objects already loaded, wiring them to those objects without writing the properties of
+     * any object that was already loaded, so that its unsaved changes are kept.
+     */
+    void loadNeighbours(Neo4jResponse<GraphModel> stream);
+
     void updateObjects(CypherContext context, Neo4jResponse<String> response, ObjectMapper mapper);
 }
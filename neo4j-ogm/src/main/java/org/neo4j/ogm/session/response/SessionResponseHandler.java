@@ -2,7 +2,9 @@ package org.neo4j.ogm.session.response;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.cypher.compiler.CypherContext;
+import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
 import org.neo4j.ogm.entityaccess.FieldAccess;
+import org.neo4j.ogm.entityaccess.ObjectAccessStrategy;
 import org.neo4j.ogm.mapper.GraphObjectMapper;
 import org.neo4j.ogm.mapper.MappingContext;
 import org.neo4j.ogm.metadata.MetaData;
@@ -14,35 +16,63 @@ import org.neo4j.ogm.session.result.RowModel;
 
 import java.lang.reflect.Field;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 public class SessionResponseHandler implements ResponseHandler {
 
+    // the number of nodes and relationships gathered before they are mapped, when they may be mapped in parallel:
+    // just enough to be worth it, so that little of the response is held at a time
+    private static final int PARALLEL_BATCH_SIZE = GraphObjectMapper.PARALLEL_THRESHOLD;
+
     private final MetaData metaData;
     private final MappingContext mappingContext;
+    private final ObjectAccessStrategy objectAccessStrategy;
+    private final ForkJoinPool hydrationPool;
 
     public SessionResponseHandler(MetaData metaData, MappingContext mappingContext) {
+        this(metaData, mappingContext, new DefaultObjectAccessStrategy());
+    }
+
+    public SessionResponseHandler(MetaData metaData, MappingContext mappingContext, ObjectAccessStrategy objectAccessStrategy) {
+        this(metaData, mappingContext, objectAccessStrategy, null);
+    }
+
+    /**
+     * @param hydrationPool the pool to map large responses on, or <code>null</code> to map them on the calling thread
+     */
+    public SessionResponseHandler(MetaData metaData, MappingContext mappingContext, ObjectAccessStrategy objectAccessStrategy, ForkJoinPool hydrationPool) {
         this.metaData = metaData;
         this.mappingContext = mappingContext;
+        this.objectAccessStrategy = objectAccessStrategy;
+        this.hydrationPool = hydrationPool;
     }
 
     @Override
     public <T> Set<T> loadByProperty(Class<T> type, Neo4jResponse<GraphModel> response, Property<String, Object> filter) {
+        response = batched(response);
 
-        GraphObjectMapper ogm = new GraphObjectMapper(metaData, mappingContext);
+        GraphObjectMapper ogm = graphObjectMapper();
         Set<T> objects = new HashSet<>();
 
-        GraphModel graphModel;
-        while ((graphModel = response.next()) != null) {
-            ogm.load(type, graphModel);
-            for (NodeModel nodeModel : graphModel.getNodes()) {
-                if (nodeModel.getPropertyList().contains(filter)) {
-                    objects.add((T) mappingContext.get(nodeModel.getId()));
+        mappingContext.beginLoad();
+        try {
+            GraphModel graphModel;
+            while ((graphModel = response.next()) != null) {
+                ogm.load(type, graphModel);
+                for (NodeModel nodeModel : graphModel.getNodes()) {
+                    if (matches(nodeModel, filter)) {
+                        objects.add((T) mappingContext.get(nodeModel.getId()));
+                    }
                 }
             }
+        } finally {
+            response.close();
+            mappingContext.endLoad();
         }
-        response.close();
 
         return objects;
     }
@@ -59,7 +89,7 @@ public class SessionResponseHandler implements ResponseHandler {
                 String variable = variables[i];
                 Object persisted = context.getNewObject(variable);
                 Long identity = Long.parseLong(results[i].toString());
-                ClassInfo classInfo = metaData.classInfo(persisted.getClass().getName());
+                ClassInfo classInfo = metaData.classInfo(persisted.getClass());
                 Field identityField = classInfo.getField(classInfo.identityField());
                 FieldAccess.write(identityField, persisted, identity);
             }
@@ -69,25 +99,75 @@ public class SessionResponseHandler implements ResponseHandler {
 
     @Override
     public <T> T loadById(Class<T> type, Neo4jResponse<GraphModel> response, Long id) {
-        GraphObjectMapper ogm = new GraphObjectMapper(metaData, mappingContext);
-        GraphModel graphModel;
-        while ((graphModel = response.next()) != null) {
-            ogm.load(type, graphModel);
+        response = batched(response);
+        GraphObjectMapper ogm = graphObjectMapper();
+        mappingContext.beginLoad(); // the object asked for must still be there once the whole response is mapped
+        try {
+            GraphModel graphModel;
+            while ((graphModel = response.next()) != null) {
+                ogm.load(type, graphModel);
+            }
+            return (T) mappingContext.get(id);
+        } finally {
+            response.close();
+            mappingContext.endLoad();
         }
-        response.close();
-        return (T) mappingContext.get(id);
     }
 
     @Override
     public <T> Collection<T> loadAll(Class<T> type, Neo4jResponse<GraphModel> response) {
-        Set<T> objects = new HashSet<>();
-        GraphObjectMapper ogm = new GraphObjectMapper(metaData, mappingContext);
-        GraphModel graphModel;
-        while ((graphModel = response.next()) != null) {
-            objects.addAll(ogm.load(type, graphModel));
+        response = batched(response);
+        Set<T> objects = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>()); // only those in the response
+        GraphObjectMapper ogm = graphObjectMapper();
+        mappingContext.beginLoad();
+        try {
+            GraphModel graphModel;
+            while ((graphModel = response.next()) != null) {
+                objects.addAll(ogm.load(type, graphModel));
+            }
+        } finally {
+            response.close();
+            mappingContext.endLoad();
         }
-        response.close();
         return objects;
     }
 
+    @Override
+    public void loadNeighbours(Neo4jResponse<GraphModel> response) {
+        response = batched(response);
+        GraphObjectMapper ogm = graphObjectMapper();
+        ogm.setRefreshingLoadedObjects(false);
+        mappingContext.beginLoad();
+        try {
+            GraphModel graphModel;
+            while ((graphModel = response.next()) != null) {
+                ogm.load(Object.class, graphModel);
+            }
+        } finally {
+            response.close();
+            mappingContext.endLoad();
+        }
+    }
+
+    // the filter was sent in the form its value is stored in, so the values of the node are compared in that form
+    private static boolean matches(NodeModel nodeModel, Property<String, Object> filter) {
+        Object parameter = filter.asParameter();
+        for (Property<String, Object> property : nodeModel.getPropertyList()) {
+            if (property.getKey().equals(filter.getKey())) {
+                Object value = property.asParameter();
+                return value == null ? parameter == null : value.equals(parameter);
+            }
+        }
+        return false;
+    }
+
+    private GraphObjectMapper graphObjectMapper() {
+        return new GraphObjectMapper(metaData, mappingContext, objectAccessStrategy, hydrationPool);
+    }
+
+    // the graph models of a response may be too small to be worth mapping in parallel on their own
+    private Neo4jResponse<GraphModel> batched(Neo4jResponse<GraphModel> response) {
+        return hydrationPool != null ? new CoalescingGraphModelResponse(response, PARALLEL_BATCH_SIZE) : response;
+    }
+
 }
@@ -0,0 +1,246 @@
+package org.neo4j.ogm.session.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.RelationshipModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the graphs of a response from the stream of the response itself, as it arrives.
+ *
+ * Rather than buffering a whole record and mapping it to one {@link GraphModel}, the nodes and relationships of the
+ * records are parsed one at a time and handed out in graph models of up to {@link #BATCH_SIZE} of them, so that they
+ * can be mapped to objects while the rest of the response is still being read. The nodes of a record come before its
+ * relationships, so the nodes a relationship connects have always been handed out by the time it is.
+ */
+public class StreamingGraphModelResponse implements Neo4jResponse<GraphModel> {
+
+    static final int BATCH_SIZE = 256;
+
+    // where the parser is between calls to next()
+    private static final int IN_DATA = 0;
+    private static final int IN_RECORD = 1;
+    private static final int IN_GRAPH = 2;
+    private static final int IN_NODES = 3;
+    private static final int IN_RELATIONSHIPS = 4;
+    private static final int DONE = 5;
+
+    private final InputStream stream;
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+
+    private String[] columns = new String[0];
+    private int currentRow = -1;
+    private int state;
+
+    /**
+     * @param response a response that hasn't been scanned yet
+     * @param mapper the mapper to read nodes and relationships with
+     */
+    public StreamingGraphModelResponse(JsonResponse response, ObjectMapper mapper) {
+        this(response.stream(), mapper);
+    }
+
+    public StreamingGraphModelResponse(InputStream stream, ObjectMapper mapper) {
+        this.stream = stream;
+        this.mapper = mapper;
+        try {
+            this.parser = mapper.getFactory().createParser(stream);
+            parseHeader();
+        } catch (IOException e) {
+            close();
+            throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public GraphModel next() {
+        List<NodeModel> nodes = new ArrayList<>();
+        List<RelationshipModel> relationships = new ArrayList<>();
+        try {
+            while (state != DONE && nodes.size() + relationships.size() < BATCH_SIZE) {
+                if (state == IN_NODES) {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        state = IN_GRAPH;
+                    } else {
+                        nodes.add(mapper.readValue(parser, NodeModel.class));
+                    }
+                } else if (state == IN_RELATIONSHIPS) {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        state = IN_GRAPH;
+                    } else {
+                        relationships.add(mapper.readValue(parser, RelationshipModel.class));
+                    }
+                } else {
+                    advance();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if (nodes.isEmpty() && relationships.isEmpty()) {
+            return null;
+        }
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(nodes.toArray(new NodeModel[nodes.size()]));
+        graphModel.setRelationships(relationships.toArray(new RelationshipModel[relationships.size()]));
+        return graphModel;
+    }
+
+    @Override
+    public void close() {
+        try {
+            stream.close();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void initialiseScan(String token) {
+        // the graphs are found by structure rather than by scanning for a token
+    }
+
+    @Override
+    public String[] columns() {
+        return columns;
+    }
+
+    @Override
+    public int rowId() {
+        return currentRow;
+    }
+
+    // reads up to the first record of the data of the first result
+    private void parseHeader() throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (field.equals("results") && token == JsonToken.START_ARRAY) {
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    if (!parseResult()) {
+                        parseTrailer();
+                    }
+                    return;
+                }
+            } else if (field.equals("errors")) {
+                parseErrors();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        state = DONE;
+    }
+
+    // reads the fields of a result up to its data, returning false if it has none
+    private boolean parseResult() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (field.equals("columns") && token == JsonToken.START_ARRAY) {
+                List<String> names = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    names.add(parser.getText());
+                }
+                columns = names.toArray(new String[names.size()]);
+            } else if (field.equals("data") && token == JsonToken.START_ARRAY) {
+                state = IN_DATA;
+                return true;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return false;
+    }
+
+    // moves on to the next array of nodes or relationships, or to the end of the response
+    private void advance() throws IOException {
+        JsonToken token = parser.nextToken();
+        switch (state) {
+            case IN_DATA:
+                if (token == JsonToken.START_OBJECT) {
+                    currentRow++;
+                    state = IN_RECORD;
+                } else {
+                    parseTrailer();
+                }
+                break;
+            case IN_RECORD:
+                if (token == JsonToken.END_OBJECT) {
+                    state = IN_DATA;
+                } else {
+                    String field = field(JsonToken.START_OBJECT);
+                    if (field.equals("graph")) {
+                        state = IN_GRAPH;
+                    } else if (!field.isEmpty()) {
+                        parser.skipChildren();
+                    }
+                }
+                break;
+            case IN_GRAPH:
+                if (token == JsonToken.END_OBJECT) {
+                    state = IN_RECORD;
+                } else {
+                    String field = field(JsonToken.START_ARRAY);
+                    if (field.equals("nodes")) {
+                        state = IN_NODES;
+                    } else if (field.equals("relationships")) {
+                        state = IN_RELATIONSHIPS;
+                    } else if (!field.isEmpty()) {
+                        parser.skipChildren();
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    // moves to the value of the current field, returning the name of the field if the value starts as expected, or
+    // else skipping the value and returning an empty name
+    private String field(JsonToken start) throws IOException {
+        String name = parser.getCurrentName();
+        if (parser.nextToken() == start) {
+            return name;
+        }
+        parser.skipChildren();
+        return "";
+    }
+
+    // reads what follows the data, which may report errors
+    private void parseTrailer() throws IOException {
+        for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+            if (token == JsonToken.FIELD_NAME && parser.getCurrentName().equals("errors")) {
+                parser.nextToken();
+                parseErrors();
+            }
+        }
+        state = DONE;
+    }
+
+    private void parseErrors() throws IOException {
+        JsonNode errors = mapper.readTree(parser);
+        if (errors != null && errors.size() > 0) {
+            state = DONE;
+            throw new RuntimeException(errors.toString());
+        }
+    }
+
+    private static void expect(JsonToken token, JsonToken expected) {
+        if (token != expected) {
+            throw new RuntimeException("Unexpected problem! Cypher response starts with " + token);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.neo4j.ogm.session.transaction;
 
 import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.session.cache.NodeCache;
 import org.neo4j.ogm.session.request.TransactionRequestHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,7 +13,11 @@ public class LongTransaction extends SimpleTransaction {
     private final TransactionRequestHandler transactionRequestHandler;
 
     public LongTransaction(MappingContext mappingContext, String url, TransactionRequestHandler transactionRequestHandler) {
-        super(mappingContext, url);
+        this(mappingContext, url, transactionRequestHandler, null);
+    }
+
+    public LongTransaction(MappingContext mappingContext, String url, TransactionRequestHandler transactionRequestHandler, NodeCache nodeCache) {
+        super(mappingContext, url, nodeCache);
         this.transactionRequestHandler = transactionRequestHandler;
     }
 
@@ -3,25 +3,42 @@ package org.neo4j.ogm.session.transaction;
 import org.neo4j.ogm.cypher.compiler.CypherContext;
 import org.neo4j.ogm.mapper.MappedRelationship;
 import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.session.cache.NodeCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class SimpleTransaction implements Transaction {
 
     private final Logger logger = LoggerFactory.getLogger(SimpleTransaction.class);
     private final MappingContext mappingContext;
+    private final NodeCache nodeCache;
     private final String url;
     private final boolean autocommit;
 
     private final List<CypherContext> contexts;
+    private final Set<Long> evictedNodes = new HashSet<>();
+    private boolean clearNodeCache;
 
     private Status status = Status.OPEN;
 
     public SimpleTransaction(MappingContext mappingContext, String url) {
+        this(mappingContext, url, null);
+    }
+
+    /**
+     * @param mappingContext the mapping context of the session
+     * @param url the url of the transaction
+     * @param nodeCache the cache to evict updated nodes from once they are committed, or <code>null</code> if there
+     *        isn't one
+     */
+    public SimpleTransaction(MappingContext mappingContext, String url, NodeCache nodeCache) {
         this.mappingContext = mappingContext;
+        this.nodeCache = nodeCache;
         this.url = url;
         this.autocommit = url.endsWith("/commit");
         this.contexts = new ArrayList<>();
@@ -40,6 +57,35 @@ public class SimpleTransaction implements Transaction {
         }
     }
 
+    public final void evictOnCommit(Long nodeId) {
+        evictedNodes.add(nodeId);
+        invalidateIfCommitted();
+    }
+
+    public final void clearOnCommit() {
+        clearNodeCache = true;
+        invalidateIfCommitted();
+    }
+
+    // a statement run outside of an open transaction has been committed as it was run
+    private void invalidateIfCommitted() {
+        if (autocommit || !(status == Status.OPEN || status == Status.PENDING)) {
+            invalidateNodeCache();
+        }
+    }
+
+    private void invalidateNodeCache() {
+        if (nodeCache != null) {
+            if (clearNodeCache) {
+                nodeCache.clear();
+            } else {
+                nodeCache.evictAll(evictedNodes);
+            }
+        }
+        evictedNodes.clear();
+        clearNodeCache = false;
+    }
+
     public final String url() {
         return url;
     }
@@ -48,6 +94,8 @@ public class SimpleTransaction implements Transaction {
         logger.info("rollback invoked");
         if (status == Status.OPEN || status == Status.PENDING) {
             contexts.clear();
+            evictedNodes.clear();
+            clearNodeCache = false;
             status = Status.ROLLEDBACK;
         } else {
             throw new TransactionException("Transaction is no longer open. Cannot rollback");
@@ -67,7 +115,9 @@ public class SimpleTransaction implements Transaction {
                         mappingContext.remember(o);
                     }
                 }
+                evictedNodes.addAll(cypherContext.updatedNodes());
             }
+            invalidateNodeCache();
             contexts.clear();
             status = Status.COMMITTED;
         } else {
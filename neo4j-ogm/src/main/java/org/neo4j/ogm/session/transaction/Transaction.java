@@ -11,6 +11,19 @@ public interface Transaction extends AutoCloseable {
      */
     void append(CypherContext context);
 
+    /**
+     * Records that a statement of this transaction may have changed or deleted the given node, so that it is evicted
+     * from the node cache once the transaction is committed
+     * @param nodeId the id of the node
+     */
+    void evictOnCommit(Long nodeId);
+
+    /**
+     * Records that a statement of this transaction may have changed or deleted any node, so that the node cache is
+     * cleared once the transaction is committed
+     */
+    void clearOnCommit();
+
     /**
      * The endpoint for this transaction
      * @return
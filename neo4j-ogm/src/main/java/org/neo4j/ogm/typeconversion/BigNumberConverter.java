@@ -0,0 +1,36 @@
+package org.neo4j.ogm.typeconversion;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Big numbers are stored as their decimal strings, since they don't fit in the numbers of the graph without losing
+ * precision.
+ */
+final class BigNumberConverter implements PropertyConverter {
+
+    static final BigNumberConverter BIG_DECIMAL = new BigNumberConverter(false);
+    static final BigNumberConverter BIG_INTEGER = new BigNumberConverter(true);
+
+    private final boolean integer;
+
+    private BigNumberConverter(boolean integer) {
+        this.integer = integer;
+    }
+
+    @Override
+    public Object toGraphProperty(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public Object toEntityAttribute(Object value) {
+        if (value instanceof String || value instanceof Number) {
+            // doubles may be in scientific notation, e.g. 1.0E10, which only BigDecimal parses
+            BigDecimal decimal = new BigDecimal(value.toString());
+            return integer ? decimal.toBigIntegerExact() : decimal;
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,26 @@
+package org.neo4j.ogm.typeconversion;
+
+/**
+ * Characters are stored as strings of one character.
+ */
+final class CharacterConverter implements PropertyConverter {
+
+    static final CharacterConverter INSTANCE = new CharacterConverter();
+
+    private CharacterConverter() {
+    }
+
+    @Override
+    public Object toGraphProperty(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public Object toEntityAttribute(Object value) {
+        if (value instanceof String && ((String) value).length() == 1) {
+            return ((String) value).charAt(0);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.neo4j.ogm.typeconversion;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.neo4j.ogm.metadata.MappingException;
+
+/**
+ * Dates are stored as ISO-8601 strings in UTC, which sort in the same order as the dates. Dates stored as milliseconds
+ * since the epoch can be read too.
+ */
+final class DateConverter implements PropertyConverter {
+
+    static final DateConverter INSTANCE = new DateConverter();
+
+    private static final String ISO_8601 = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private DateConverter() {
+    }
+
+    // formats aren't thread-safe
+    private static DateFormat format() {
+        DateFormat format = new SimpleDateFormat(ISO_8601);
+        format.setTimeZone(UTC);
+        format.setLenient(false);
+        return format;
+    }
+
+    @Override
+    public Object toGraphProperty(Object value) {
+        return value == null ? null : format().format((Date) value);
+    }
+
+    @Override
+    public Object toEntityAttribute(Object value) {
+        if (value instanceof Number) {
+            return new Date(((Number) value).longValue());
+        }
+        if (!(value instanceof String)) {
+            return value;
+        }
+        try {
+            return format().parse((String) value);
+        } catch (ParseException e) {
+            throw new MappingException(value + " is not an ISO-8601 date", e);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.neo4j.ogm.typeconversion;
+
+import org.neo4j.ogm.metadata.MappingException;
+
+/**
+ * Enums are stored as the names of their constants.
+ */
+final class EnumConverter implements PropertyConverter {
+
+    @SuppressWarnings("rawtypes")
+    private final Class enumType;
+
+    EnumConverter(Class<?> enumType) {
+        this.enumType = enumType;
+    }
+
+    @Override
+    public Object toGraphProperty(Object value) {
+        return value == null ? null : ((Enum<?>) value).name();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object toEntityAttribute(Object value) {
+        if (!(value instanceof String)) {
+            return value;
+        }
+        try {
+            return Enum.valueOf(enumType, (String) value);
+        } catch (IllegalArgumentException e) {
+            throw new MappingException(value + " is not a constant of " + enumType.getName(), e);
+        }
+    }
+
+}
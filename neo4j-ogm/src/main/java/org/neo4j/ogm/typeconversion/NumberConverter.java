@@ -0,0 +1,59 @@
+package org.neo4j.ogm.typeconversion;
+
+/**
+ * Numbers read from the graph don't necessarily have the width of the property they are written to, e.g. an
+ * <code>int</code> property comes back as a long.
+ */
+final class NumberConverter implements PropertyConverter {
+
+    private final char type; // the descriptor of the primitive type
+
+    NumberConverter(char type) {
+        this.type = type;
+    }
+
+    Class<?> boxedType() {
+        switch (type) {
+            case 'B':
+                return Byte.class;
+            case 'S':
+                return Short.class;
+            case 'I':
+                return Integer.class;
+            case 'J':
+                return Long.class;
+            case 'F':
+                return Float.class;
+            default:
+                return Double.class;
+        }
+    }
+
+    @Override
+    public Object toGraphProperty(Object value) {
+        return value;
+    }
+
+    @Override
+    public Object toEntityAttribute(Object value) {
+        if (!(value instanceof Number)) {
+            return value;
+        }
+        Number number = (Number) value;
+        switch (type) {
+            case 'B':
+                return value instanceof Byte ? value : Byte.valueOf(number.byteValue());
+            case 'S':
+                return value instanceof Short ? value : Short.valueOf(number.shortValue());
+            case 'I':
+                return value instanceof Integer ? value : Integer.valueOf(number.intValue());
+            case 'J':
+                return value instanceof Long ? value : Long.valueOf(number.longValue());
+            case 'F':
+                return value instanceof Float ? value : Float.valueOf(number.floatValue());
+            default:
+                return value instanceof Double ? value : Double.valueOf(number.doubleValue());
+        }
+    }
+
+}
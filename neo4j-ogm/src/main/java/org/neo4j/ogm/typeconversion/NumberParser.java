@@ -0,0 +1,154 @@
+package org.neo4j.ogm.typeconversion;
+
+/**
+ * Reads a long or a double from a string in a single scan, accepting exactly what {@link Long#parseLong(String)} and
+ * {@link Double#parseDouble(String)} accept, so that strings which aren't numbers don't cost an exception each.
+ */
+final class NumberParser {
+
+    private NumberParser() {
+    }
+
+    /**
+     * @param string the string to read
+     * @return the string as a {@link Long} if it is one, else as a {@link Double} if it is one, else the string itself
+     */
+    static Object parse(String string) {
+        Long number = parseLong(string);
+        if (number != null) {
+            return number;
+        }
+        if (isDouble(string)) {
+            return Double.parseDouble(string);
+        }
+        return string;
+    }
+
+    // the algorithm of Long.parseLong, which accumulates negatively to reach Long.MIN_VALUE
+    private static Long parseLong(String string) {
+        int length = string.length();
+        if (length == 0) {
+            return null;
+        }
+        int i = 0;
+        boolean negative = false;
+        long limit = -Long.MAX_VALUE;
+        char first = string.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                return null;
+            }
+            if (first == '-') {
+                negative = true;
+                limit = Long.MIN_VALUE;
+            }
+            i++;
+        }
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(string.charAt(i), 10);
+            if (digit < 0 || result < multiplicationLimit) {
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    // the grammar of Double.valueOf, which ignores leading and trailing whitespace
+    private static boolean isDouble(String string) {
+        String s = string.trim();
+        int length = s.length();
+        int i = 0;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        if (i == length) {
+            return false;
+        }
+        if (s.startsWith("NaN", i)) {
+            return i + 3 == length;
+        }
+        if (s.startsWith("Infinity", i)) {
+            return i + 8 == length;
+        }
+        if (s.startsWith("0x", i) || s.startsWith("0X", i)) {
+            return isHexDouble(s, i + 2);
+        }
+
+        int digits = 0;
+        while (i < length && isDigit(s.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && s.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i = skipExponent(s, i + 1);
+            if (i < 0) {
+                return false;
+            }
+        }
+        return isEndOrSuffix(s, i);
+    }
+
+    private static boolean isHexDouble(String s, int i) {
+        int length = s.length();
+        int digits = 0;
+        while (i < length && Character.digit(s.charAt(i), 16) >= 0 && s.charAt(i) < 128) {
+            i++;
+            digits++;
+        }
+        if (i < length && s.charAt(i) == '.') {
+            i++;
+            while (i < length && Character.digit(s.charAt(i), 16) >= 0 && s.charAt(i) < 128) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0 || i == length || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) {
+            return false;
+        }
+        i = skipExponent(s, i + 1);
+        return i >= 0 && isEndOrSuffix(s, i);
+    }
+
+    // returns the index after the signed exponent that starts at i, or -1 if there isn't one
+    private static int skipExponent(String s, int i) {
+        int length = s.length();
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        int start = i;
+        while (i < length && isDigit(s.charAt(i))) {
+            i++;
+        }
+        return i == start ? -1 : i;
+    }
+
+    private static boolean isEndOrSuffix(String s, int i) {
+        if (i == s.length()) {
+            return true;
+        }
+        char c = s.charAt(i);
+        return i == s.length() - 1 && (c == 'f' || c == 'F' || c == 'd' || c == 'D');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
@@ -0,0 +1,122 @@
+package org.neo4j.ogm.typeconversion;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.fasterxml.jackson.core.Base64Variants;
+
+/**
+ * Arrays of primitives are stored as they are, but are read from the graph as lists, or as strings in the case of
+ * <code>byte[]</code> and <code>char[]</code>, which are sent as base64 and plain strings respectively.
+ */
+final class PrimitiveArrayConverter implements PropertyConverter {
+
+    private final Class<?> componentType;
+    private final Class<?> arrayType;
+
+    PrimitiveArrayConverter(Class<?> componentType) {
+        this.componentType = componentType;
+        this.arrayType = Array.newInstance(componentType, 0).getClass();
+    }
+
+    String descriptor() {
+        return arrayType.getName();
+    }
+
+    @Override
+    public Object toGraphProperty(Object value) {
+        return value;
+    }
+
+    @Override
+    public Object toEntityAttribute(Object value) {
+        if (value == null || arrayType.isInstance(value)) {
+            return value;
+        }
+        if (value instanceof String) {
+            if (componentType == byte.class) {
+                return Base64Variants.getDefaultVariant().decode((String) value);
+            }
+            if (componentType == char.class) {
+                return ((String) value).toCharArray();
+            }
+            return value;
+        }
+        if (value instanceof Collection) {
+            return toArray(componentType, (Collection<?>) value);
+        }
+        if (value instanceof Object[]) {
+            return toArray(componentType, Arrays.asList((Object[]) value));
+        }
+        if (value.getClass().isArray()) {
+            List<Object> values = new ArrayList<>();
+            for (int i = 0, length = Array.getLength(value); i < length; i++) {
+                values.add(Array.get(value, i));
+            }
+            return toArray(componentType, values);
+        }
+        return value;
+    }
+
+    static Object toArray(Class<?> type, Collection<?> collection) {
+        int i = 0;
+        if (type == int.class) {
+            int[] array = new int[collection.size()];
+            for (Object object : collection) {
+                array[i++] = ((Number) object).intValue();
+            }
+            return array;
+        }
+        if (type == long.class) {
+            long[] array = new long[collection.size()];
+            for (Object object : collection) {
+                array[i++] = ((Number) object).longValue();
+            }
+            return array;
+        }
+        if (type == double.class) {
+            double[] array = new double[collection.size()];
+            for (Object object : collection) {
+                array[i++] = ((Number) object).doubleValue();
+            }
+            return array;
+        }
+        if (type == float.class) {
+            float[] array = new float[collection.size()];
+            for (Object object : collection) {
+                array[i++] = ((Number) object).floatValue();
+            }
+            return array;
+        }
+        if (type == short.class) {
+            short[] array = new short[collection.size()];
+            for (Object object : collection) {
+                array[i++] = ((Number) object).shortValue();
+            }
+            return array;
+        }
+        if (type == byte.class) {
+            byte[] array = new byte[collection.size()];
+            for (Object object : collection) {
+                array[i++] = ((Number) object).byteValue();
+            }
+            return array;
+        }
+        if (type == boolean.class) {
+            boolean[] array = new boolean[collection.size()];
+            for (Object object : collection) {
+                array[i++] = (Boolean) object;
+            }
+            return array;
+        }
+        char[] array = new char[collection.size()];
+        for (Object object : collection) {
+            array[i++] = object instanceof String ? ((String) object).charAt(0) : (Character) object;
+        }
+        return array;
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.neo4j.ogm.typeconversion;
+
+/**
+ * Converts the value of a mapped property between the type of its field or accessor and the type stored on the node.
+ *
+ * Converters are resolved once per mapped property by {@link PropertyConverters}, so implementations must be
+ * stateless, or at least thread-safe.
+ */
+public interface PropertyConverter {
+
+    /**
+     * @param value the value read from the entity, which may be <code>null</code>
+     * @return the value to store on the node, or to pass as a Cypher parameter
+     */
+    Object toGraphProperty(Object value);
+
+    /**
+     * @param value the value read from the node, which may be <code>null</code>
+     * @return the value to write to the entity
+     */
+    Object toEntityAttribute(Object value);
+
+}
@@ -0,0 +1,111 @@
+package org.neo4j.ogm.typeconversion;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * The converters of the types that can be mapped to node properties.
+ *
+ * Primitives, their boxed types and arrays of primitives are stored as they are, but numbers read from the graph are
+ * narrowed or widened to the type of the property. Dates are stored as ISO-8601 strings in UTC, big numbers as their
+ * decimal strings and enums as the names of their constants.
+ */
+public final class PropertyConverters {
+
+    private static final Map<String, PropertyConverter> converters = new HashMap<>();
+
+    static {
+        for (String type : new String[] { "B", "S", "I", "J", "F", "D" }) {
+            NumberConverter converter = new NumberConverter(type.charAt(0));
+            converters.put(type, converter);
+            converters.put("L" + converter.boxedType().getName().replace('.', '/') + ";", converter);
+        }
+        converters.put("C", CharacterConverter.INSTANCE);
+        converters.put("Ljava/lang/Character;", CharacterConverter.INSTANCE);
+        for (Class<?> type : new Class<?>[] { boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class }) {
+            PrimitiveArrayConverter converter = new PrimitiveArrayConverter(type);
+            converters.put(converter.descriptor(), converter);
+        }
+        converters.put("Ljava/util/Date;", DateConverter.INSTANCE);
+        converters.put("Ljava/math/BigDecimal;", BigNumberConverter.BIG_DECIMAL);
+        converters.put("Ljava/math/BigInteger;", BigNumberConverter.BIG_INTEGER);
+    }
+
+    private PropertyConverters() {
+    }
+
+    /**
+     * Resolves the converter of a property from the descriptor of its type. This may load the class of the property,
+     * so callers are expected to remember the result.
+     *
+     * @param descriptor the descriptor of the type of a field, e.g. <code>I</code> or <code>Ljava/util/Date;</code>
+     * @param classLoader the class loader of the class declaring the property, which is used to tell enums apart
+     * @return the converter of the given type, or <code>null</code> if values of that type are stored as they are
+     */
+    public static PropertyConverter forDescriptor(String descriptor, ClassLoader classLoader) {
+        PropertyConverter converter = converters.get(descriptor);
+        if (converter != null || !descriptor.startsWith("L")) {
+            return converter;
+        }
+        try {
+            Class<?> type = Class.forName(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'), false, classLoader);
+            if (type.isEnum()) {
+                return new EnumConverter(type);
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            // not a class we can convert to
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether values of the given type are converted by one of these converters, without loading any class.
+     *
+     * @param descriptor the descriptor of the type of a field
+     * @return <code>true</code> if the type is one of the types of the Java platform that is stored in another form
+     */
+    public static boolean isConvertible(String descriptor) {
+        return descriptor.equals("Ljava/util/Date;") || descriptor.equals("Ljava/math/BigDecimal;")
+                || descriptor.equals("Ljava/math/BigInteger;");
+    }
+
+    /**
+     * Converts a value given to a query, e.g. the value of a property to match, to a Cypher parameter.
+     *
+     * Dates, big numbers and enums are converted as they are stored on nodes. Integral numbers are passed as longs and
+     * doubles as they are, while anything else is passed as a long or a double if its string form is such a number,
+     * or else as that string.
+     *
+     * @param value the value, which may be <code>null</code>
+     * @return the parameter
+     */
+    public static Object toParameter(Object value) {
+        if (value == null || value instanceof Long || value instanceof Double) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Date) {
+            return DateConverter.INSTANCE.toGraphProperty(value);
+        }
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return value.toString();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return NumberParser.parse(value.toString());
+    }
+
+    /**
+     * @param componentType the primitive type of the elements of the array
+     * @param values the elements of the array, which must be numbers, booleans or characters as appropriate
+     * @return a new array of the given component type
+     */
+    public static Object toPrimitiveArray(Class<?> componentType, Collection<?> values) {
+        return PrimitiveArrayConverter.toArray(componentType, values);
+    }
+
+}
@@ -0,0 +1,17 @@
+package org.neo4j.ogm.domain.canonical;
+
+public class ClassWithFailingConstructor {
+
+    // what the constructor throws, which may be any throwable
+    public static Throwable failure;
+
+    public ClassWithFailingConstructor() {
+        ClassWithFailingConstructor.<RuntimeException>sneakyThrow(failure);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> void sneakyThrow(Throwable t) throws T {
+        throw (T) t;
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.neo4j.ogm.domain.canonical;
+
+public class ClassWithOverloadedSetters {
+
+    private Long id;
+    private String value;
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public void setValue(Integer value) {
+        this.value = String.valueOf(value);
+    }
+
+}
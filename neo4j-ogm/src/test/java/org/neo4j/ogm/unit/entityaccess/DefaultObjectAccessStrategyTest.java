@@ -2,9 +2,11 @@ package org.neo4j.ogm.unit.entityaccess;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +23,7 @@ import org.neo4j.ogm.domain.satellites.Program;
 import org.neo4j.ogm.domain.satellites.Satellite;
 import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
 import org.neo4j.ogm.entityaccess.FieldReader;
+import org.neo4j.ogm.entityaccess.MergeState;
 import org.neo4j.ogm.entityaccess.MethodAccess;
 import org.neo4j.ogm.entityaccess.MethodReader;
 import org.neo4j.ogm.entityaccess.ObjectAccess;
@@ -337,6 +340,115 @@ public class DefaultObjectAccessStrategyTest {
         }
     }
 
+    @Test
+    public void shouldRememberResolvedAccessorsPerPropertyAndRelationshipType() {
+        ClassInfo classInfo = this.domainInfo.getClass(Member.class.getName());
+
+        assertSame(this.objectAccessStrategy.getPropertyWriter(classInfo, "userName"),
+                this.objectAccessStrategy.getPropertyWriter(classInfo, "userName"));
+        assertSame(this.objectAccessStrategy.getPropertyReaders(classInfo), this.objectAccessStrategy.getPropertyReaders(classInfo));
+        assertNull(this.objectAccessStrategy.getPropertyWriter(classInfo, "unknownProperty"));
+        assertNull(this.objectAccessStrategy.getPropertyWriter(classInfo, "unknownProperty"));
+
+        List<Activity> comments = Arrays.<Activity>asList(new Comment());
+        List<Activity> posts = Arrays.<Activity>asList(new Post());
+        ObjectAccess objectAccess = this.objectAccessStrategy.getRelationalWriter(classInfo, "HAS_ACTIVITY", comments);
+        assertSame(objectAccess, this.objectAccessStrategy.getRelationalWriter(classInfo, "HAS_ACTIVITY", posts));
+        assertNull(this.objectAccessStrategy.getRelationalWriter(classInfo, "HAS_ACTIVITY", new Comment()));
+    }
+
+    @Test
+    public void shouldNotShareResolvedAccessorsBetweenClasses() {
+        ClassInfo memberInfo = this.domainInfo.getClass(Member.class.getName());
+        ClassInfo topicInfo = this.domainInfo.getClass(Topic.class.getName());
+
+        assertNotNull(this.objectAccessStrategy.getPropertyReader(memberInfo, "userName"));
+        assertNull(this.objectAccessStrategy.getPropertyReader(topicInfo, "userName"));
+    }
+
+    @Test
+    public void shouldAppendOnlyNewObjectsToTheHydratedCollectionInPlace() {
+        ClassInfo classInfo = this.domainInfo.getClass(Program.class.getName());
+        ObjectAccess iterableAccess = this.objectAccessStrategy.getIterableWriter(classInfo, Satellite.class);
+
+        Satellite first = new Satellite();
+        Satellite second = new Satellite();
+        Program spaceProgramme = new Program();
+        iterableAccess.write(spaceProgramme, new ArrayList<>(Arrays.asList(first)));
+        List<Satellite> hydrated = spaceProgramme.getSatellites();
+
+        iterableAccess.write(spaceProgramme, Arrays.asList(second, first, second));
+        assertSame(hydrated, spaceProgramme.getSatellites());
+        assertEquals(Arrays.asList(first, second), spaceProgramme.getSatellites());
+    }
+
+    @Test
+    public void shouldLookThroughTheHydratedCollectionOnceOverTheWritesOfALoad() {
+        ClassInfo classInfo = this.domainInfo.getClass(Program.class.getName());
+        ObjectAccess iterableAccess = this.objectAccessStrategy.getIterableWriter(classInfo, Satellite.class);
+
+        Satellite first = new Satellite();
+        Satellite second = new Satellite();
+        Satellite third = new Satellite();
+        Program spaceProgramme = new Program();
+        IterationCountingList<Satellite> hydrated = new IterationCountingList<>();
+        hydrated.add(first);
+        spaceProgramme.setSatellites(hydrated);
+
+        MergeState state = new MergeState();
+        iterableAccess.write(spaceProgramme, Arrays.asList(second), state);
+        iterableAccess.write(spaceProgramme, Arrays.asList(first, third, second), state);
+        assertSame(hydrated, spaceProgramme.getSatellites());
+        assertEquals(Arrays.asList(first, second, third), spaceProgramme.getSatellites());
+        assertEquals(1, hydrated.iterations);
+
+        // a collection replaced in between is looked through again
+        spaceProgramme.setSatellites(new ArrayList<>(Arrays.asList(third)));
+        iterableAccess.write(spaceProgramme, Arrays.asList(first, third), state);
+        assertEquals(Arrays.asList(third, first), spaceProgramme.getSatellites());
+    }
+
+    @Test
+    public void shouldReplacePrimitiveArraysKeepingTheOrderOfTheValues() {
+        ClassInfo classInfo = this.domainInfo.getClass(Member.class.getName());
+        ObjectAccess objectAccess = this.objectAccessStrategy.getPropertyWriter(classInfo, "nicknames");
+        Member member = new Member();
+
+        objectAccess.write(member, Arrays.asList(3, 1, 3));
+        assertArrayEquals(new int[] { 3, 1, 3 }, member.getNicknames());
+
+        objectAccess.write(member, Arrays.asList(2));
+        assertArrayEquals(new int[] { 2 }, member.getNicknames());
+    }
+
+    @Test
+    public void shouldWidenNumericValuesWhenWritingPrimitiveProperties() {
+        ClassInfo classInfo = this.domainInfo.getClass(Member.class.getName());
+        Member member = new Member();
+
+        ObjectAccess methodWriter = this.objectAccessStrategy.getPropertyWriter(classInfo, "membershipNumber");
+        assertTrue(methodWriter instanceof MethodAccess);
+        methodWriter.write(member, 42);
+        assertEquals(42L, member.getMembershipNumber());
+
+        ClassInfo dummyClassInfo = this.domainInfo.getClass(DummyDomainObject.class.getName());
+        DummyDomainObject domainObject = new DummyDomainObject();
+        this.objectAccessStrategy.getPropertyWriter(dummyClassInfo, "propertyWithoutAccessorMethods").write(domainObject, (short) 7);
+        assertEquals(7, domainObject.propertyWithoutAccessorMethods);
+        assertEquals(7, this.objectAccessStrategy.getPropertyReader(dummyClassInfo, "propertyWithoutAccessorMethods").read(domainObject));
+    }
+
+    static class IterationCountingList<E> extends ArrayList<E> {
+
+        int iterations;
+
+        @Override
+        public Iterator<E> iterator() {
+            iterations++;
+            return super.iterator();
+        }
+    }
+
     /**
      * Domain object exhibiting various annotation configurations on its properties for test purposes.
      */
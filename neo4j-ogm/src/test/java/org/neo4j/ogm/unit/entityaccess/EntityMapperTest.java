@@ -0,0 +1,75 @@
+package org.neo4j.ogm.unit.entityaccess;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.neo4j.ogm.domain.forum.GoldMembership;
+import org.neo4j.ogm.domain.forum.Member;
+import org.neo4j.ogm.domain.forum.Topic;
+import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
+import org.neo4j.ogm.entityaccess.EntityMapper;
+import org.neo4j.ogm.entityaccess.EntityMappers;
+import org.neo4j.ogm.entityaccess.PropertyReader;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.DomainInfo;
+
+/**
+ * The mappers used here are generated when the tests are compiled, see the pom.
+ */
+public class EntityMapperTest {
+
+    private DomainInfo domainInfo = new DomainInfo("org.neo4j.ogm.domain.forum");
+
+    @Test
+    public void shouldFindGeneratedMappersOfNodeEntitiesOnly() {
+        assertNotNull(EntityMappers.forClass(Member.class));
+        assertSame(EntityMappers.forClass(Member.class), EntityMappers.forClass(Member.class));
+        assertNull(EntityMappers.forClass(Topic.class));
+    }
+
+    @Test
+    public void shouldReadTheSamePropertiesAsTheObjectAccessStrategy() {
+        Member member = new Member();
+        member.setUserName("Vince");
+        member.setMembershipNumber(42L);
+        member.setNicknames(new int[] { 1, 2 });
+
+        Map<String, Object> expected = new HashMap<>();
+        ClassInfo classInfo = domainInfo.getClass(Member.class.getName());
+        for (PropertyReader propertyReader : new DefaultObjectAccessStrategy().getPropertyReaders(classInfo)) {
+            expected.put(propertyReader.propertyName(), propertyReader.read(member));
+        }
+
+        Map<String, Object> actual = new HashMap<>();
+        assertTrue(EntityMappers.forClass(Member.class).readProperties(member, actual, true));
+        assertEquals(expected, actual);
+
+        actual.clear();
+        assertTrue(EntityMappers.forClass(Member.class).readProperties(member, actual, false));
+        assertFalse(actual.containsKey("password"));
+    }
+
+    @Test
+    public void shouldWriteScalarPropertiesAndLeaveTheRestToTheObjectAccessStrategy() {
+        EntityMapper<Object> entityMapper = EntityMappers.forClass(Member.class);
+        Member member = new Member();
+
+        assertTrue(entityMapper.writeProperty(member, "userName", "Vince"));
+        assertTrue(entityMapper.writeProperty(member, "membershipNumber", 42));
+        assertEquals("Vince", member.getUserName());
+        assertEquals(42L, member.getMembershipNumber());
+
+        assertFalse(entityMapper.writeProperty(member, "nicknames", new int[] { 1 }));
+        assertFalse(entityMapper.writeProperty(member, "USERNAME", "Vince"));
+        assertFalse(entityMapper.writeProperty(member, "unknown", "Vince"));
+    }
+
+    @Test
+    public void shouldNotReadPropertiesMappedToPrivateFields() {
+        GoldMembership membership = new GoldMembership();
+        assertFalse(EntityMappers.forClass(GoldMembership.class).readProperties(membership, new HashMap<String, Object>(), true));
+    }
+}
@@ -0,0 +1,171 @@
+package org.neo4j.ogm.unit.mapper;
+
+import org.junit.Test;
+import org.neo4j.ogm.domain.education.Course;
+import org.neo4j.ogm.domain.education.Teacher;
+import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
+import org.neo4j.ogm.mapper.EntityRetention;
+import org.neo4j.ogm.mapper.GraphObjectMapper;
+import org.neo4j.ogm.mapper.MappedRelationship;
+import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.RelationshipModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GraphObjectMapperTest {
+
+    private static final MetaData metaData = new MetaData("org.neo4j.ogm.domain.education");
+
+    @Test
+    public void testEachCollectionIsWrittenWithAllItsObjectsAndEachEdgeIsRegisteredOnce() {
+        MappingContext mappingContext = new MappingContext(metaData);
+        GraphObjectMapper mapper = new GraphObjectMapper(metaData, mappingContext);
+
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(new NodeModel[] {
+                node(20L, "Teacher", "Mr Thomas"), node(21L, "Teacher", "Mrs Roberts"),
+                node(2L, "Course", "English"), node(3L, "Course", "Maths"), node(4L, "Course", "Physics")});
+        graphModel.setRelationships(new RelationshipModel[] {
+                edge(202L, 20L, 2L), edge(203L, 20L, 3L), edge(212L, 21L, 2L), edge(204L, 20L, 4L)});
+
+        mapper.load(Teacher.class, graphModel);
+
+        Teacher mrThomas = (Teacher) mappingContext.get(20L);
+        Teacher mrsRoberts = (Teacher) mappingContext.get(21L);
+
+        assertEquals(ids(2L, 3L, 4L), courseIds(mrThomas));
+        assertEquals(ids(2L), courseIds(mrsRoberts));
+
+        List<String> registered = new ArrayList<>();
+        for (MappedRelationship relationship : mappingContext.mappedRelationships()) {
+            registered.add(relationship.getStartNodeId() + "->" + relationship.getEndNodeId());
+        }
+        Collections.sort(registered);
+        assertEquals(Arrays.asList("20->2", "20->3", "20->4", "21->2"), registered);
+    }
+
+    @Test
+    public void testOnlyTheObjectsOfTheGraphModelAreReturned() {
+        MappingContext mappingContext = new MappingContext(metaData);
+        GraphObjectMapper mapper = new GraphObjectMapper(metaData, mappingContext);
+
+        GraphModel first = new GraphModel();
+        first.setNodes(new NodeModel[] {node(20L, "Teacher", "Mr Thomas"), node(2L, "Course", "English")});
+        first.setRelationships(new RelationshipModel[] {edge(202L, 20L, 2L)});
+        mapper.load(Teacher.class, first);
+
+        GraphModel second = new GraphModel();
+        second.setNodes(new NodeModel[] {node(21L, "Teacher", "Mrs Roberts"), node(2L, "Course", "English")});
+        second.setRelationships(new RelationshipModel[] {edge(212L, 21L, 2L)});
+        Set<Teacher> teachers = mapper.load(Teacher.class, second);
+
+        assertEquals(1, teachers.size());
+        assertSame(mappingContext.get(21L), teachers.iterator().next());
+        assertEquals(2, mappingContext.getAll(Teacher.class).size());
+    }
+
+    @Test
+    public void testAGraphModelLargerThanTheLeastRecentlyUsedBoundIsWiredWhole() {
+        MappingContext mappingContext = new MappingContext(metaData, EntityRetention.lru(2));
+        GraphObjectMapper mapper = new GraphObjectMapper(metaData, mappingContext);
+
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(new NodeModel[] {
+                node(20L, "Teacher", "Mr Thomas"), node(2L, "Course", "English"), node(3L, "Course", "Maths")});
+        graphModel.setRelationships(new RelationshipModel[] {edge(202L, 20L, 2L), edge(203L, 20L, 3L)});
+
+        Set<Teacher> teachers = mapper.load(Teacher.class, graphModel);
+
+        assertEquals(1, teachers.size());
+        assertEquals(ids(2L, 3L), courseIds(teachers.iterator().next()));
+        assertEquals(2, mappingContext.getAll(Teacher.class).size() + mappingContext.getAll(Course.class).size());
+    }
+
+    @Test
+    public void testParallelHydrationMapsTheSameAsSequentialHydration() {
+        int teachers = 3000;
+        List<NodeModel> nodes = new ArrayList<>();
+        List<RelationshipModel> edges = new ArrayList<>();
+        for (long course = 1; course <= 10; course++) {
+            nodes.add(node(course, "Course", "Course " + course));
+        }
+        for (long teacher = 100; teacher < 100 + teachers; teacher++) {
+            nodes.add(node(teacher, "Teacher", "Teacher " + teacher));
+            for (long course = teacher % 10 + 1, n = 0; n < 3; n++, course = course % 10 + 1) {
+                nodes.add(node(course, "Course", "Course " + course)); // as it comes in every path through it
+                edges.add(edge(teacher * 10 + n, teacher, course));
+            }
+        }
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(nodes.toArray(new NodeModel[nodes.size()]));
+        graphModel.setRelationships(edges.toArray(new RelationshipModel[edges.size()]));
+
+        MappingContext sequential = new MappingContext(metaData);
+        new GraphObjectMapper(metaData, sequential).load(Teacher.class, graphModel);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MappingContext parallel = new MappingContext(metaData);
+            GraphObjectMapper mapper = new GraphObjectMapper(metaData, parallel, new DefaultObjectAccessStrategy(), pool);
+            assertEquals(teachers, mapper.load(Teacher.class, graphModel).size());
+
+            assertEquals(10, parallel.getAll(Course.class).size());
+            assertEquals(sequential.mappedRelationships().size(), parallel.mappedRelationships().size());
+            for (long teacher = 100; teacher < 100 + teachers; teacher++) {
+                Teacher expected = (Teacher) sequential.get(teacher);
+                Teacher actual = (Teacher) parallel.get(teacher);
+                assertEquals(expected.getName(), actual.getName());
+                assertEquals(courseIds(expected), courseIds(actual));
+                for (Course course : actual.getCourses()) {
+                    assertSame(parallel.get(course.getId()), course);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<Long> courseIds(Teacher teacher) {
+        List<Long> ids = new ArrayList<>();
+        for (Course course : teacher.getCourses()) {
+            ids.add(course.getId());
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private static List<Long> ids(Long... ids) {
+        List<Long> list = new ArrayList<>();
+        Collections.addAll(list, ids);
+        return list;
+    }
+
+    private static NodeModel node(Long id, String label, String name) {
+        NodeModel node = new NodeModel();
+        node.setId(id);
+        node.setLabels(new String[] {label});
+        node.setProperties(Collections.<String, Object>singletonMap("name", name));
+        return node;
+    }
+
+    private static RelationshipModel edge(Long id, Long start, Long end) {
+        RelationshipModel edge = new RelationshipModel();
+        edge.setId(id);
+        edge.setType("TEACHES");
+        edge.setStartNode(start);
+        edge.setEndNode(end);
+        edge.setProperties(Collections.<String, Object>emptyMap());
+        return edge;
+    }
+}
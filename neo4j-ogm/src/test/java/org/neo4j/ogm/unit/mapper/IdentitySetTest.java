@@ -0,0 +1,55 @@
+package org.neo4j.ogm.unit.mapper;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.neo4j.ogm.mapper.IdentitySet;
+
+public class IdentitySetTest {
+
+    private IdentitySet<Object> set = new IdentitySet<>();
+
+    @Test
+    public void shouldTellElementsApartByIdentity() {
+        String vince = new String("Vince");
+        String anotherVince = new String("Vince");
+
+        assertTrue(set.add(vince));
+        assertTrue(set.add(anotherVince));
+        assertFalse(set.add(vince));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(vince));
+        assertFalse(set.contains(vince));
+        assertTrue(set.contains(anotherVince));
+    }
+
+    @Test
+    public void shouldIterateOverEveryElementAndRemoveThroughTheIterator() {
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            objects.add(new Object());
+            set.add(objects.get(i));
+        }
+        assertEquals(10000, set.size());
+
+        int count = 0;
+        for (Iterator<Object> iterator = set.iterator(); iterator.hasNext(); count++) {
+            assertTrue(objects.contains(iterator.next()));
+            if (count % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals(10000, count);
+        assertEquals(5000, set.size());
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.iterator().hasNext());
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.neo4j.ogm.unit.mapper;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.neo4j.ogm.mapper.LongObjectMap;
+
+public class LongObjectMapTest {
+
+    private LongObjectMap<String> map = new LongObjectMap<>();
+
+    @Test
+    public void shouldMapEveryKeyIncludingZeroAndNegativeOnes() {
+        for (long key = -1000; key < 100000; key++) {
+            assertNull(map.putIfAbsent(key, String.valueOf(key)));
+        }
+        assertEquals(101000, map.size());
+        for (long key = -1000; key < 100000; key++) {
+            assertEquals(String.valueOf(key), map.get(key));
+        }
+        assertNull(map.get(100000));
+        assertNull(map.get(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void shouldKeepTheFirstValueOfAKey() {
+        assertNull(map.putIfAbsent(42, "first"));
+        assertEquals("first", map.putIfAbsent(42, "second"));
+        assertEquals("first", map.get(42));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void shouldMapAKeyAgainOnceItIsRemoved() {
+        for (long key = 0; key < 1000; key++) {
+            map.putIfAbsent(key, "old");
+        }
+        for (long key = 0; key < 1000; key += 2) {
+            assertEquals("old", map.remove(key));
+        }
+        assertNull(map.remove(0));
+        assertEquals(500, map.size());
+
+        for (long key = 0; key < 1000; key++) {
+            map.putIfAbsent(key, "new");
+        }
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(key % 2 == 0 ? "new" : "old", map.get(key));
+        }
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.neo4j.ogm.unit.mapper;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+import org.neo4j.ogm.mapper.LongRecencyList;
+
+public class LongRecencyListTest {
+
+    private LongRecencyList list = new LongRecencyList();
+
+    @Test
+    public void shouldRemoveKeysInTheOrderTheyWereFirstUsed() {
+        for (long key = -1000; key < 100000; key++) {
+            list.use(key);
+        }
+        assertEquals(101000, list.size());
+        for (long key = -1000; key < 100000; key++) {
+            assertEquals(key, list.removeEldest());
+        }
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    public void shouldMoveAKeyUsedAgainToTheEnd() {
+        list.use(1);
+        list.use(2);
+        list.use(3);
+        list.use(1);
+        list.use(3);
+        assertEquals(3, list.size());
+
+        assertEquals(2, list.removeEldest());
+        assertEquals(1, list.removeEldest());
+        assertEquals(3, list.removeEldest());
+    }
+
+    @Test
+    public void shouldReuseRemovedKeys() {
+        Deque<Long> expected = new ArrayDeque<>();
+        for (int round = 0; round < 10; round++) {
+            for (long key = 0; key < 1000; key++) {
+                list.use(key * 31 + round);
+                expected.add(key * 31 + round);
+            }
+            for (int i = 0; i < 500; i++) {
+                assertEquals((long) expected.remove(), list.removeEldest());
+            }
+        }
+        assertEquals(5000, list.size());
+        while (!expected.isEmpty()) {
+            assertEquals((long) expected.remove(), list.removeEldest());
+        }
+    }
+
+    @Test
+    public void shouldBeEmptyOnceCleared() {
+        for (long key = 0; key < 100; key++) {
+            list.use(key);
+        }
+        list.clear();
+        assertEquals(0, list.size());
+
+        list.use(50);
+        list.use(7);
+        assertEquals(50, list.removeEldest());
+        assertEquals(7, list.removeEldest());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldNotRemoveFromAnEmptyList() {
+        list.removeEldest();
+    }
+
+}
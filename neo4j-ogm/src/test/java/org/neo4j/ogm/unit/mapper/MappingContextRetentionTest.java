@@ -0,0 +1,161 @@
+package org.neo4j.ogm.unit.mapper;
+
+import org.junit.Test;
+import org.neo4j.ogm.domain.education.Teacher;
+import org.neo4j.ogm.mapper.EntityRetention;
+import org.neo4j.ogm.mapper.MappedRelationship;
+import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.metadata.MetaData;
+
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MappingContextRetentionTest {
+
+    private static final MetaData metaData = new MetaData("org.neo4j.ogm.domain.education");
+
+    @Test
+    public void testStrongRetentionHoldsEverything() {
+        MappingContext context = new MappingContext(metaData);
+
+        for (long id = 0; id < 100; id++) {
+            context.register(new Teacher("Teacher " + id), id);
+        }
+
+        assertEquals(100, context.getAll(Teacher.class).size());
+        assertNotNull(context.get(0L));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntityIsEvicted() {
+        MappingContext context = new MappingContext(metaData, EntityRetention.lru(2));
+
+        Teacher first = register(context, "Miss White", 1L);
+        Teacher second = register(context, "Mr Black", 2L);
+        context.remember(new MappedRelationship(1L, "TEACHES", 2L));
+        context.remember(new MappedRelationship(2L, "TEACHES", 1L));
+
+        assertSame(first, context.get(1L)); // the second is now the least recently used
+        register(context, "Mrs Green", 3L);
+
+        assertNull(context.get(2L));
+        assertSame(first, context.get(1L));
+        assertEquals(2, context.getAll(Teacher.class).size());
+        assertFalse(context.getAll(Teacher.class).contains(second));
+
+        assertTrue(context.isDirty(second)); // its memo hash has gone
+        assertFalse(context.isDirty(first));
+
+        assertFalse(context.isRegisteredRelationship(new MappedRelationship(2L, "TEACHES", 1L)));
+        assertFalse(context.isRegisteredRelationship(new MappedRelationship(1L, "TEACHES", 2L))); // registered to it
+    }
+
+    @Test
+    public void testNothingIsEvictedUntilTheLoadEnds() {
+        MappingContext context = new MappingContext(metaData, EntityRetention.lru(2));
+        context.remember(new MappedRelationship(1L, "TEACHES", 3L));
+
+        context.beginLoad();
+        Teacher first = register(context, "Miss White", 1L);
+        register(context, "Mr Black", 2L);
+        register(context, "Mrs Green", 3L);
+
+        assertSame(first, context.get(1L));
+        assertEquals(3, context.getAll(Teacher.class).size());
+
+        context.endLoad();
+
+        assertNull(context.get(2L)); // the least recently used
+        assertSame(first, context.get(1L));
+        assertEquals(2, context.getAll(Teacher.class).size());
+        assertTrue(context.isRegisteredRelationship(new MappedRelationship(1L, "TEACHES", 3L)));
+    }
+
+    @Test
+    public void testEvictedEntityCanBeRegisteredAgain() {
+        MappingContext context = new MappingContext(metaData, EntityRetention.lru(1));
+
+        register(context, "Miss White", 1L);
+        register(context, "Mr Black", 2L);
+        Teacher reloaded = register(context, "Miss White", 1L);
+
+        assertSame(reloaded, context.get(1L));
+        assertNull(context.get(2L));
+        assertEquals(1, context.getAll(Teacher.class).size());
+    }
+
+    @Test
+    public void testWeaklyHeldEntityIsEvictedOnceCollected() {
+        CollectingMappingContext context = new CollectingMappingContext(EntityRetention.WEAK);
+
+        Teacher held = register(context, "Miss White", 1L);
+        register(context, "Mr Black", 2L);
+        context.remember(new MappedRelationship(2L, "TEACHES", 1L));
+        context.remember(new MappedRelationship(1L, "TEACHES", 2L));
+
+        context.collect(2L);
+
+        assertNull(context.get(2L));
+        assertSame(held, context.get(1L));
+        assertEquals(1, context.getAll(Teacher.class).size());
+        assertSame(held, context.getAll(Teacher.class).iterator().next());
+        assertFalse(context.isRegisteredRelationship(new MappedRelationship(2L, "TEACHES", 1L)));
+        assertFalse(context.isRegisteredRelationship(new MappedRelationship(1L, "TEACHES", 2L)));
+        assertFalse(context.isDirty(held));
+    }
+
+    @Test
+    public void testClearForgetsEntities() {
+        MappingContext context = new MappingContext(metaData, EntityRetention.SOFT);
+
+        Teacher teacher = register(context, "Miss White", 1L);
+        context.remember(new MappedRelationship(1L, "TEACHES", 2L));
+
+        context.clear();
+
+        assertNull(context.get(1L));
+        assertTrue(context.getAll(Teacher.class).isEmpty());
+        assertTrue(context.isDirty(teacher));
+        assertTrue(context.mappedRelationships().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaximumNumberOfEntitiesMustBePositive() {
+        EntityRetention.lru(0);
+    }
+
+    /**
+     * Clears the references to the entities it holds weakly or softly as the garbage collector would, on demand.
+     */
+    private static class CollectingMappingContext extends MappingContext {
+
+        private final Map<Long, Reference<Object>> references = new HashMap<>();
+
+        CollectingMappingContext(EntityRetention retention) {
+            super(metaData, retention);
+        }
+
+        @Override
+        protected void referenced(Reference<Object> reference) {
+            references.put(((Teacher) reference.get()).getId(), reference);
+        }
+
+        void collect(Long id) {
+            Reference<Object> reference = references.remove(id);
+            reference.clear();
+            reference.enqueue();
+        }
+    }
+
+    private static Teacher register(MappingContext context, String name, Long id) {
+        Teacher teacher = new Teacher(name);
+        teacher.setId(id);
+        context.register(teacher, id);
+        context.remember(teacher);
+        return teacher;
+    }
+
+}
@@ -7,7 +7,11 @@ import org.neo4j.ogm.mapper.ObjectMemo;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class ObjectMemoTest {
@@ -59,4 +63,56 @@ public class ObjectMemoTest {
 
 
 
+    @Test
+    public void testChangedPropertiesAreNamed() {
+
+        ClassInfo classInfo = metaData.classInfo(Teacher.class.getName());
+        Teacher teacher = new Teacher("Miss White");
+
+        assertNull(objectMemo.changedProperties(teacher, classInfo)); // not remembered at all
+
+        objectMemo.remember(teacher, classInfo);
+        assertTrue(objectMemo.changedProperties(teacher, classInfo).isEmpty());
+
+        teacher.setName("Mrs Jones");
+        assertEquals(Collections.singleton("name"), objectMemo.changedProperties(teacher, classInfo));
+
+        teacher.setName(null); // a property set to null has changed too
+        assertEquals(Collections.singleton("name"), objectMemo.changedProperties(teacher, classInfo));
+    }
+
+    @Test
+    public void testObjectsAreToldApartByIdentity() {
+
+        ClassInfo classInfo = metaData.classInfo(Teacher.class.getName());
+        Teacher teacher = new EqualTeacher("Miss White");
+        Teacher lookalike = new EqualTeacher("Miss White");
+
+        objectMemo.remember(teacher, classInfo);
+        assertNull(objectMemo.changedProperties(lookalike, classInfo));
+
+        teacher.setName("Mrs Jones"); // changes the hash code the teacher claims to have
+        assertEquals(Collections.singleton("name"), objectMemo.changedProperties(teacher, classInfo));
+    }
+
+    /**
+     * A teacher whose equals and hashCode would make a memo keyed by them lose track of it.
+     */
+    static class EqualTeacher extends Teacher {
+
+        EqualTeacher(String name) {
+            super(name);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Teacher;
+        }
+
+        @Override
+        public int hashCode() {
+            return getName() == null ? 0 : getName().hashCode();
+        }
+    }
+
 }
@@ -101,6 +101,32 @@ public class ObjectToCypherMapperTest {
         executeStatementsAndAssertSameGraph(cypher, "CREATE (s:DomainObject:Student {name:'Sheila Smythe-Jones'})");
     }
 
+    @Test
+    public void updateOnlyThePropertiesThatHaveChanged() {
+
+        ExecutionResult executionResult = executionEngine.execute("CREATE (i:Individual {name:'Jeff', age:41, primitiveIntArray:[1,2,3]}) RETURN id(i) AS id");
+        Long iid = Long.valueOf(executionResult.iterator().next().get("id").toString());
+
+        Individual jeff = new Individual();
+        jeff.setId(iid);
+        jeff.setName("Jeff");
+        jeff.setAge(41);
+        jeff.setPrimitiveIntArray(new int[] {1, 2, 3});
+
+        mappingContext.remember(jeff);
+
+        // change one property and another one in place, but leave the name alone
+        jeff.setAge(42);
+        jeff.getPrimitiveIntArray()[2] = 4;
+
+        ParameterisedStatements cypher = new ParameterisedStatements(this.mapper.mapToCypher(jeff).getStatements());
+
+        Map<?, ?> properties = (Map<?, ?>) cypher.getStatements().get(0).getParameters().get(var(iid) + "_props");
+        assertEquals(new HashSet<>(Arrays.asList("age", "primitiveIntArray")), properties.keySet());
+
+        executeStatementsAndAssertSameGraph(cypher, "CREATE (:Individual {name:'Jeff', age:42, primitiveIntArray:[1,2,4]})");
+    }
+
     @Test
     public void doNothingIfNothingHasChanged() {
 
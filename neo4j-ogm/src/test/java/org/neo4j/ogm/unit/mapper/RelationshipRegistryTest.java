@@ -0,0 +1,65 @@
+package org.neo4j.ogm.unit.mapper;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+import org.neo4j.ogm.mapper.MappedRelationship;
+import org.neo4j.ogm.mapper.RelationshipRegistry;
+
+public class RelationshipRegistryTest {
+
+    private RelationshipRegistry registry = new RelationshipRegistry();
+
+    @Test
+    public void shouldListTheRelationshipsOfANodeInTheOrderTheyWereAdded() {
+        assertTrue(registry.add(new MappedRelationship(1, "STUDENTS", 3)));
+        assertTrue(registry.add(new MappedRelationship(1, "TEACHERS", 2)));
+        assertTrue(registry.add(new MappedRelationship(2, "STUDENTS", 3)));
+        assertTrue(registry.add(new MappedRelationship(1, "STUDENTS", 4)));
+        assertFalse(registry.add(new MappedRelationship(1, "STUDENTS", 3)));
+
+        assertEquals(4, registry.size());
+        assertTrue(registry.contains(1, "TEACHERS", 2));
+        assertFalse(registry.contains(2, "TEACHERS", 1));
+        assertFalse(registry.contains(1, "COURSES", 2));
+        assertEquals(Arrays.asList(new MappedRelationship(1, "STUDENTS", 3), new MappedRelationship(1, "STUDENTS", 4)),
+                registry.relationshipsFrom(1, "STUDENTS"));
+        assertTrue(registry.relationshipsFrom(3, "STUDENTS").isEmpty());
+
+        assertTrue(registry.remove(new MappedRelationship(1, "STUDENTS", 3)));
+        assertEquals(Arrays.asList(new MappedRelationship(1, "STUDENTS", 4)), registry.relationshipsFrom(1, "STUDENTS"));
+
+        registry.clear();
+        assertTrue(registry.isEmpty());
+        assertFalse(registry.contains(1, "STUDENTS", 4));
+    }
+
+    @Test
+    public void shouldAgreeWithAHashSetThroughAddsAndRemoves() {
+        Set<MappedRelationship> expected = new HashSet<>();
+        Random random = new Random(42);
+        String[] types = { "STUDENTS", "TEACHERS", "COURSES" };
+        for (int i = 0; i < 50000; i++) {
+            MappedRelationship relationship = new MappedRelationship(random.nextInt(500), types[random.nextInt(3)], random.nextInt(50));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(relationship), registry.remove(relationship));
+            } else {
+                assertEquals(expected.add(relationship), registry.add(relationship));
+            }
+        }
+        assertEquals(expected.size(), registry.size());
+        assertEquals(expected, new HashSet<>(registry));
+
+        for (long startNodeId = 0; startNodeId < 500; startNodeId++) {
+            for (MappedRelationship relationship : registry.relationshipsFrom(startNodeId, "COURSES")) {
+                assertTrue(expected.remove(relationship));
+            }
+        }
+        for (MappedRelationship relationship : expected) {
+            assertNotEquals("COURSES", relationship.getRelationshipType());
+        }
+    }
+
+}
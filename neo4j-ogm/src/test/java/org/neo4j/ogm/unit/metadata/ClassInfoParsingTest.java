@@ -0,0 +1,74 @@
+package org.neo4j.ogm.unit.metadata;
+
+import org.junit.Test;
+import org.neo4j.ogm.annotation.NodeEntity;
+import org.neo4j.ogm.domain.forum.Member;
+import org.neo4j.ogm.domain.forum.IMembership;
+import org.neo4j.ogm.entityaccess.EntityMapper;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ClassInfoParsingTest {
+
+    @Test
+    public void shouldParseClassStructure() throws IOException {
+        ClassInfo classInfo = parse(Member.class);
+        assertEquals("org.neo4j.ogm.domain.forum.Member", classInfo.name());
+        assertEquals("org.neo4j.ogm.domain.forum.Login", classInfo.superclassName());
+        assertNotNull(classInfo.fieldsInfo().get("activityList"));
+        assertNotNull(classInfo.methodsInfo().get("getFollowers"));
+        assertNotNull(classInfo.annotationsInfo().get("org.neo4j.ogm.annotation.NodeEntity"));
+    }
+
+    @Test
+    public void shouldOnlyReadTheNameOfAnInterface() throws IOException {
+        ClassInfo classInfo = parse(IMembership.class);
+        assertEquals("org.neo4j.ogm.domain.forum.IMembership", classInfo.name());
+        assertTrue(classInfo.isInterface());
+        assertTrue(classInfo.methodsInfo().methods().isEmpty());
+    }
+
+    @Test
+    public void shouldParseClassesCompiledForRecentPlatforms() throws IOException {
+        assertEquals("java.lang.String", parse(String.class).name());
+    }
+
+    @Test
+    public void shouldRejectSomethingThatIsNotAClassFile() throws IOException {
+        assertNull(new ClassInfo("not a class file".getBytes()).name());
+    }
+
+    @Test
+    public void shouldRejectClassesThatCannotBeEntitiesFromTheirHeader() throws Exception {
+        class Local {
+        }
+        assertNull(parse(TimeUnit.class).name());
+        assertNull(parse(IOException.class).name());
+        assertNull(parse(Class.forName(Member.class.getName() + EntityMapper.SUFFIX)).name());
+        assertNull(parse(new Object() {}.getClass()).name());
+        assertNull(parse(Local.class).name());
+    }
+
+    @Test
+    public void shouldKeepNestedClassesAndClassesAnnotatedAsEntities() throws IOException {
+        @NodeEntity
+        class AnnotatedLocal {
+        }
+        assertEquals(Nested.class.getName(), parse(Nested.class).name());
+        assertEquals(AnnotatedLocal.class.getName(), parse(AnnotatedLocal.class).name());
+    }
+
+    static class Nested {
+    }
+
+    private static ClassInfo parse(Class<?> type) throws IOException {
+        try (InputStream inputStream = type.getResourceAsStream("/" + type.getName().replace('.', '/') + ".class")) {
+            return new ClassInfo(inputStream);
+        }
+    }
+}
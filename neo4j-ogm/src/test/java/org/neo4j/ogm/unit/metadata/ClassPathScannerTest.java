@@ -0,0 +1,134 @@
+package org.neo4j.ogm.unit.metadata;
+
+import org.junit.Test;
+import org.neo4j.ogm.metadata.ClassPathScanner;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.ClassInfoProcessor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClassPathScannerTest {
+
+    private static final List<String> PATHS = Arrays.asList("org/neo4j/ogm/domain/forum", "org/neo4j/ogm/domain/rulers");
+
+    @Test
+    public void parallelScanShouldFindTheSameClassesInTheSameOrderAsSequentialScan() {
+
+        ClassNameCollector sequential = new ClassNameCollector();
+        new ClassPathScanner().scan(PATHS, sequential);
+
+        ClassNameCollector parallel = new ClassNameCollector();
+        new ClassPathScanner(4).scan(PATHS, parallel);
+
+        assertTrue(sequential.classNames.contains("org.neo4j.ogm.domain.rulers.Monarch"));
+        assertTrue(sequential.classNames.contains("org.neo4j.ogm.domain.forum.activity.Post"));
+        assertEquals(sequential.classNames, parallel.classNames);
+        assertTrue(parallel.finished);
+    }
+
+    @Test
+    public void overlappingPackagesShouldOnlyBeScannedOnce() {
+
+        ClassNameCollector collector = new ClassNameCollector();
+        new ClassPathScanner().scan(Arrays.asList("org/neo4j/ogm/domain/forum", "org/neo4j/ogm/domain/forum/activity"), collector);
+
+        assertEquals(new HashSet<>(collector.classNames).size(), collector.classNames.size());
+        assertTrue(collector.classNames.contains("org.neo4j.ogm.domain.forum.activity.Post"));
+    }
+
+    @Test
+    public void shouldScanPackagesInsideJarsFoundByTheContextClassLoader() throws Exception {
+
+        ClassNameCollector expected = new ClassNameCollector();
+        new ClassPathScanner().scan(PATHS, expected);
+
+        File jar = File.createTempFile("domain", ".jar");
+        jar.deleteOnExit();
+        File testClasses = new File(ClassPathScannerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jar))) {
+            for (String path : PATHS) {
+                addFolder(jarOutputStream, testClasses, new File(testClasses, path));
+            }
+        }
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        // no parent: the packages can only be found in the jar
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[] { jar.toURI().toURL() }, null));
+        try {
+            ClassNameCollector actual = new ClassNameCollector();
+            new ClassPathScanner().scan(PATHS, actual);
+            assertEquals(new HashSet<>(expected.classNames), new HashSet<>(actual.classNames));
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @Test
+    public void shouldScanPackagesSplitIntoJarsWithoutDirectoryEntriesOnTheClassPath() throws Exception {
+
+        File jar = File.createTempFile("domain", ".jar");
+        jar.deleteOnExit();
+        File testClasses = new File(ClassPathScannerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jar))) {
+            // the same class as in the test classes, but in a jar where its package can't be found as a resource
+            jarOutputStream.putNextEntry(new JarEntry("org/neo4j/ogm/domain/forum/Topic.class"));
+            jarOutputStream.write(Files.readAllBytes(new File(testClasses, "org/neo4j/ogm/domain/forum/Topic.class").toPath()));
+            jarOutputStream.closeEntry();
+        }
+
+        String classPath = System.getProperty("java.class.path");
+        System.setProperty("java.class.path", classPath + File.pathSeparator + jar.getPath());
+        try {
+            ClassNameCollector collector = new ClassNameCollector();
+            new ClassPathScanner().scan(PATHS, collector);
+            assertEquals(2, Collections.frequency(collector.classNames, "org.neo4j.ogm.domain.forum.Topic"));
+        } finally {
+            System.setProperty("java.class.path", classPath);
+        }
+    }
+
+    private static void addFolder(JarOutputStream jarOutputStream, File root, File folder) throws Exception {
+        String name = root.toURI().relativize(folder.toURI()).getPath();
+        jarOutputStream.putNextEntry(new JarEntry(name));
+        jarOutputStream.closeEntry();
+        for (File file : folder.listFiles()) {
+            if (file.isDirectory()) {
+                addFolder(jarOutputStream, root, file);
+            } else {
+                jarOutputStream.putNextEntry(new JarEntry(root.toURI().relativize(file.toURI()).getPath()));
+                jarOutputStream.write(Files.readAllBytes(file.toPath()));
+                jarOutputStream.closeEntry();
+            }
+        }
+    }
+
+    static class ClassNameCollector implements ClassInfoProcessor {
+
+        private final List<String> classNames = new ArrayList<>();
+        private boolean finished;
+
+        @Override
+        public void process(ClassInfo classInfo) {
+            classNames.add(classInfo.name());
+        }
+
+        @Override
+        public void finish() {
+            finished = true;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package org.neo4j.ogm.unit.metadata;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.DomainIndex;
+import org.neo4j.ogm.metadata.info.DomainInfo;
+import org.neo4j.ogm.metadata.info.FieldInfo;
+import org.neo4j.ogm.metadata.info.MethodInfo;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DomainIndexTest {
+
+    private static final String[] CLASSES = {
+            "org.neo4j.ogm.domain.forum.Member",
+            "org.neo4j.ogm.domain.forum.Topic",
+            "org.neo4j.ogm.domain.forum.GoldMembership",
+            "org.neo4j.ogm.domain.forum.activity.Post",
+            "org.neo4j.ogm.domain.forum.activity.Comment"
+    };
+
+    private File folder;
+    private ClassLoader contextClassLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("domain-index").toFile();
+        contextClassLoader = Thread.currentThread().getContextClassLoader();
+    }
+
+    @After
+    public void tearDown() {
+        Thread.currentThread().setContextClassLoader(contextClassLoader);
+        delete(folder);
+    }
+
+    @Test
+    public void domainLoadedFromIndexShouldMatchDomainLoadedByScanning() throws Exception {
+
+        DomainInfo scanned = new DomainInfo("org.neo4j.ogm.domain.forum");
+
+        copyClasses("org.neo4j.ogm.domain.forum");
+        DomainIndex.main(folder.getPath(), "org.neo4j.ogm.domain.forum");
+        assertTrue(new File(folder, DomainIndex.LOCATION).isFile());
+
+        DomainInfo indexed = loadWithIndex(null, "org.neo4j.ogm.domain.forum");
+
+        for (String className : CLASSES) {
+            assertSameClass(scanned.getClass(className), indexed.getClass(className));
+        }
+    }
+
+    @Test
+    public void indexShouldBeIgnoredWhenItDoesNotCoverTheRequestedPackages() throws Exception {
+
+        DomainIndex.main(folder.getPath(), "org.neo4j.ogm.domain.forum");
+
+        DomainInfo domainInfo = loadWithIndex(contextClassLoader, "org.neo4j.ogm.domain.forum", "org.neo4j.ogm.domain.rulers");
+
+        assertNotNull(domainInfo.getClass("org.neo4j.ogm.domain.forum.Member"));
+        assertNotNull(domainInfo.getClass("org.neo4j.ogm.domain.rulers.Monarch"));
+    }
+
+    @Test
+    public void indexShouldBeUsedForPackagesFoundOnlyWhereItWasFound() throws Exception {
+
+        copyClasses("org.neo4j.ogm.domain.forum");
+        DomainIndex.main(folder.getPath(), "org.neo4j.ogm.domain.forum");
+        assertTrue(classFile("org.neo4j.ogm.domain.forum.Topic").delete());
+
+        DomainInfo domainInfo = loadWithIndex(null, "org.neo4j.ogm.domain.forum");
+
+        // only the index still knows the class
+        assertNotNull(domainInfo.getClass("org.neo4j.ogm.domain.forum.Topic"));
+    }
+
+    @Test
+    public void indexShouldBeIgnoredWhenAnotherRootHoldsClassesOfTheSamePackage() throws Exception {
+
+        copyClasses("org.neo4j.ogm.domain.forum");
+        assertTrue(classFile("org.neo4j.ogm.domain.forum.Topic").delete());
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[] { folder.toURI().toURL() }, null));
+        DomainIndex.main(folder.getPath(), "org.neo4j.ogm.domain.forum");
+        Thread.currentThread().setContextClassLoader(contextClassLoader);
+
+        DomainInfo domainInfo = loadWithIndex(contextClassLoader, "org.neo4j.ogm.domain.forum");
+
+        // the class isn't in the index, but in the test classes, which have no index
+        assertNotNull(domainInfo.getClass("org.neo4j.ogm.domain.forum.Topic"));
+    }
+
+    @Test
+    public void indexShouldNotCoverPackagesThatOnlyStartWithTheNameOfAnIndexedOne() throws Exception {
+
+        copyClasses("org.neo4j.ogm.domain.forum");
+        DomainIndex.main(folder.getPath(), "org.neo4j.ogm.domain.forum");
+        // a class file is all the scanner needs, wherever it is
+        File archived = new File(folder, "org/neo4j/ogm/domain/forumarchive/Topic.class");
+        assertTrue(archived.getParentFile().mkdirs());
+        Files.copy(classFile("org.neo4j.ogm.domain.forum.Topic").toPath(), archived.toPath());
+
+        DomainInfo domainInfo = loadWithIndex(null, "org.neo4j.ogm.domain.forumarchive");
+
+        assertNotNull(domainInfo.getClass("org.neo4j.ogm.domain.forum.Topic"));
+        assertNull(domainInfo.getClass("org.neo4j.ogm.domain.forum.Member"));
+    }
+
+    @Test
+    public void corruptIndexShouldBeIgnored() throws Exception {
+
+        DomainIndex.main(folder.getPath(), "org.neo4j.ogm.domain.forum");
+        File index = new File(folder, DomainIndex.LOCATION);
+        byte[] header = Arrays.copyOf(Files.readAllBytes(index.toPath()), 6); // the magic number and the version
+
+        // a string that isn't in the table
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(index))) {
+            out.write(header);
+            out.write(1);
+            out.writeUTF("org/neo4j/ogm/domain/forum");
+            out.write(1);
+            out.write(9);
+        }
+        assertNotNull(loadWithIndex(contextClassLoader, "org.neo4j.ogm.domain.forum").getClass("org.neo4j.ogm.domain.forum.Member"));
+
+        // a count too large for an int
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(index))) {
+            out.write(header);
+            out.write(new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F});
+        }
+        assertNotNull(loadWithIndex(contextClassLoader, "org.neo4j.ogm.domain.forum").getClass("org.neo4j.ogm.domain.forum.Member"));
+    }
+
+    // the folder is the only root on the classpath if there is no parent class loader
+    private DomainInfo loadWithIndex(ClassLoader parent, String... packages) throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[] { folder.toURI().toURL() }, parent);
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            return new DomainInfo(packages);
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private void copyClasses(String packageName) throws Exception {
+        String path = packageName.replace('.', '/');
+        copy(new File(contextClassLoader.getResource(path).toURI()), new File(folder, path));
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        if (from.isDirectory()) {
+            assertTrue(to.mkdirs());
+            for (File child : from.listFiles()) {
+                copy(child, new File(to, child.getName()));
+            }
+        } else {
+            Files.copy(from.toPath(), to.toPath());
+        }
+    }
+
+    private File classFile(String className) {
+        return new File(folder, className.replace('.', '/') + ".class");
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static void assertSameClass(ClassInfo expected, ClassInfo actual) {
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(expected.name(), actual.name());
+        assertEquals(expected.superclassName(), actual.superclassName());
+        assertEquals(sorted(expected.labels()), sorted(actual.labels()));
+        assertEquals(fieldNames(expected.propertyFields()), fieldNames(actual.propertyFields()));
+        assertEquals(fieldNames(expected.relationshipFields()), fieldNames(actual.relationshipFields()));
+        assertEquals(expected.identityField().getName(), actual.identityField().getName());
+        assertEquals(methodNames(expected.relationshipSetters()), methodNames(actual.relationshipSetters()));
+    }
+
+    private static List<String> fieldNames(Collection<FieldInfo> fieldInfos) {
+        List<String> names = new ArrayList<>();
+        for (FieldInfo fieldInfo : fieldInfos) {
+            names.add(fieldInfo.getName() + ":" + fieldInfo.getDescriptor());
+        }
+        return sorted(names);
+    }
+
+    private static List<String> methodNames(Collection<MethodInfo> methodInfos) {
+        List<String> names = new ArrayList<>();
+        for (MethodInfo methodInfo : methodInfos) {
+            names.add(methodInfo.getName() + methodInfo.getDescriptor());
+        }
+        return sorted(names);
+    }
+
+    private static List<String> sorted(Collection<String> strings) {
+        List<String> list = new ArrayList<>(strings);
+        Collections.sort(list);
+        return list;
+    }
+}
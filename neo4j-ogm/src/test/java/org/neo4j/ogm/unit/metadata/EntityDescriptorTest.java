@@ -0,0 +1,54 @@
+package org.neo4j.ogm.unit.metadata;
+
+import org.junit.Test;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.EntityDescriptor;
+import org.neo4j.ogm.metadata.info.FieldInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EntityDescriptorTest {
+
+    private static final MetaData metaData = new MetaData("org.neo4j.ogm.domain.forum");
+
+    @Test
+    public void propertyFieldsShouldBeInDeclarationOrderWithSubclassFieldsFirst() {
+        EntityDescriptor descriptor = metaData.classInfo("User").descriptor();
+
+        List<String> names = new ArrayList<>();
+        for (FieldInfo fieldInfo : descriptor.propertyFields()) {
+            names.add(fieldInfo.getName());
+        }
+        assertEquals(Arrays.asList("renewalDate", "membershipNumber", "nicknames", "userName", "password"), names);
+        assertEquals("id", descriptor.identityField().getName());
+    }
+
+    @Test
+    public void accessorsShouldBeFoundByPropertyNameOrRelationshipTypeIgnoringCase() {
+        EntityDescriptor descriptor = metaData.classInfo("User").descriptor();
+
+        assertEquals("userName", descriptor.propertyField("USERNAME").getName());
+        assertEquals("activityList", descriptor.relationshipField("has_activity").getName());
+        assertEquals("getUserName", descriptor.propertyGetter("userName").getName());
+        assertEquals("setUserName", descriptor.propertySetter("username").getName());
+        assertEquals("setActivityList", descriptor.relationshipSetter("HAS_ACTIVITY").getName());
+        assertNull(descriptor.propertyField("activityList"));
+    }
+
+    @Test
+    public void descriptorShouldBeBuiltOnceAndBeUnmodifiable() {
+        ClassInfo classInfo = metaData.classInfo("Topic");
+        assertSame(classInfo.descriptor(), classInfo.descriptor());
+        try {
+            classInfo.descriptor().propertyFields().clear();
+            fail("Expected the property fields to be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+}
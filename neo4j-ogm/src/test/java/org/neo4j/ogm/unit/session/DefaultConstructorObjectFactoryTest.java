@@ -4,6 +4,7 @@ import org.neo4j.ogm.model.NodeModel;
 import org.neo4j.ogm.model.RelationshipModel;
 import org.junit.Before;
 import org.junit.Test;
+import org.neo4j.ogm.domain.canonical.ClassWithFailingConstructor;
 import org.neo4j.ogm.domain.canonical.ClassWithPrivateConstructor;
 import org.neo4j.ogm.domain.canonical.ClassWithoutZeroArgumentConstructor;
 import org.neo4j.ogm.domain.social.Individual;
@@ -11,13 +12,17 @@ import org.neo4j.ogm.entityaccess.ObjectFactory;
 import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.metadata.MetaData;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 public class DefaultConstructorObjectFactoryTest {
 
+    private MetaData metaData;
     private ObjectFactory objectCreator;
 
     @Before
@@ -26,7 +31,8 @@ public class DefaultConstructorObjectFactoryTest {
         mappings.put("ClassWithPrivateConstructor", ClassWithPrivateConstructor.class.getName());
         mappings.put("ClassWithoutZeroArgumentConstructor", ClassWithoutZeroArgumentConstructor.class.getName());
         mappings.put("Person", Individual.class.getName());
-        this.objectCreator = new ObjectFactory(new MetaData("org.neo4j.ogm.domain.social", "org.neo4j.ogm.domain.canonical"));
+        this.metaData = new MetaData("org.neo4j.ogm.domain.social", "org.neo4j.ogm.domain.canonical");
+        this.objectCreator = new ObjectFactory(metaData);
     }
 
     @Test
@@ -66,6 +72,32 @@ public class DefaultConstructorObjectFactoryTest {
         this.objectCreator.newObject(vertex);
     }
 
+    @Test
+    public void shouldInstantiateClassesWithoutPublicZeroArgConstructorIfConstructorBypassIsEnabled() {
+        this.metaData.setConstructorBypass(true);
+
+        RelationshipModel edge = new RelationshipModel();
+        edge.setType("ClassWithoutZeroArgumentConstructor");
+        ClassWithoutZeroArgumentConstructor withoutZeroArgumentConstructor = this.objectCreator.newObject(edge);
+        assertNotNull(withoutZeroArgumentConstructor);
+
+        NodeModel vertex = new NodeModel();
+        vertex.setLabels(new String[] {"ClassWithPrivateConstructor"});
+        ClassWithPrivateConstructor withPrivateConstructor = this.objectCreator.newObject(vertex);
+        assertNotNull(withPrivateConstructor);
+    }
+
+    @Test
+    public void shouldStillUseZeroArgConstructorIfConstructorBypassIsEnabled() {
+        this.metaData.setConstructorBypass(true);
+
+        NodeModel personNodeModel = new NodeModel();
+        personNodeModel.setLabels(new String[] {"Individual"});
+        Individual individual = this.objectCreator.newObject(personNodeModel);
+        assertNotNull(individual);
+        assertSame(this.metaData.classInfo("Individual").getConstructor(), this.metaData.classInfo("Individual").getConstructor());
+    }
+
     @Test(expected = MappingException.class)
     public void shouldFailForGraphModelComponentWithNoTaxa() {
         NodeModel vertex = new NodeModel();
@@ -74,4 +106,36 @@ public class DefaultConstructorObjectFactoryTest {
         this.objectCreator.newObject(vertex);
     }
 
+    @Test
+    public void shouldWrapCheckedExceptionsAndOtherThrowablesThrownByTheConstructor() {
+        Throwable[] failures = {new IOException("checked"), new Throwable("neither an exception nor an error")};
+        for (Throwable failure : failures) {
+            ClassWithFailingConstructor.failure = failure;
+            try {
+                this.objectCreator.newObject(failingVertex());
+                fail("expected a MappingException");
+            } catch (MappingException e) {
+                assertSame(failure, e.getCause());
+            }
+        }
+    }
+
+    @Test
+    public void shouldRethrowErrorsThrownByTheConstructorUnchanged() {
+        AssertionError error = new AssertionError("unchanged");
+        ClassWithFailingConstructor.failure = error;
+        try {
+            this.objectCreator.newObject(failingVertex());
+            fail("expected the error");
+        } catch (AssertionError e) {
+            assertSame(error, e);
+        }
+    }
+
+    private static NodeModel failingVertex() {
+        NodeModel vertex = new NodeModel();
+        vertex.setLabels(new String[] {"ClassWithFailingConstructor"});
+        return vertex;
+    }
+
 }
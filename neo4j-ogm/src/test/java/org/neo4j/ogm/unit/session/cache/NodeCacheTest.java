@@ -0,0 +1,175 @@
+package org.neo4j.ogm.unit.session.cache;
+
+import org.junit.Test;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.session.cache.NodeCache;
+import org.neo4j.ogm.session.cache.NodeCacheResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class NodeCacheTest {
+
+    @Test
+    public void testCachedNodeIsCopied() {
+        NodeCache cache = new NodeCache(10);
+        NodeModel node = node(1L, "London");
+        cache.put(node, cache.generation());
+
+        node.setProperties(Collections.<String, Object>singletonMap("name", "Paris")); // changing what was loaded
+
+        NodeModel cached = cache.get(1L);
+        assertEquals("London", cached.property("name"));
+        assertArrayEquals(new String[] {"City"}, cached.getLabels());
+
+        cached.getPropertyList().clear(); // changing what was got
+        assertEquals("London", cache.get(1L).property("name"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCollectionAndArrayValuesOfACachedNodeAreCopied() {
+        NodeCache cache = new NodeCache(10);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("aliases", new ArrayList<Object>(Arrays.asList("Londinium", "The Smoke")));
+        properties.put("postcodes", new String[] {"EC1", "WC2"});
+        NodeModel node = node(1L, "London");
+        node.setProperties(properties);
+        cache.put(node, cache.generation());
+
+        ((List<Object>) node.property("aliases")).add("Lundenwic"); // changing what was loaded
+        ((String[]) node.property("postcodes"))[0] = "SW1";
+
+        NodeModel cached = cache.get(1L);
+        assertEquals(Arrays.asList("Londinium", "The Smoke"), cached.property("aliases"));
+        assertArrayEquals(new String[] {"EC1", "WC2"}, (String[]) cached.property("postcodes"));
+
+        ((List<Object>) cached.property("aliases")).clear(); // changing what was got, e.g. by merging into it
+        ((String[]) cached.property("postcodes"))[1] = "SE1";
+
+        assertEquals(Arrays.asList("Londinium", "The Smoke"), cache.get(1L).property("aliases"));
+        assertArrayEquals(new String[] {"EC1", "WC2"}, (String[]) cache.get(1L).property("postcodes"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedNodeIsEvicted() {
+        NodeCache cache = new NodeCache(2);
+        cache.put(node(1L, "London"), cache.generation());
+        cache.put(node(2L, "Paris"), cache.generation());
+        cache.get(1L);
+        cache.put(node(3L, "Rome"), cache.generation());
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testNodeExpires() throws InterruptedException {
+        NodeCache cache = new NodeCache(10, 1, TimeUnit.MILLISECONDS);
+        cache.put(node(1L, "London"), cache.generation());
+
+        Thread.sleep(10);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    public void testNodeLoadedBeforeAnEvictionIsNotCached() {
+        NodeCache cache = new NodeCache(10);
+        long generation = cache.generation();
+
+        cache.evict(1L); // a session changed the node while it was being loaded by another
+        cache.put(node(1L, "London"), generation);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    public void testEvictionAndClear() {
+        NodeCache cache = new NodeCache(10);
+        cache.put(node(1L, "London"), cache.generation());
+        cache.put(node(2L, "Paris"), cache.generation());
+        cache.put(node(3L, "Rome"), cache.generation());
+
+        cache.evictAll(Collections.singleton(2L));
+        assertNull(cache.get(2L));
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testResponseYieldsCachedNodesAndCachesTheRest() {
+        NodeCache cache = new NodeCache(10);
+        GraphModel loaded = new GraphModel();
+        loaded.setNodes(new NodeModel[] {node(2L, "Paris")});
+
+        try (NodeCacheResponse response = new NodeCacheResponse(cache, cache.generation(), Collections.singleton(node(1L, "London")), new SingleResponse(loaded))) {
+            assertEquals(Long.valueOf(1L), response.next().getNodes()[0].getId());
+            assertSame(loaded, response.next());
+            assertNull(response.next());
+        }
+
+        assertNull(cache.get(1L)); // it came from the cache in the first place
+        assertEquals("Paris", cache.get(2L).property("name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaximumNumberOfNodesMustBePositive() {
+        new NodeCache(0);
+    }
+
+    private static NodeModel node(Long id, String name) {
+        NodeModel node = new NodeModel();
+        node.setId(id);
+        node.setLabels(new String[] {"City"});
+        node.setProperties(Collections.<String, Object>singletonMap("name", name));
+        return node;
+    }
+
+    private static class SingleResponse implements Neo4jResponse<GraphModel> {
+
+        private GraphModel graphModel;
+
+        SingleResponse(GraphModel graphModel) {
+            this.graphModel = graphModel;
+        }
+
+        @Override
+        public GraphModel next() {
+            GraphModel next = graphModel;
+            graphModel = null;
+            return next;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void initialiseScan(String token) {
+        }
+
+        @Override
+        public String[] columns() {
+            return new String[0];
+        }
+
+        @Override
+        public int rowId() {
+            return -1;
+        }
+    }
+}
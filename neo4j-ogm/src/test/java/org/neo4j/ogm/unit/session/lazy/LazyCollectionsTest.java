@@ -0,0 +1,175 @@
+package org.neo4j.ogm.unit.session.lazy;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.RequestProxy;
+import org.neo4j.ogm.domain.education.Course;
+import org.neo4j.ogm.domain.education.Teacher;
+import org.neo4j.ogm.entityaccess.LazyCollection;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LazyCollectionsTest {
+
+    private static final SessionFactory sessionFactory = new SessionFactory("org.neo4j.ogm.domain.education");
+
+    private Neo4jSession session;
+    private Responses responses;
+
+    @Before
+    public void setUp() {
+        session = (Neo4jSession) sessionFactory.openSession("dummy-url");
+        session.setLazyLoading(true);
+        responses = new Responses();
+        session.setRequestHandler(responses);
+    }
+
+    @Test
+    public void testSiblingCollectionsAreLoadedTogetherOnFirstUse() {
+        responses.add(
+                "{\"graph\": {\"nodes\": [" + teacher(20, "Mr Thomas") + "], \"relationships\": []}}",
+                "{\"graph\": {\"nodes\": [" + teacher(21, "Mrs Roberts") + "], \"relationships\": []}}");
+        responses.add(
+                "{\"graph\": {\"nodes\": [" + teacher(20, "Mr Thomas") + "," + course(2, "English") + "," + course(3, "Maths") + "], " +
+                        "\"relationships\": [" + teaches(202, 20, 2) + "," + teaches(203, 20, 3) + "]}}",
+                "{\"graph\": {\"nodes\": [" + teacher(21, "Mrs Roberts") + "," + course(2, "English") + "], " +
+                        "\"relationships\": [" + teaches(212, 21, 2) + "]}}");
+
+        Teacher mrThomas = null;
+        Teacher mrsRoberts = null;
+        for (Teacher teacher : session.loadAll(Teacher.class, 0)) {
+            if (teacher.getId() == 20L) {
+                mrThomas = teacher;
+            } else {
+                mrsRoberts = teacher;
+            }
+        }
+        assertFalse(((LazyCollection) mrThomas.getCourses()).isLoaded());
+        assertNull(mrThomas.getSchool()); // references to single objects aren't lazy
+        assertEquals(1, responses.requests.size());
+
+        List<Course> courses = mrThomas.getCourses();
+        assertEquals(2, courses.size());
+        assertTrue(((LazyCollection) courses).isLoaded());
+        assertEquals(1, mrsRoberts.getCourses().size());
+        assertSame(mrThomas.getCourses().get(0), mrsRoberts.getCourses().get(0));
+        assertEquals(2, responses.requests.size()); // one request for both teachers
+
+        // the neighbours get lazy collections of their own
+        assertFalse(((LazyCollection) mrsRoberts.getCourses().get(0).getStudents()).isLoaded());
+    }
+
+    @Test
+    public void testCollectionWithoutRelationshipsIsLoadedEmpty() {
+        responses.add("{\"graph\": {\"nodes\": [" + course(2, "English") + "], \"relationships\": []}}");
+        responses.add("{\"graph\": {\"nodes\": [" + course(2, "English") + "], \"relationships\": []}}");
+
+        Course english = session.load(Course.class, 2L);
+        List<?> students = english.getStudents();
+
+        assertTrue(students.isEmpty());
+        assertFalse(english.getStudents() instanceof LazyCollection);
+        assertTrue(english.getStudents().isEmpty());
+    }
+
+    @Test
+    public void testLoadingTheNeighboursKeepsTheUnsavedChangesOfTheObjectsAlreadyLoaded() {
+        responses.add("{\"graph\": {\"nodes\": [" + teacher(20, "Mr Thomas") + "], \"relationships\": []}}");
+        responses.add("{\"graph\": {\"nodes\": [" + teacher(20, "Mr Thomas") + "," + course(2, "English") + "], " +
+                "\"relationships\": [" + teaches(202, 20, 2) + "]}}");
+        responses.add();
+
+        Teacher mrThomas = session.load(Teacher.class, 20L);
+        mrThomas.setName("Dr Thomas");
+
+        assertEquals(1, mrThomas.getCourses().size());
+        assertEquals("Dr Thomas", mrThomas.getName());
+
+        session.save(mrThomas, 0);
+        assertTrue(responses.requests.get(2).contains("Dr Thomas")); // still known to have changed
+    }
+
+    @Test
+    public void testUnloadedCollectionAnswersObjectMethodsWithoutLoading() {
+        responses.add("{\"graph\": {\"nodes\": [" + teacher(20, "Mr Thomas") + "], \"relationships\": []}}");
+
+        Teacher mrThomas = session.load(Teacher.class, 20L);
+        List<Course> courses = mrThomas.getCourses();
+
+        assertTrue(courses.equals(courses));
+        assertFalse(courses.equals(new ArrayList<Course>()));
+        assertEquals(System.identityHashCode(courses), courses.hashCode());
+        assertNotNull(courses.toString());
+        assertFalse(((LazyCollection) courses).isLoaded());
+        assertEquals(1, responses.requests.size());
+    }
+
+    @Test
+    public void testSavingAnObjectDoesNotLoadItsUnloadedCollection() {
+        responses.add("{\"graph\": {\"nodes\": [" + teacher(20, "Mr Thomas") + "], \"relationships\": []}}");
+        responses.add();
+
+        Teacher mrThomas = session.load(Teacher.class, 20L);
+        mrThomas.setName("Dr Thomas");
+        session.save(mrThomas);
+
+        assertEquals(2, responses.requests.size());
+        assertFalse(responses.requests.get(1).contains("DELETE"));
+        assertFalse(((LazyCollection) mrThomas.getCourses()).isLoaded());
+    }
+
+    @Test
+    public void testFreshLoadReplacesAnUnloadedCollectionWithoutLoadingIt() {
+        responses.add("{\"graph\": {\"nodes\": [" + teacher(20, "Mr Thomas") + "], \"relationships\": []}}");
+        responses.add("{\"graph\": {\"nodes\": [" + teacher(20, "Mr Thomas") + "," + course(2, "English") + "], " +
+                "\"relationships\": [" + teaches(202, 20, 2) + "]}}");
+
+        Teacher mrThomas = session.load(Teacher.class, 20L);
+        assertFalse(((LazyCollection) mrThomas.getCourses()).isLoaded());
+
+        assertSame(mrThomas, session.load(Teacher.class, 20L, 1));
+
+        assertFalse(mrThomas.getCourses() instanceof LazyCollection);
+        assertEquals(1, mrThomas.getCourses().size());
+        assertEquals(2, responses.requests.size());
+    }
+
+    private static String teacher(long id, String name) {
+        return "{\"id\": \"" + id + "\", \"labels\": [\"Teacher\"], \"properties\": {\"name\": \"" + name + "\"}}";
+    }
+
+    private static String course(long id, String name) {
+        return "{\"id\": \"" + id + "\", \"labels\": [\"Course\"], \"properties\": {\"name\": \"" + name + "\"}}";
+    }
+
+    private static String teaches(long id, long teacher, long course) {
+        return "{\"id\": \"" + id + "\", \"type\": \"TEACHES\", \"startNode\": \"" + teacher + "\", \"endNode\": \"" + course + "\", \"properties\": {}}";
+    }
+
+    private static class Responses extends RequestProxy {
+
+        private final List<String[]> responses = new ArrayList<>();
+        private final List<String> requests = new ArrayList<>();
+
+        void add(String... response) {
+            responses.add(response);
+        }
+
+        @Override
+        public Neo4jResponse<String> execute(String url, String request) {
+            requests.add(request);
+            return super.execute(url, request);
+        }
+
+        @Override
+        protected String[] getResponse() {
+            return responses.get(requests.size() - 1);
+        }
+    }
+}
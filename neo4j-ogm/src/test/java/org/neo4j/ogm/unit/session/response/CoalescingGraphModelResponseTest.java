@@ -0,0 +1,78 @@
+package org.neo4j.ogm.unit.session.response;
+
+import org.junit.Test;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.session.response.CoalescingGraphModelResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.junit.Assert.*;
+
+public class CoalescingGraphModelResponseTest {
+
+    @Test
+    public void testGraphModelsAreJoinedInOrderUpToTheMinimumSize() {
+        try (Neo4jResponse<GraphModel> response = new CoalescingGraphModelResponse(new Batches(graph(1L, 2L), graph(3L), graph(4L, 5L, 6L), graph(7L)), 3)) {
+            assertIds(response.next(), 1L, 2L, 3L);
+            assertIds(response.next(), 4L, 5L, 6L);
+            assertIds(response.next(), 7L);
+            assertNull(response.next());
+        }
+    }
+
+    private static void assertIds(GraphModel graphModel, Long... ids) {
+        NodeModel[] nodes = graphModel.getNodes();
+        assertEquals(ids.length, nodes.length);
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], nodes[i].getId());
+        }
+    }
+
+    private static GraphModel graph(Long... ids) {
+        NodeModel[] nodes = new NodeModel[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            nodes[i] = new NodeModel();
+            nodes[i].setId(ids[i]);
+        }
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(nodes);
+        return graphModel;
+    }
+
+    private static class Batches implements Neo4jResponse<GraphModel> {
+
+        private final Deque<GraphModel> graphModels = new ArrayDeque<>();
+
+        Batches(GraphModel... graphModels) {
+            for (GraphModel graphModel : graphModels) {
+                this.graphModels.add(graphModel);
+            }
+        }
+
+        @Override
+        public GraphModel next() {
+            return graphModels.poll();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void initialiseScan(String token) {
+        }
+
+        @Override
+        public String[] columns() {
+            return new String[0];
+        }
+
+        @Override
+        public int rowId() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.neo4j.ogm.unit.session.response;
+
+import org.junit.Test;
+import org.neo4j.ogm.domain.forum.Member;
+import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.Property;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.SessionResponseHandler;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SessionResponseHandlerTest {
+
+    private static final MetaData metaData = new MetaData("org.neo4j.ogm.domain.forum");
+
+    private enum UserName {
+        bilbo
+    }
+
+    @Test
+    public void testDateFilterMatchesTheDatesAsTheyAreStored() {
+        SessionResponseHandler handler = new SessionResponseHandler(metaData, new MappingContext(metaData));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("userName", "bilbo");
+        properties.put("renewalDate", "2015-03-12T10:00:00.000Z");
+
+        Set<Member> members = handler.loadByProperty(Member.class, response(node(1L, properties)),
+                Property.<String, Object>with("renewalDate", new Date(1426154400000L)));
+
+        assertEquals(1, members.size());
+        assertEquals(new Date(1426154400000L), members.iterator().next().getRenewalDate());
+    }
+
+    @Test
+    public void testEnumFilterMatchesTheNameOfTheConstant() {
+        SessionResponseHandler handler = new SessionResponseHandler(metaData, new MappingContext(metaData));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("userName", "bilbo");
+
+        Set<Member> members = handler.loadByProperty(Member.class, response(node(1L, properties)),
+                Property.<String, Object>with("userName", UserName.bilbo));
+
+        assertEquals(1, members.size());
+    }
+
+    @Test
+    public void testFilterDoesNotMatchOtherValues() {
+        SessionResponseHandler handler = new SessionResponseHandler(metaData, new MappingContext(metaData));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("userName", "frodo");
+
+        Set<Member> members = handler.loadByProperty(Member.class, response(node(1L, properties)),
+                Property.<String, Object>with("userName", UserName.bilbo));
+
+        assertTrue(members.isEmpty());
+    }
+
+    private static NodeModel node(Long id, Map<String, Object> properties) {
+        NodeModel node = new NodeModel();
+        node.setId(id);
+        node.setLabels(new String[] {"User"});
+        node.setProperties(properties);
+        return node;
+    }
+
+    private static Neo4jResponse<GraphModel> response(NodeModel... nodes) {
+        final GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(nodes);
+        return new Neo4jResponse<GraphModel>() {
+
+            private boolean read;
+
+            @Override
+            public GraphModel next() {
+                if (read) {
+                    return null;
+                }
+                read = true;
+                return graphModel;
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void initialiseScan(String token) {
+            }
+
+            @Override
+            public String[] columns() {
+                return new String[0];
+            }
+
+            @Override
+            public int rowId() {
+                return -1;
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package org.neo4j.ogm.unit.session.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.RelationshipModel;
+import org.neo4j.ogm.session.response.GraphModelResponse;
+import org.neo4j.ogm.session.response.JsonResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.StreamingGraphModelResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StreamingGraphModelResponseTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final String RESPONSE = "{\"results\":[{\"columns\":[\"p\"],\"data\":[" +
+            "{\"graph\":{\"nodes\":[" +
+                "{\"id\":\"1\",\"labels\":[\"School\"],\"properties\":{\"name\":\"Hogwarts\"}}," +
+                "{\"id\":\"2\",\"labels\":[\"Teacher\"],\"properties\":{\"name\":\"Snape\",\"graph\":{\"nodes\":[]}}}" +
+            "],\"relationships\":[" +
+                "{\"id\":\"10\",\"type\":\"TEACHERS\",\"startNode\":\"1\",\"endNode\":\"2\",\"properties\":{}}" +
+            "]},\"row\":[{\"graph\":\"not this one\"}]}," +
+            "{\"row\":[1],\"graph\":{\"relationships\":[],\"nodes\":[" +
+                "{\"id\":\"3\",\"labels\":[\"Teacher\"],\"properties\":{\"name\":\"McGonagall\"}}" +
+            "]}}" +
+            "]}],\"errors\":[]}";
+
+    // as requested by the sessions, which only ask for graphs
+    private static final String GRAPHS = "{\"results\":[{\"columns\":[\"p\"],\"data\":[" +
+            "{\"graph\":{\"nodes\":[" +
+                "{\"id\":\"1\",\"labels\":[\"School\"],\"properties\":{\"name\":\"Hogwarts\"}}," +
+                "{\"id\":\"2\",\"labels\":[\"Teacher\"],\"properties\":{\"name\":\"Snape\"}}" +
+            "],\"relationships\":[" +
+                "{\"id\":\"10\",\"type\":\"TEACHERS\",\"startNode\":\"1\",\"endNode\":\"2\",\"properties\":{}}" +
+            "]}}," +
+            "{\"graph\":{\"nodes\":[" +
+                "{\"id\":\"3\",\"labels\":[\"Teacher\"],\"properties\":{\"name\":\"McGonagall\"}}" +
+            "],\"relationships\":[]}}" +
+            "]}],\"errors\":[]}";
+
+    @Test
+    public void testGraphsAreReadFromTheStream() {
+        try (Neo4jResponse<GraphModel> response = streaming(RESPONSE)) {
+            assertArrayEquals(new String[] {"p"}, response.columns());
+
+            GraphModel graphModel = response.next();
+            assertEquals(3, graphModel.getNodes().length);
+            assertEquals("Hogwarts", graphModel.node(1L).property("name"));
+            assertArrayEquals(new String[] {"Teacher"}, graphModel.node(3L).getLabels());
+
+            RelationshipModel relationship = graphModel.getRelationships()[0];
+            assertEquals("TEACHERS", relationship.getType());
+            assertEquals(Long.valueOf(1L), relationship.getStartNode());
+            assertEquals(Long.valueOf(2L), relationship.getEndNode());
+
+            assertNull(response.next());
+            assertEquals(1, response.rowId());
+        }
+    }
+
+    @Test
+    public void testSameNodesAndRelationshipsAsTheRecordByRecordResponse() {
+        List<Long> streamed = new ArrayList<>();
+        try (Neo4jResponse<GraphModel> response = streaming(GRAPHS)) {
+            collect(response, streamed);
+        }
+
+        List<Long> scanned = new ArrayList<>();
+        try (Neo4jResponse<GraphModel> response = new GraphModelResponse(new JsonResponse(stream(GRAPHS)), mapper)) {
+            collect(response, scanned);
+        }
+
+        // the records may be batched together, so the order can differ
+        Collections.sort(scanned);
+        Collections.sort(streamed);
+        assertEquals(scanned, streamed);
+    }
+
+    @Test
+    public void testLargeGraphsAreHandedOutInBatches() {
+        int count = 1000;
+        StringBuilder json = new StringBuilder("{\"results\":[{\"columns\":[\"p\"],\"data\":[{\"graph\":{\"nodes\":[");
+        for (int id = 0; id < count; id++) {
+            json.append(id > 0 ? "," : "").append("{\"id\":\"").append(id).append("\",\"labels\":[\"Teacher\"],\"properties\":{}}");
+        }
+        json.append("],\"relationships\":[]}}]}],\"errors\":[]}");
+
+        int graphModels = 0;
+        int nodes = 0;
+        try (Neo4jResponse<GraphModel> response = streaming(json.toString())) {
+            for (GraphModel graphModel; (graphModel = response.next()) != null; ) {
+                assertTrue(graphModel.getNodes().length < count);
+                graphModels++;
+                nodes += graphModel.getNodes().length;
+            }
+        }
+        assertEquals(count, nodes);
+        assertTrue(graphModels > 1);
+    }
+
+    @Test
+    public void testEmptyResult() {
+        try (Neo4jResponse<GraphModel> response = streaming("{\"results\":[{\"columns\":[\"p\"],\"data\":[]}],\"errors\":[]}")) {
+            assertNull(response.next());
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testErrorsAreReported() {
+        streaming("{\"results\":[],\"errors\":[{\"code\":\"Neo.ClientError.Statement.InvalidSyntax\",\"message\":\"Invalid input\"}]}");
+    }
+
+    private static Neo4jResponse<GraphModel> streaming(String json) {
+        return new StreamingGraphModelResponse(new JsonResponse(stream(json)), mapper);
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void collect(Neo4jResponse<GraphModel> response, List<Long> ids) {
+        for (GraphModel graphModel; (graphModel = response.next()) != null; ) {
+            for (NodeModel node : graphModel.getNodes()) {
+                ids.add(node.getId());
+            }
+            for (RelationshipModel relationship : graphModel.getRelationships()) {
+                ids.add(relationship.getId());
+            }
+        }
+    }
+}
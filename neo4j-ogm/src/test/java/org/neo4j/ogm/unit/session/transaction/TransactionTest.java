@@ -6,10 +6,14 @@ import org.neo4j.ogm.cypher.compiler.CypherContext;
 import org.neo4j.ogm.domain.education.Teacher;
 import org.neo4j.ogm.mapper.MappingContext;
 import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.session.cache.NodeCache;
 import org.neo4j.ogm.session.transaction.SimpleTransaction;
 import org.neo4j.ogm.session.transaction.Transaction;
 import org.neo4j.ogm.session.transaction.TransactionException;
 
+import java.util.Collections;
+
 import static org.junit.Assert.*;
 
 public class TransactionTest {
@@ -100,4 +104,69 @@ public class TransactionTest {
 
     }
 
+    @Test public void assertUpdatedNodesEvictedFromNodeCacheOnCommit() {
+        NodeCache nodeCache = new NodeCache(10);
+        NodeModel node = new NodeModel();
+        node.setId(1L);
+        node.setProperties(Collections.<String, Object>singletonMap("name", "Miss White"));
+        nodeCache.put(node, nodeCache.generation());
+
+        tx = new SimpleTransaction(mappingContext, "", nodeCache);
+        CypherContext cypherContext = new CypherContext();
+        cypherContext.logUpdatedNode(1L);
+        tx.append(cypherContext);
+
+        assertNotNull(nodeCache.get(1L)); // not committed yet
+
+        tx.commit();
+
+        assertNull(nodeCache.get(1L));
+    }
+
+    @Test public void assertNodesChangedByStatementsEvictedFromNodeCacheOnCommit() {
+        NodeCache nodeCache = new NodeCache(10);
+        nodeCache.put(node(1L), nodeCache.generation());
+        nodeCache.put(node(2L), nodeCache.generation());
+
+        tx = new SimpleTransaction(mappingContext, "", nodeCache);
+        tx.evictOnCommit(1L);
+
+        assertNotNull(nodeCache.get(1L)); // not committed yet
+
+        tx.clearOnCommit();
+        tx.commit();
+
+        assertNull(nodeCache.get(1L));
+        assertNull(nodeCache.get(2L));
+    }
+
+    @Test public void assertNodeCacheKeptOnRollback() {
+        NodeCache nodeCache = new NodeCache(10);
+        nodeCache.put(node(1L), nodeCache.generation());
+
+        tx = new SimpleTransaction(mappingContext, "", nodeCache);
+        tx.evictOnCommit(1L);
+        tx.clearOnCommit();
+        tx.rollback();
+
+        assertNotNull(nodeCache.get(1L));
+    }
+
+    @Test public void assertNodesEvictedFromNodeCacheAtOnceOnAutoCommit() {
+        NodeCache nodeCache = new NodeCache(10);
+        nodeCache.put(node(1L), nodeCache.generation());
+
+        tx = new SimpleTransaction(mappingContext, "http://localhost:7474/db/data/transaction/commit", nodeCache);
+        tx.evictOnCommit(1L);
+
+        assertNull(nodeCache.get(1L));
+    }
+
+    private static NodeModel node(Long id) {
+        NodeModel node = new NodeModel();
+        node.setId(id);
+        node.setProperties(Collections.<String, Object>singletonMap("name", "Miss White"));
+        return node;
+    }
+
 }
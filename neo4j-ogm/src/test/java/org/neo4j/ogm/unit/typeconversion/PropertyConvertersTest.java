@@ -0,0 +1,137 @@
+package org.neo4j.ogm.unit.typeconversion;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.neo4j.ogm.domain.forum.Member;
+import org.neo4j.ogm.entityaccess.DefaultObjectAccessStrategy;
+import org.neo4j.ogm.entityaccess.PropertyReader;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.DomainInfo;
+import org.neo4j.ogm.model.Property;
+import org.neo4j.ogm.typeconversion.PropertyConverter;
+import org.neo4j.ogm.typeconversion.PropertyConverters;
+
+public class PropertyConvertersTest {
+
+    private final ClassLoader classLoader = PropertyConvertersTest.class.getClassLoader();
+
+    @Test
+    public void shouldNarrowNumbersReadFromTheGraph() {
+        assertEquals(42, PropertyConverters.forDescriptor("I", classLoader).toEntityAttribute(42L));
+        assertEquals((short) 42, PropertyConverters.forDescriptor("Ljava/lang/Short;", classLoader).toEntityAttribute(42L));
+        assertEquals(1.5f, PropertyConverters.forDescriptor("F", classLoader).toEntityAttribute(1.5d));
+        assertEquals(42L, PropertyConverters.forDescriptor("J", classLoader).toGraphProperty(42L));
+        assertNull(PropertyConverters.forDescriptor("Ljava/lang/String;", classLoader));
+    }
+
+    @Test
+    public void shouldStoreDatesAsIso8601Strings() {
+        PropertyConverter converter = PropertyConverters.forDescriptor("Ljava/util/Date;", classLoader);
+        Date date = new Date(1414583210123L);
+
+        assertEquals("2014-10-29T11:46:50.123Z", converter.toGraphProperty(date));
+        assertEquals(date, converter.toEntityAttribute("2014-10-29T11:46:50.123Z"));
+        assertEquals(date, converter.toEntityAttribute(1414583210123L));
+    }
+
+    @Test
+    public void shouldStoreBigNumbersAndEnumsAsStrings() {
+        PropertyConverter bigDecimal = PropertyConverters.forDescriptor("Ljava/math/BigDecimal;", classLoader);
+        assertEquals("12345678901234567890.0123456789", bigDecimal.toGraphProperty(new BigDecimal("12345678901234567890.0123456789")));
+        assertEquals(new BigDecimal("12345678901234567890.0123456789"), bigDecimal.toEntityAttribute("12345678901234567890.0123456789"));
+        assertEquals(new BigInteger("42"), PropertyConverters.forDescriptor("Ljava/math/BigInteger;", classLoader).toEntityAttribute(42L));
+
+        PropertyConverter timeUnit = PropertyConverters.forDescriptor("Ljava/util/concurrent/TimeUnit;", classLoader);
+        assertEquals("SECONDS", timeUnit.toGraphProperty(TimeUnit.SECONDS));
+        assertEquals(TimeUnit.SECONDS, timeUnit.toEntityAttribute("SECONDS"));
+    }
+
+    @Test
+    public void shouldReadBigIntegersFromDoublesInScientificNotation() {
+        PropertyConverter bigInteger = PropertyConverters.forDescriptor("Ljava/math/BigInteger;", classLoader);
+        assertEquals(new BigInteger("10000000000"), bigInteger.toEntityAttribute(1.0E10));
+        assertEquals(new BigInteger("10000000000"), bigInteger.toEntityAttribute("1.0E10"));
+        try {
+            bigInteger.toEntityAttribute(1.5d);
+            fail("a fraction can't be read as a BigInteger");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldResolveEnumsThroughTheGivenClassLoader() {
+        String descriptor = "L" + Colour.class.getName().replace('.', '/') + ";";
+        assertEquals(Colour.RED, PropertyConverters.forDescriptor(descriptor, classLoader).toEntityAttribute("RED"));
+        assertNull(PropertyConverters.forDescriptor(descriptor, new URLClassLoader(new URL[0], null)));
+    }
+
+    @Test
+    public void shouldReadPrimitiveArraysFromLists() {
+        assertArrayEquals(new int[] { 1, 2, 3 }, (int[]) PropertyConverters.forDescriptor("[I", classLoader).toEntityAttribute(Arrays.asList(1L, 2L, 3L)));
+        assertArrayEquals(new char[] { 'a', 'b' }, (char[]) PropertyConverters.forDescriptor("[C", classLoader).toEntityAttribute("ab"));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) PropertyConverters.forDescriptor("[B", classLoader).toEntityAttribute("AQID"));
+    }
+
+    @Test
+    public void shouldConvertDateProperties() {
+        DomainInfo domainInfo = new DomainInfo("org.neo4j.ogm.domain.forum");
+        ClassInfo classInfo = domainInfo.getClass(Member.class.getName());
+        DefaultObjectAccessStrategy objectAccessStrategy = new DefaultObjectAccessStrategy();
+
+        Member member = new Member();
+        objectAccessStrategy.getPropertyWriter(classInfo, "renewalDate").write(member, "2014-10-29T11:46:50.123Z");
+        assertEquals(new Date(1414583210123L), member.getRenewalDate());
+
+        for (PropertyReader propertyReader : objectAccessStrategy.getPropertyReaders(classInfo)) {
+            if (propertyReader.propertyName().equals("renewalDate")) {
+                assertEquals("2014-10-29T11:46:50.123Z", propertyReader.read(member));
+                return;
+            }
+        }
+        fail("no reader of renewalDate");
+    }
+
+    @Test
+    public void shouldConvertParametersAsTheyUsedToBeParsed() {
+        String[] values = { "42", "-42", "+42", "9223372036854775807", "-9223372036854775808", "9223372036854775808",
+                "4.2", "-.5", "1.", "1e5", "1.5E-3f", "2d", " 3.5 ", "NaN", "-Infinity", "0x1.8p1", "0x1p", "1e", "e1",
+                ".", "-", "+", "", "12a", "Vince", "N", "Infinit", "1.5ff", "١٢" };
+        for (String value : values) {
+            assertEquals(value, parsedTheOldWay(value), new Property<>("key", value).asParameter());
+        }
+        assertEquals(42L, new Property<>("key", 42).asParameter());
+        assertEquals(1.1d, new Property<>("key", 1.1f).asParameter());
+        assertEquals("true", new Property<>("key", true).asParameter());
+        assertNull(new Property<>("key", null).asParameter());
+
+        assertEquals("2014-10-29T11:46:50.123Z", new Property<>("key", new Date(1414583210123L)).asParameter());
+        assertEquals("SECONDS", new Property<>("key", TimeUnit.SECONDS).asParameter());
+    }
+
+    private static Object parsedTheOldWay(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (Exception e1) {
+            try {
+                return Double.parseDouble(value);
+            } catch (Exception e2) {
+                return value;
+            }
+        }
+    }
+
+    enum Colour {
+        RED, GREEN
+    }
+
+}